@@ -0,0 +1,58 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial vs. parallel refresh of a layered graph whose constructors block, e.g. on I/O. Serial refresh takes about
+ * {@code layers * width * blockMillis}, parallel refresh should approach {@code layers * blockMillis}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingRefreshBenchmark {
+    private static final int LAYERS = 4;
+    private static final int BLOCK_MILLIS = 2;
+
+    @Param({"4", "16", "64"})
+    int width;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    private SyntheticBeans beans;
+    private Class<?> configClass;
+    private PropertyResolver propertyResolver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.beans = SyntheticBeans.generateBlocking(LAYERS, this.width, BLOCK_MILLIS);
+        this.configClass = this.beans.loadClass(SyntheticBeans.APPLICATION_CLASS);
+        Properties properties = new Properties();
+        properties.put("diy.refresh.parallel", String.valueOf(this.parallel));
+        // blocked threads do not use a core, so size the pool by the width of a layer rather than by the CPU count:
+        properties.put("diy.refresh.threads", String.valueOf(this.width));
+        this.propertyResolver = new PropertyResolver(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.beans.close();
+    }
+
+    @Benchmark
+    public Object refresh() throws IOException {
+        Thread.currentThread().setContextClassLoader(this.beans.getClassLoader());
+        try (var ctx = new AnnotationConfigApplicationContext(this.propertyResolver, this.configClass)) {
+            return ctx.getBean(SyntheticBeans.beanName(LAYERS * this.width - 1));
+        }
+    }
+}
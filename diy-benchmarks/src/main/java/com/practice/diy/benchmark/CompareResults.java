@@ -0,0 +1,155 @@
+package com.practice.diy.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files, e.g. from the parent and the head commit:
+ * <pre>java -cp benchmarks.jar com.practice.diy.benchmark.CompareResults base.json head.json [threshold%]</pre>
+ * Exits with status 1 when any benchmark regressed by more than the threshold (default 10%).
+ */
+public class CompareResults {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <base.json> <head.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, Score> base = load(Path.of(args[0]));
+        Map<String, Score> head = load(Path.of(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, Score> entry : head.entrySet()) {
+            Score before = base.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s -> %14.3f %s (new)%n", entry.getKey(), "", after.value, after.unit);
+                continue;
+            }
+            // throughput is better when higher, every other JMH mode reports time:
+            double change = after.higherIsBetter ? before.value / after.value - 1 : after.value / before.value - 1;
+            boolean slower = change > threshold;
+            regressed |= slower;
+            System.out.printf("%-90s %14.3f -> %14.3f %s %+7.1f%%%s%n", entry.getKey(), before.value, after.value, after.unit,
+                    change * 100, slower ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Score> load(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (Object item : (List<Object>) new Json(Files.readString(file)).parse()) {
+            Map<String, Object> result = (Map<String, Object>) item;
+            StringBuilder key = new StringBuilder((String) result.get("benchmark"));
+            Object params = result.get("params");
+            if (params != null) {
+                new TreeMap<>((Map<String, Object>) params).forEach((k, v) -> key.append(' ').append(k).append('=').append(v));
+            }
+            Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+            scores.put(key.toString(), new Score(((Number) metric.get("score")).doubleValue(), (String) metric.get("scoreUnit"),
+                    "thrpt".equals(result.get("mode"))));
+        }
+        return scores;
+    }
+
+    record Score(double value, String unit, boolean higherIsBetter) {
+    }
+
+    private static class Json {
+        private final String s;
+        private int pos;
+
+        Json(String s) {
+            this.s = s;
+        }
+
+        Object parse() {
+            skipWhitespace();
+            char ch = this.s.charAt(this.pos);
+            switch (ch) {
+                case '{' -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    this.pos++;
+                    while (!consume('}')) {
+                        consume(',');
+                        skipWhitespace();
+                        String key = (String) parse();
+                        skipWhitespace();
+                        consume(':');
+                        map.put(key, parse());
+                        skipWhitespace();
+                    }
+                    return map;
+                }
+                case '[' -> {
+                    List<Object> list = new ArrayList<>();
+                    this.pos++;
+                    while (!consume(']')) {
+                        consume(',');
+                        list.add(parse());
+                        skipWhitespace();
+                    }
+                    return list;
+                }
+                case '"' -> {
+                    StringBuilder sb = new StringBuilder();
+                    for (this.pos++; this.s.charAt(this.pos) != '"'; this.pos++) {
+                        char c = this.s.charAt(this.pos);
+                        if (c == '\\') {
+                            c = this.s.charAt(++this.pos);
+                            switch (c) {
+                                case 'n' -> c = '\n';
+                                case 't' -> c = '\t';
+                                case 'r' -> c = '\r';
+                                case 'b' -> c = '\b';
+                                case 'f' -> c = '\f';
+                                case 'u' -> {
+                                    c = (char) Integer.parseInt(this.s.substring(this.pos + 1, this.pos + 5), 16);
+                                    this.pos += 4;
+                                }
+                                default -> {
+                                }
+                            }
+                        }
+                        sb.append(c);
+                    }
+                    this.pos++;
+                    return sb.toString();
+                }
+                default -> {
+                    int start = this.pos;
+                    while (this.pos < this.s.length() && ",}] \t\r\n".indexOf(this.s.charAt(this.pos)) < 0) {
+                        this.pos++;
+                    }
+                    String token = this.s.substring(start, this.pos);
+                    return switch (token) {
+                        case "true" -> Boolean.TRUE;
+                        case "false" -> Boolean.FALSE;
+                        case "null" -> null;
+                        // JMH writes NaN for missing scores as a string or bare token depending on the version:
+                        case "NaN" -> Double.NaN;
+                        default -> Double.parseDouble(token);
+                    };
+                }
+            }
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (this.pos < this.s.length() && this.s.charAt(this.pos) == expected) {
+                this.pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (this.pos < this.s.length() && Character.isWhitespace(this.s.charAt(this.pos))) {
+                this.pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(InjectionBenchmark.BEAN_COUNT)
+public class InjectionBenchmark {
+    static final int BEAN_COUNT = 1000;
+
+    @Param({"CONSTRUCTOR", "FIELD", "SETTER"})
+    SyntheticBeans.Injection injection;
+
+    private SyntheticBeans beans;
+    private Class<?> configClass;
+    private PropertyResolver propertyResolver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.beans = SyntheticBeans.generate(BEAN_COUNT, this.injection, false);
+        this.configClass = this.beans.loadClass(SyntheticBeans.APPLICATION_CLASS);
+        Properties properties = new Properties();
+        // reuse bean definitions so that each invocation measures creation and injection only:
+        properties.put("diy.startup-cache.file", this.beans.getDirectory().resolve("startup.cache").toString());
+        this.propertyResolver = new PropertyResolver(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.beans.close();
+    }
+
+    @Benchmark
+    public Object createAndInjectPerBean() throws IOException {
+        Thread.currentThread().setContextClassLoader(this.beans.getClassLoader());
+        try (var ctx = new AnnotationConfigApplicationContext(this.propertyResolver, this.configClass)) {
+            return ctx.getBean(SyntheticBeans.beanName(BEAN_COUNT - 1));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput on a frozen context. Runs single-threaded by default; the README runs it at 1, 2, 4 ... N
+ * threads with {@code -t} to show how throughput scales under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"1000"})
+    int beanCount;
+
+    private SyntheticBeans beans;
+    private AnnotationConfigApplicationContext context;
+    private String[] names;
+    private Class<?>[] types;
+    private Class<?> nodeType;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.beans = SyntheticBeans.generate(this.beanCount, SyntheticBeans.Injection.CONSTRUCTOR, false);
+        Thread.currentThread().setContextClassLoader(this.beans.getClassLoader());
+        this.context = new AnnotationConfigApplicationContext(new PropertyResolver(new Properties()),
+                this.beans.loadClass(SyntheticBeans.APPLICATION_CLASS));
+        this.names = new String[this.beanCount];
+        this.types = new Class<?>[this.beanCount];
+        for (int i = 0; i < this.beanCount; i++) {
+            this.names[i] = SyntheticBeans.beanName(i);
+            this.types[i] = this.beans.loadClass(SyntheticBeans.beanClassName(i));
+        }
+        this.nodeType = this.beans.loadClass(SyntheticBeans.NODE_CLASS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.context.close();
+        this.beans.close();
+    }
+
+    @Benchmark
+    public Object getBeanByName(Cursor cursor) {
+        int i = cursor.next = (cursor.next + 1) % this.names.length;
+        return this.context.getBean(this.names[i]);
+    }
+
+    @Benchmark
+    public Object getBeanByType(Cursor cursor) {
+        int i = cursor.next = (cursor.next + 1) % this.types.length;
+        return this.context.getBean(this.types[i]);
+    }
+
+    @Benchmark
+    public void mixedLookup(Cursor cursor, Blackhole blackhole) {
+        int i = cursor.next = (cursor.next + 1) % this.names.length;
+        blackhole.consume(this.context.getBean(this.names[i]));
+        blackhole.consume(this.context.getBean(this.types[i]));
+        blackhole.consume(this.context.getBeans(this.types[i]));
+    }
+
+    @Benchmark
+    public List<?> getBeansOfWideInterface() {
+        return this.context.getBeans(this.nodeType);
+    }
+}
@@ -0,0 +1,57 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.io.PropertyResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyResolverBenchmark {
+    private PropertyResolver propertyResolver;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Properties properties = new Properties();
+        properties.put("app.title", "Benchmark App");
+        properties.put("app.port", "8080");
+        properties.put("app.timeout", "PT30S");
+        properties.put("app.enabled", "true");
+        this.propertyResolver = new PropertyResolver(properties);
+    }
+
+    @Benchmark
+    public String plainKey() {
+        return this.propertyResolver.getProperty("app.title");
+    }
+
+    @Benchmark
+    public String placeholder() {
+        return this.propertyResolver.getProperty("${app.title}");
+    }
+
+    @Benchmark
+    public String placeholderWithDefault() {
+        return this.propertyResolver.getProperty("${app.missing:${app.title}}");
+    }
+
+    @Benchmark
+    public Integer convertInt() {
+        return this.propertyResolver.getProperty("${app.port}", Integer.class);
+    }
+
+    @Benchmark
+    public Boolean convertBoolean() {
+        return this.propertyResolver.getProperty("app.enabled", boolean.class);
+    }
+
+    @Benchmark
+    public Object convertDuration() {
+        return this.propertyResolver.getProperty("app.timeout", java.time.Duration.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshBenchmark {
+    @Param({"100", "1000", "10000"})
+    int beanCount;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    private SyntheticBeans beans;
+    private Class<?> configClass;
+    private PropertyResolver propertyResolver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.beans = SyntheticBeans.generate(this.beanCount, SyntheticBeans.Injection.CONSTRUCTOR, false);
+        this.configClass = this.beans.loadClass(SyntheticBeans.APPLICATION_CLASS);
+        Properties properties = new Properties();
+        properties.put("diy.refresh.parallel", String.valueOf(this.parallel));
+        this.propertyResolver = new PropertyResolver(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.beans.close();
+    }
+
+    @Benchmark
+    public Object refresh() throws IOException {
+        Thread.currentThread().setContextClassLoader(this.beans.getClassLoader());
+        try (var ctx = new AnnotationConfigApplicationContext(this.propertyResolver, this.configClass)) {
+            return ctx.getBean(SyntheticBeans.beanName(this.beanCount - 1));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.io.ResourceResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanBenchmark {
+    @Param({"1000"})
+    int classCount;
+
+    @Param({"directory", "jar"})
+    String layout;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    private SyntheticBeans beans;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.beans = SyntheticBeans.generate(this.classCount, SyntheticBeans.Injection.FIELD, "jar".equals(this.layout));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.beans.close();
+    }
+
+    @Benchmark
+    public List<String> scan() throws IOException {
+        Thread.currentThread().setContextClassLoader(this.beans.getClassLoader());
+        return new ResourceResolver(SyntheticBeans.BASE_PACKAGE, this.parallel)
+                .scan(resource -> resource.name().endsWith(".class") ? resource.name() : null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.practice.diy.benchmark;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import com.practice.diy.support.SyntheticClasspath;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Refreshes synthetic classpaths of doubling size, from 100 to 20k beans by default, and fits the growth exponent
+ * of refresh time and retained heap:
+ * <pre>java -cp benchmarks.jar com.practice.diy.benchmark.StartupScaling [maxBeans]</pre>
+ * Exits with status 1 when either grows super-linearly, which fails the {@code startup-scaling} profile build.
+ */
+public class StartupScaling {
+    private static final double MAX_TIME_EXPONENT = 1.35;
+    private static final double MAX_HEAP_EXPONENT = 1.2;
+
+    public static void main(String[] args) throws Exception {
+        int maxBeans = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        List<Integer> ladder = new ArrayList<>();
+        for (int beanCount = 100; beanCount < maxBeans; beanCount *= 2) {
+            ladder.add(beanCount);
+        }
+        ladder.add(maxBeans);
+
+        int[] sizes = new int[ladder.size()];
+        double[] times = new double[ladder.size()];
+        double[] heaps = new double[ladder.size()];
+        for (int i = 0; i < ladder.size(); i++) {
+            SyntheticClasspath classpath = classpath(ladder.get(i));
+            Path directory = Files.createTempDirectory("diy-scaling");
+            try (URLClassLoader loader = SyntheticClasspath.newClassLoader(classpath.compile(directory))) {
+                Thread.currentThread().setContextClassLoader(loader);
+                long best = Long.MAX_VALUE;
+                long[] retained = new long[3];
+                for (int run = 0; run < retained.length; run++) {
+                    long[] measured = refreshAndMeasure(classpath, loader);
+                    best = Math.min(best, measured[0]);
+                    // the context is only unreachable once the frame that refreshed it has returned:
+                    retained[run] = measured[1] - usedHeap();
+                }
+                // a single collection may be skipped or deferred, the median run is robust against that:
+                Arrays.sort(retained);
+                sizes[i] = classpath.getBeanCount();
+                times[i] = best;
+                heaps[i] = Math.max(retained[1], 1);
+                System.out.printf("refresh of %d beans: %.1fms, retained %dKB%n", sizes[i], best / 1e6, retained[1] / 1024);
+            } finally {
+                Thread.currentThread().setContextClassLoader(StartupScaling.class.getClassLoader());
+                delete(directory);
+            }
+        }
+
+        // fit the exponent of time ~ n^k on the larger half of the curve, where JIT warm-up no longer dominates:
+        int from = sizes.length / 2;
+        double timeExponent = exponent(sizes, times, from);
+        double heapExponent = exponent(sizes, heaps, from);
+        System.out.printf("startup scaling exponents: time %.2f, heap %.2f%n", timeExponent, heapExponent);
+        System.exit(timeExponent < MAX_TIME_EXPONENT && heapExponent < MAX_HEAP_EXPONENT ? 0 : 1);
+    }
+
+    static SyntheticClasspath classpath(int beanCount) {
+        // one @Configuration with four @Bean methods per 100 beans, the rest are @Value components with fan-in and fan-out:
+        int configurations = Math.max(1, beanCount / 100);
+        return SyntheticClasspath.builder("synthetic.scaling")
+                .components(beanCount - configurations * 5)
+                .configurations(configurations, 4)
+                .fanOut(3).maxFanIn(16).valueFields(50).packageDepth(2).build();
+    }
+
+    private static long[] refreshAndMeasure(SyntheticClasspath classpath, URLClassLoader loader) throws Exception {
+        long start = System.nanoTime();
+        try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(classpath.getProperties()),
+                loader.loadClass(classpath.getApplicationClassName()))) {
+            long elapsed = System.nanoTime() - start;
+            ctx.getBean(SyntheticClasspath.componentBeanName(0));
+            return new long[] { elapsed, usedHeap() };
+        }
+    }
+
+    private static double exponent(int[] sizes, double[] values, int from) {
+        // least squares slope in log-log space:
+        int n = sizes.length - from;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = from; i < sizes.length; i++) {
+            double x = Math.log(sizes[i]);
+            double y = Math.log(values[i]);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        return (n * sxy - sx * sy) / (n * sxx - sx * sx);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.practice.diy.benchmark;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+final class SyntheticBeans implements AutoCloseable {
+    static final String BASE_PACKAGE = "synthetic.beans";
+    static final String APPLICATION_CLASS = BASE_PACKAGE + ".SyntheticApplication";
+    static final String NODE_CLASS = BASE_PACKAGE + ".Node";
+
+    enum Injection {
+        CONSTRUCTOR, FIELD, SETTER
+    }
+
+    private final Path directory;
+    private final URLClassLoader classLoader;
+
+    private SyntheticBeans(Path directory, URLClassLoader classLoader) {
+        this.directory = directory;
+        this.classLoader = classLoader;
+    }
+
+    static SyntheticBeans generate(int beanCount, Injection injection, boolean jar) throws IOException {
+        // each bean depends on its predecessor and on bean i/2, which keeps the graph acyclic with fan-in up to 3:
+        return generate(beanCount, i -> i == 0 ? List.of() : i / 2 == i - 1 ? List.of(i - 1) : List.of(i - 1, i / 2),
+                injection, jar, 0);
+    }
+
+    static SyntheticBeans generateBlocking(int layers, int width, int blockMillis) throws IOException {
+        // bean i depends on two beans of the previous layer, so only beans of the same layer can be created concurrently:
+        return generate(layers * width, i -> i < width ? List.of() : List.of(i - width, i - i % width - width + (i + 1) % width),
+                Injection.CONSTRUCTOR, false, blockMillis);
+    }
+
+    private static SyntheticBeans generate(int beanCount, IntFunction<List<Integer>> dependencies, Injection injection,
+                                           boolean jar, int blockMillis) throws IOException {
+        Path directory = Files.createTempDirectory("diy-synthetic");
+        Path sources = directory.resolve("sources");
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<String> files = new ArrayList<>();
+        files.add(write(sources, BASE_PACKAGE, "SyntheticApplication", "public class SyntheticApplication {\n}\n"));
+        files.add(write(sources, BASE_PACKAGE, "Node", "public interface Node {\n}\n"));
+        for (int i = 0; i < beanCount; i++) {
+            files.add(write(sources, packageOf(i), "Bean" + i, beanSource(i, dependencies.apply(i).stream().distinct().toList(),
+                    injection, blockMillis)));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path"),
+                "-d", classes.toString(), "-proc:none", "-nowarn"));
+        args.addAll(files);
+        if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("cannot compile synthetic beans in " + sources);
+        }
+
+        Path root = jar ? createJar(classes, directory.resolve("synthetic.jar")) : classes;
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {root.toUri().toURL()}, SyntheticBeans.class.getClassLoader());
+        return new SyntheticBeans(directory, classLoader);
+    }
+
+    Path getDirectory() {
+        return this.directory;
+    }
+
+    ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    Class<?> loadClass(String name) {
+        try {
+            return this.classLoader.loadClass(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String beanName(int i) {
+        return "bean" + i;
+    }
+
+    static String beanClassName(int i) {
+        return packageOf(i) + ".Bean" + i;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.classLoader.close();
+        try (Stream<Path> stream = Files.walk(this.directory)) {
+            for (Path path : stream.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String packageOf(int i) {
+        // nest packages so that scanning walks a realistic directory tree:
+        return BASE_PACKAGE + ".p" + (i / 1000) + ".q" + (i / 100 % 10);
+    }
+
+    private static String beanSource(int i, List<Integer> dependencies, Injection injection, int blockMillis) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import com.practice.diy.annotation.*;\n\n");
+        sb.append("@Component\npublic class Bean").append(i).append(" implements ").append(NODE_CLASS).append(" {\n");
+        for (int dep : dependencies) {
+            String field = "dep" + dep;
+            if (injection == Injection.FIELD) {
+                sb.append("    @Autowired\n");
+            }
+            sb.append("    ").append(beanClassName(dep)).append(' ').append(field).append(";\n");
+        }
+        if (injection == Injection.CONSTRUCTOR) {
+            sb.append("\n    public Bean").append(i).append('(');
+            for (int n = 0; n < dependencies.size(); n++) {
+                int dep = dependencies.get(n);
+                sb.append(n == 0 ? "" : ", ").append("@Autowired ").append(beanClassName(dep)).append(" dep").append(dep);
+            }
+            sb.append(") {\n");
+            if (blockMillis > 0) {
+                // stands in for a constructor that opens a connection or reads a file:
+                sb.append("        try {\n            Thread.sleep(").append(blockMillis)
+                        .append(");\n        } catch (InterruptedException e) {\n            Thread.currentThread().interrupt();\n        }\n");
+            }
+            for (int dep : dependencies) {
+                sb.append("        this.dep").append(dep).append(" = dep").append(dep).append(";\n");
+            }
+            sb.append("    }\n");
+        } else if (injection == Injection.SETTER) {
+            for (int dep : dependencies) {
+                sb.append("\n    @Autowired\n    public void setDep").append(dep).append('(').append(beanClassName(dep))
+                        .append(" dep) {\n        this.dep").append(dep).append(" = dep;\n    }\n");
+            }
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private static String write(Path sources, String pkg, String simpleName, String body) throws IOException {
+        Path file = sources.resolve(pkg.replace('.', '/')).resolve(simpleName + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + pkg + ";\n\n" + body);
+        return file.toString();
+    }
+
+    private static Path createJar(Path classes, Path jar) throws IOException {
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> stream = Files.walk(classes)) {
+            for (Path path : stream.sorted().toList()) {
+                String name = classes.relativize(path).toString().replace('\\', '/');
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (Files.isDirectory(path)) {
+                    output.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    output.putNextEntry(new JarEntry(name));
+                    Files.copy(path, output);
+                }
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,115 @@
+package com.practice.diy.context;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective {@code Constructor.newInstance}/{@code Method.invoke} against the MethodHandles cached by
+ * {@link BeanInstantiator}, for constructors, factory methods and init/destroy callbacks. Lives in the context
+ * package because BeanInstantiator is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanInstantiatorBenchmark {
+    private final Object[] args = { "name", 42 };
+
+    private Constructor<?> constructor;
+    private Method factoryMethod;
+    private Method initMethod;
+    private Method destroyMethod;
+    private Object factory;
+    private Object instance;
+    private BeanInstantiator constructorInstantiator;
+    private BeanInstantiator factoryInstantiator;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.constructor = Service.class.getDeclaredConstructor(String.class, Integer.class);
+        this.factoryMethod = ServiceFactory.class.getDeclaredMethod("service", String.class, Integer.class);
+        this.initMethod = Service.class.getDeclaredMethod("init");
+        this.destroyMethod = Service.class.getDeclaredMethod("destroy");
+        BeanDefinition constructorDef = new BeanDefinition("service", Service.class, this.constructor, 0, false,
+                null, null, this.initMethod, this.destroyMethod);
+        BeanDefinition factoryDef = new BeanDefinition("service", Service.class, "serviceFactory", this.factoryMethod, 0, false,
+                null, null, this.initMethod, this.destroyMethod);
+        this.constructorInstantiator = constructorDef.getInstantiator();
+        this.factoryInstantiator = factoryDef.getInstantiator();
+        this.factory = new ServiceFactory();
+        this.instance = new Service("name", 42);
+        // resolve the per-class lifecycle handles once, as the first refresh would:
+        this.constructorInstantiator.invokeInit(this.instance);
+        this.constructorInstantiator.invokeDestroy(this.instance);
+    }
+
+    @Benchmark
+    public Object constructReflective() throws Exception {
+        return this.constructor.newInstance(this.args);
+    }
+
+    @Benchmark
+    public Object constructMethodHandle() throws Exception {
+        return this.constructorInstantiator.instantiate(null, this.args);
+    }
+
+    @Benchmark
+    public Object factoryReflective() throws Exception {
+        return this.factoryMethod.invoke(this.factory, this.args);
+    }
+
+    @Benchmark
+    public Object factoryMethodHandle() throws Exception {
+        return this.factoryInstantiator.instantiate(this.factory, this.args);
+    }
+
+    @Benchmark
+    public Object initReflective() throws Exception {
+        return this.initMethod.invoke(this.instance);
+    }
+
+    @Benchmark
+    public Object initMethodHandle() throws Exception {
+        return this.constructorInstantiator.invokeInit(this.instance);
+    }
+
+    @Benchmark
+    public Object destroyReflective() throws Exception {
+        return this.destroyMethod.invoke(this.instance);
+    }
+
+    @Benchmark
+    public Object destroyMethodHandle() throws Exception {
+        return this.constructorInstantiator.invokeDestroy(this.instance);
+    }
+
+    public static class Service {
+        final String name;
+        final Integer size;
+        int state;
+
+        public Service(String name, Integer size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        void init() {
+            this.state++;
+        }
+
+        void destroy() {
+            this.state--;
+        }
+    }
+
+    public static class ServiceFactory {
+        Service service(String name, Integer size) {
+            return new Service(name, size);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.practice.diy.annotation;
+
+import java.lang.annotation.*;
+
+@Target({ ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+    boolean value() default true;
+}
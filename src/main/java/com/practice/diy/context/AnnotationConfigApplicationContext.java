@@ -3,67 +3,239 @@ package com.practice.diy.context;
 
 import com.practice.diy.annotation.*;
 import com.practice.diy.exception.*;
-import com.practice.diy.io.PropertyResolver;
-import com.practice.diy.io.ResourceResolver;
+import com.practice.diy.io.*;
+import com.practice.diy.jfr.*;
 import com.practice.diy.utils.ClassUtils;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import jdk.jfr.EventType;
 
 import java.io.IOException;
-import java.lang.annotation.Annotation;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class AnnotationConfigApplicationContext implements ConfigurableApplicationContext {
-    private final PropertyResolver propertyResolver;
-    private final Map<String, BeanDefinition> beans;
+    private static final EventType BEAN_LOOKUP_EVENT = EventType.getEventType(BeanLookupEvent.class);
 
+    private final PropertyResolver propertyResolver;
+    private final ClassLoader classLoader;
+    private final boolean parallelScan;
+    private final boolean lazyByDefault;
+    private final JarIndexCache jarIndexCache = new JarIndexCache();
+    private final StartupRecorder startupRecorder;
+    private final boolean refreshableProperties;
+    private final Map<String, Set<PropertyBinding>> propertyBindings = new ConcurrentHashMap<>();
+    private PropertySourceWatcher propertyWatcher;
+    private volatile String phase = "refresh";
+    private Map<String, BeanDefinition> beans;
+    private BeanTypeIndex beanTypeIndex;
+    private ComponentIndex componentIndex;
+    private volatile FrozenBeanTable frozenBeans;
+
+    private Set<String> eagerBeanNames;
     private Set<String> createdBeanNames;
+    private final Map<String, Set<String>> injectedBeanNames = new ConcurrentHashMap<>();
 
     public AnnotationConfigApplicationContext(PropertyResolver propertyResolver, Class<?> configClass) throws IOException {
+        this(propertyResolver, configClass, true);
+    }
+
+    AnnotationConfigApplicationContext(PropertyResolver propertyResolver, Class<?> configClass, boolean refresh) throws IOException {
+        // converter beans of this context are registered on its own layer, not on the caller's resolver:
+        this.propertyResolver = propertyResolver.withLocalConverters();
+        this.classLoader = getContextClassLoader();
+        this.parallelScan = propertyResolver.getProperty("diy.scan.parallel", boolean.class, false);
+        this.lazyByDefault = propertyResolver.getProperty("diy.lazy-init", boolean.class, false);
+        String startupReportFile = propertyResolver.getProperty("diy.startup-report.file");
+        this.startupRecorder = startupReportFile != null || propertyResolver.getProperty("diy.startup-report.enabled", boolean.class, false)
+                ? new StartupRecorder() : null;
+        this.refreshableProperties = propertyResolver.getProperty("diy.properties.refresh", boolean.class, false);
+        if (!refresh) {
+            try {
+                loadBeanDefinitions(configClass);
+            } finally {
+                this.jarIndexCache.close();
+            }
+            return;
+        }
         ApplicationContextUtils.setApplicationContext(this);
-        this.propertyResolver = propertyResolver;
-        final Set<String> beanClassNames = scanForClassNames(configClass);
+        try {
+            loadBeanDefinitions(configClass);
+            this.eagerBeanNames = collectEagerBeanNames();
+
+            this.createdBeanNames = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = this.propertyResolver.getProperty("diy.refresh.parallel", boolean.class, false)
+                    ? newRefreshExecutor(this.propertyResolver.getProperty(
+                            "diy.refresh.threads", int.class, Runtime.getRuntime().availableProcessors()))
+                    : null;
+            try {
+                createBeans(executor);
+
+                List<BeanDefinition> eagerBeans = this.beans.values().stream().filter(def -> !isLazy(def)).toList();
+                long start = startPhase(StartupReport.PHASE_INJECTION);
+                eagerBeans.forEach(def -> injectBean(def));
+                endPhase(StartupReport.PHASE_INJECTION, start);
+
+                start = startPhase(StartupReport.PHASE_INIT);
+                initBeans(eagerBeans, executor == null ? Runnable::run : executor);
+                eagerBeans.forEach(BeanDefinition::setInitialized);
+                endPhase(StartupReport.PHASE_INIT, start);
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+            freeze();
+            this.phase = "running";
+            if (this.startupRecorder != null) {
+                this.startupRecorder.finish();
+                if (startupReportFile != null) {
+                    Files.writeString(Path.of(startupReportFile), this.startupRecorder.toReport().toJson());
+                }
+            }
+            if (this.refreshableProperties && PropertySourceWatcher.hasFileSources(propertyResolver.getPropertySources())) {
+                this.propertyWatcher = new PropertySourceWatcher(propertyResolver.getPropertySources(), this::refreshProperties);
+            }
+        } catch (IOException | RuntimeException e) {
+            this.jarIndexCache.close();
+            ApplicationContextUtils.setApplicationContext(null);
+            throw e;
+        }
+    }
+
+    private void loadBeanDefinitions(Class<?> configClass) throws IOException {
+        final List<String> scanPackages = getScanPackages(configClass);
+
+        String startupCacheFile = this.propertyResolver.getProperty("diy.startup-cache.file");
+        StartupCache startupCache = startupCacheFile == null ? null : new StartupCache(Path.of(startupCacheFile), this.classLoader);
+        boolean useComponentIndex = !this.propertyResolver.getProperty("diy.index.ignore", boolean.class, false);
+        long fingerprint = startupCache == null ? 0 : startupCache.fingerprint(configClass, scanPackages, useComponentIndex);
+        Map<String, BeanDefinition> cachedBeans = startupCache == null ? null : startupCache.load(fingerprint);
+
+        if (cachedBeans != null) {
+            long start = startPhase(StartupReport.PHASE_DEFINITIONS);
+            this.beans = cachedBeans;
+            this.beanTypeIndex = new BeanTypeIndex(cachedBeans.values());
+            endPhase(StartupReport.PHASE_DEFINITIONS, start);
+            return;
+        }
+
+        long start = startPhase(StartupReport.PHASE_SCAN);
+        if (useComponentIndex) {
+            this.componentIndex = ComponentIndex.load(this.classLoader);
+        }
+        final Set<String> beanClassNames = scanForClassNames(configClass, scanPackages);
+        endPhase(StartupReport.PHASE_SCAN, start);
 
+        start = startPhase(StartupReport.PHASE_DEFINITIONS);
         this.beans = createBeanDefinitions(beanClassNames);
+        this.beanTypeIndex = new BeanTypeIndex(this.beans.values());
+        endPhase(StartupReport.PHASE_DEFINITIONS, start);
+        if (startupCache != null) {
+            this.beans.values().forEach(this::resolveDependencies);
+            startupCache.store(fingerprint, this.beans.values());
+        }
+    }
+
+    private void createBeans(@Nullable ExecutorService executor) {
+        registerConverterBeans();
+        if (executor != null) {
+            // configuration beans are scheduled together with their dependents, so there is a single phase:
+            long start = startPhase(StartupReport.PHASE_NORMAL_BEANS);
+            createBeansInParallel(executor);
+            endPhase(StartupReport.PHASE_NORMAL_BEANS, start);
+        } else {
+            long start = startPhase(StartupReport.PHASE_CONFIGURATION_BEANS);
+            this.beans.values()
+                    .stream()
+                    .filter(def -> isConfigurationDefinition(def) && !isLazy(def))
+                    .sorted()
+                    .forEach(beanDefinition -> {
+                        if (beanDefinition.getInstance() == null) {
+                            createBeanAsEarlySingleton(beanDefinition);
+                        }
+                    });
+            endPhase(StartupReport.PHASE_CONFIGURATION_BEANS, start);
+
+            start = startPhase(StartupReport.PHASE_NORMAL_BEANS);
+            createNormalBeans();
+            endPhase(StartupReport.PHASE_NORMAL_BEANS, start);
+        }
+    }
 
-        this.createdBeanNames = new HashSet<>();
+    private void registerConverterBeans() {
+        // @Value injection of any other bean may need a converter bean, so they are created first:
+        for (BeanDefinition def : findBeanDefinitions(Converter.class)) {
+            Object instance = def.getInstance() != null ? def.getInstance() : createBeanAsEarlySingleton(def);
+            this.propertyResolver.addConverter((Converter<?>) instance);
+        }
+    }
 
-        this.beans.values()
-                .stream()
-                .filter(this::isConfigurationDefinition)
-                .sorted()
-                .forEach(beanDefinition -> createBeanAsEarlySingleton(beanDefinition));
+    @Nullable
+    public StartupReport getStartupReport() {
+        return this.startupRecorder == null ? null : this.startupRecorder.toReport();
+    }
 
-        createNormalBeans();
+    private long startPhase(String name) {
+        this.phase = name;
+        return this.startupRecorder == null ? 0 : this.startupRecorder.startPhase();
+    }
 
-        this.beans.values().forEach(def -> injectBean(def));
-        this.beans.values().forEach(def -> initBean(def));
+    private void endPhase(String name, long start) {
+        if (this.startupRecorder != null) {
+            this.startupRecorder.endPhase(name, start);
+        }
     }
 
+    private void freeze() {
+        this.frozenBeans = new FrozenBeanTable(this.beans.values(), this.beanTypeIndex, this::getBeanInstance);
+    }
 
     @Override
     public boolean containsBean(String beanName) {
-        return this.beans.containsKey(beanName);
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        return frozenBeans != null ? frozenBeans.containsBean(beanName) : this.beans.containsKey(beanName);
     }
 
     public <T> T getBean(String name) {
-        BeanDefinition definition = this.beans.get(name);
-        if (definition == null) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        Object bean;
+        if (frozenBeans != null) {
+            bean = frozenBeans.getBean(name);
+        } else {
+            BeanDefinition definition = this.beans.get(name);
+            bean = definition == null ? null : getBeanInstance(definition);
+        }
+        if (bean == null) {
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'.", name));
         }
-        return (T) definition.getRequiredInstance();
+        return (T) bean;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getBean(Class<T> requiredType) {
-        BeanDefinition definition = findBeanDefinition(requiredType);
-        if (definition == null) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        Object bean;
+        if (frozenBeans != null) {
+            bean = frozenBeans.getBean(requiredType);
+        } else {
+            BeanDefinition definition = findBeanDefinition(requiredType);
+            bean = definition == null ? null : getBeanInstance(definition);
+        }
+        if (bean == null) {
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'.", requiredType));
         }
-        return (T) definition.getRequiredInstance();
+        return (T) bean;
     }
 
     @Override
@@ -72,11 +244,16 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         if (beanDefinition == null) {
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'.", requiredType));
         }
-        return (T) beanDefinition.getRequiredInstance();
+        return (T) getBeanInstance(beanDefinition);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> List<T> getBeans(Class<T> requiredType) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        if (frozenBeans != null) {
+            return (List<T>) frozenBeans.getBeans(requiredType);
+        }
         List<BeanDefinition> beanDefinitions = findBeanDefinitions(requiredType);
         if (beanDefinitions.isEmpty()) {
             return List.of();
@@ -84,7 +261,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
         List<T> list = new ArrayList<>(beanDefinitions.size());
         for (var def : beanDefinitions) {
-            list.add((T) def.getRequiredInstance());
+            list.add((T) getBeanInstance(def));
         }
 
         return list;
@@ -92,37 +269,19 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
     @Nullable
     public BeanDefinition findBeanDefinition(String beanName) {
-        return beans.get(beanName);
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        return frozenBeans != null ? frozenBeans.findBeanDefinition(beanName) : this.beans.get(beanName);
     }
 
     @Nullable
     public BeanDefinition findBeanDefinition(Class<?> requiredType) {
-        List<BeanDefinition> beanDefinitionList = findBeanDefinitions(requiredType);
-        if (beanDefinitionList.isEmpty()) {
-            return null;
-        }
-
-        if (beanDefinitionList.size() > 1) {
-            beanDefinitionList = beanDefinitionList
-                    .stream()
-                    .filter(def -> def.isPrimary())
-                    .collect(Collectors.toList());
-        }
-
-        if (beanDefinitionList.isEmpty()) {
-            throw new NoUniqueBeanDefinitionException(String.format("Multiple bean with type '%s' found", requiredType.getName()));
-        } else if (beanDefinitionList.size() > 1) {
-            throw new NoUniqueBeanDefinitionException(
-                    String.format("Multiple bean with type '%s' found, and multiple @Primary specified.", requiredType.getName()));
-        }
-
-        return beanDefinitionList.get(0);
+        return this.beanTypeIndex.findBeanDefinition(requiredType);
     }
 
     @Nullable
     public BeanDefinition findBeanDefinition(String beanName, Class<?> requiredType) {
         BeanDefinition beanDefinition = findBeanDefinition(beanName);
-        if (requiredType == null) {
+        if (beanDefinition == null) {
             return null;
         }
         if (!requiredType.isAssignableFrom(beanDefinition.getBeanClass())) {
@@ -135,45 +294,101 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     }
 
     public List<BeanDefinition> findBeanDefinitions(Class<?> requiredType) {
-        return this.beans.values().stream()
-                .filter(def -> requiredType.isAssignableFrom(def.getBeanClass()))
-                .sorted()
-                .collect(Collectors.toList());
+        return this.beanTypeIndex.findBeanDefinitions(requiredType);
+    }
+
+    public synchronized void refreshProperties(Set<String> changedKeys) {
+        Set<PropertyBinding> bindings = new LinkedHashSet<>();
+        // bindings are keyed by canonical name, so a changed APP_POOL_SIZE or app.poolSize re-injects ${app.pool-size}:
+        for (String key : changedKeys) {
+            bindings.addAll(this.propertyBindings.getOrDefault(RelaxedNames.canonicalize(key), Set.of()));
+        }
+        // resolve every value before injecting any, so an invalid or deleted key leaves all beans untouched:
+        Map<PropertyBinding, Object> values = new LinkedHashMap<>();
+        for (PropertyBinding binding : bindings) {
+            InjectionPlan.InjectionPoint point = binding.point();
+            values.put(binding, this.propertyResolver.getRequiredProperty(point.value().value(), point.type()));
+        }
+        values.forEach((binding, value) -> {
+            try {
+                binding.point().inject(binding.def().getInstance(), value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeanCreationException(e);
+            }
+            recordPropertyBinding(binding.def(), binding.point());
+        });
+        VarHandle.releaseFence();
+        for (BeanDefinition def : this.beans.values()) {
+            if (def.getInstance() instanceof PropertiesChangedListener listener) {
+                listener.onPropertiesChanged(changedKeys);
+            }
+        }
+    }
+
+    private void recordPropertyBinding(BeanDefinition def, InjectionPlan.InjectionPoint point) {
+        PropertyBinding binding = new PropertyBinding(def, point);
+        for (String key : this.propertyResolver.getReferencedKeys(point.value().value())) {
+            this.propertyBindings.computeIfAbsent(RelaxedNames.canonicalize(key), k -> ConcurrentHashMap.newKeySet()).add(binding);
+        }
     }
 
     @Override
     public void close() {
+        if (this.propertyWatcher != null) {
+            this.propertyWatcher.close();
+        }
+        this.frozenBeans = null;
+        this.phase = "close";
         this.beans.values().forEach(beanDefinition -> {
-            callMethod(beanDefinition.getInstance(), beanDefinition.getDestroyMethod(), beanDefinition.getDestroyMethodName());
+            if (beanDefinition.getInstance() != null) {
+                callMethod(beanDefinition, false);
+            }
         });
         this.beans.clear();
+        this.jarIndexCache.close();
+        this.beanTypeIndex = new BeanTypeIndex(List.of());
         ApplicationContextUtils.setApplicationContext(null);
     }
 
     public Object createBeanAsEarlySingleton(BeanDefinition beanDefinition) {
+        BeanCreationEvent event = new BeanCreationEvent();
+        event.begin();
+        StartupRecorder recorder = this.startupRecorder;
+        if (recorder != null) {
+            recorder.beginStep();
+        }
+        try {
+            return doCreateBean(beanDefinition);
+        } finally {
+            if (recorder != null) {
+                recorder.endStep(beanDefinition, StartupRecorder.Step.CONSTRUCTION, 1);
+            }
+            event.commit(beanDefinition.getName(), beanDefinition.getBeanClass(), this.phase);
+        }
+    }
+
+    private Object doCreateBean(BeanDefinition beanDefinition) {
         if (!this.createdBeanNames.add(beanDefinition.getName())) {
             throw new UnsatisfiedDependencyException(
                     String.format("Circular dependency detected when create bean '%s'", beanDefinition.getName()));
         }
 
-        Executable createFunction = null;
-        if (beanDefinition.getFactoryName() == null) {
-            createFunction = beanDefinition.getConstructor();
-        } else {
-            createFunction = beanDefinition.getFactoryMethod();
+        ConfigurationProperties configurationProperties = getConfigurationProperties(beanDefinition);
+        if (configurationProperties != null && beanDefinition.getFactoryName() == null) {
+            beanDefinition.setInstance(bindConfigurationProperties(beanDefinition, configurationProperties, null));
+            return beanDefinition.getInstance();
         }
 
-        final Parameter[] parameters = createFunction.getParameters();
-        final Annotation[][] parameterAnnotations = createFunction.getParameterAnnotations();
+        final BeanInstantiator instantiator = beanDefinition.getInstantiator();
+        final BeanInstantiator.InjectionParameter[] parameters = instantiator.getParameters();
+        final boolean isConfiguration = parameters.length > 0 && isConfigurationDefinition(beanDefinition);
         Object[] args = new Object[parameters.length];
 
         for (int i = 0; i < parameters.length; i++) {
-            final Parameter param = parameters[i];
-            final Annotation[] annos = parameterAnnotations[i];
-            final Value value = ClassUtils.getAnnotation(annos, Value.class);
-            final Autowired autowired = ClassUtils.getAnnotation(annos, Autowired.class);
-
-            final boolean isConfiguration = isConfigurationDefinition(beanDefinition);
+            final Value value = parameters[i].value();
+            final Autowired autowired = parameters[i].autowired();
 
             if (isConfiguration && autowired != null) {
                 throw new BeanCreationException(
@@ -193,13 +408,15 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                                 beanDefinition.getName(), beanDefinition.getBeanClass().getName()));
             }
 
-            final Class<?> type = param.getType();
+            final Class<?> type = parameters[i].type();
             if (value != null) {
                 args[i] = this.propertyResolver.getRequiredProperty(value.value(), type);
             } else {
                 boolean required = autowired.required();
                 String qualifier = autowired.qualifier();
-                BeanDefinition dependDef = qualifier.isEmpty() ? findBeanDefinition(type) : findBeanDefinition(qualifier, type);
+                final Class<?> dependencyType = parameters[i].dependencyType();
+                BeanDefinition dependDef = qualifier.isEmpty()
+                        ? findBeanDefinition(dependencyType) : findBeanDefinition(qualifier, dependencyType);
 
                 if (required && dependDef == null) {
                     throw new BeanCreationException(
@@ -207,7 +424,10 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                                     beanDefinition.getName(), beanDefinition.getBeanClass().getName()));
                 }
 
-                if (dependDef != null && !isConfiguration) {
+                if (dependDef != null && !isConfiguration && parameters[i].lazy()) {
+                    args[i] = createLazyHandle(type, dependDef);
+                } else if (dependDef != null && !isConfiguration) {
+                    recordInjection(beanDefinition, dependDef);
                     Object autowiredBeanInstance = dependDef.getInstance();
                     if (autowiredBeanInstance == null) {
                         autowiredBeanInstance = createBeanAsEarlySingleton(dependDef);
@@ -219,29 +439,41 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             }
         }
 
+        Object configInstance = beanDefinition.getFactoryName() == null ? null : getBean(beanDefinition.getFactoryName());
         Object instance = null;
-        if (beanDefinition.getFactoryName() == null) {
-            try {
-                instance = beanDefinition.getConstructor().newInstance(args);
-            } catch (Exception e) {
-                throw new BeanCreationException(
-                        String.format("Exception when create bean '%s': %s",
-                                beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
-            }
-        } else {
-            Object configInstance = getBean(beanDefinition.getFactoryName());
-            try {
-                instance = beanDefinition.getFactoryMethod().invoke(configInstance, args);
-            } catch (Exception e) {
-                throw new BeanCreationException(
-                        String.format("Exception when create bean '%s': %s",
-                                beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
-            }
+        try {
+            instance = instantiator.instantiate(configInstance, args);
+        } catch (Exception e) {
+            throw new BeanCreationException(
+                    String.format("Exception when create bean '%s': %s",
+                            beanDefinition.getName(), beanDefinition.getBeanClass().getName()), e);
+        }
+        if (configurationProperties != null && instance != null) {
+            instance = bindConfigurationProperties(beanDefinition, configurationProperties, instance);
         }
         beanDefinition.setInstance(instance);
         return beanDefinition.getInstance();
     }
 
+    @Nullable
+    ConfigurationProperties getConfigurationProperties(BeanDefinition def) {
+        return def.getFactoryName() == null
+                ? def.getBeanClass().getAnnotation(ConfigurationProperties.class)
+                : def.getFactoryMethod().getAnnotation(ConfigurationProperties.class);
+    }
+
+    private Object bindConfigurationProperties(BeanDefinition def, ConfigurationProperties properties, @Nullable Object instance) {
+        try {
+            return instance == null
+                    ? this.propertyResolver.bind(properties.value(), def.getBeanClass())
+                    : this.propertyResolver.bindInto(properties.value(), instance);
+        } catch (RuntimeException e) {
+            throw new BeanCreationException(
+                    String.format("Cannot bind configuration properties '%s' to bean '%s': %s",
+                            properties.value(), def.getName(), e.getMessage()), e);
+        }
+    }
+
     @Nullable
     @SuppressWarnings("unchecked")
     protected <T> T findBean(String name, Class<T> requiredType) {
@@ -249,7 +481,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         if (def == null) {
             return null;
         }
-        return (T) def.getRequiredInstance();
+        return (T) getBeanInstance(def);
     }
 
     @Nullable
@@ -259,34 +491,47 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         if (def == null) {
             return null;
         }
-        return (T) def.getRequiredInstance();
+        return (T) getBeanInstance(def);
     }
 
     @Nullable
     @SuppressWarnings("unchecked")
     protected <T> List<T> findBeans(Class<T> requiredType) {
-        return findBeanDefinitions(requiredType).stream().map(def -> (T) def.getRequiredInstance()).collect(Collectors.toList());
+        return findBeanDefinitions(requiredType).stream().map(def -> (T) getBeanInstance(def)).collect(Collectors.toList());
+    }
+
+    Collection<BeanDefinition> getBeanDefinitions() {
+        return this.beans.values();
     }
 
-    private boolean isConfigurationDefinition(BeanDefinition def) {
+    boolean isConfigurationDefinition(BeanDefinition def) {
         return ClassUtils.findAnnotation(def.getBeanClass(), Configuration.class) != null;
     }
 
-    private Set<String> scanForClassNames(Class<?> configClass) throws IOException {
+    private List<String> getScanPackages(Class<?> configClass) {
         ComponentScan componentScan = configClass.getAnnotation(ComponentScan.class);
         final String[] scanPackages = componentScan == null || componentScan.value().length == 0
                 ? new String[] {configClass.getPackage().getName()} : componentScan.value();
+        return removeNestedPackages(scanPackages);
+    }
 
-        Set<String> classNameSet = new HashSet<>();
+    private Set<String> scanForClassNames(Class<?> configClass, List<String> scanPackages) throws IOException {
+        Set<String> classNameSet = new TreeSet<>();
+        ClassFileReader classFileReader = new ClassFileReader(this.classLoader);
 
         for (String pkg : scanPackages) {
-            ResourceResolver resourceResolver = new ResourceResolver(pkg);
+            if (this.componentIndex != null) {
+                for (ComponentCandidate candidate : this.componentIndex.getCandidates(pkg)) {
+                    classNameSet.add(candidate.className());
+                }
+            }
+            // roots which ship a component index are fully described by it, all others are still scanned:
+            ResourceResolver resourceResolver = new ResourceResolver(pkg, this.parallelScan, this.jarIndexCache,
+                    this.componentIndex == null ? null : this.componentIndex::isIndexedRoot);
             List<String> classList = resourceResolver.scan(resource -> {
                 String name = resource.name();
                 if (name.endsWith(".class")) {
-                    return name.substring(0, name.length() - 6)
-                            .replace("/", ".")
-                            .replace("\\", ".");
+                    return readCandidateClassName(resourceResolver, classFileReader, resource);
                 }
                 return null;
             });
@@ -303,52 +548,105 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return classNameSet;
     }
 
+    private List<String> removeNestedPackages(String[] scanPackages) {
+        List<String> packages = new ArrayList<>();
+        for (String pkg : Arrays.stream(scanPackages).sorted().toList()) {
+            if (!packages.isEmpty()) {
+                String last = packages.get(packages.size() - 1);
+                if (last.isEmpty() || pkg.equals(last) || pkg.startsWith(last + ".")) {
+                    continue;
+                }
+            }
+            packages.add(pkg);
+        }
+        return packages;
+    }
+
+    @Nullable
+    private String readCandidateClassName(ResourceResolver resourceResolver, ClassFileReader classFileReader, Resource resource) {
+        ClassMetadata metadata;
+        try (InputStream input = resourceResolver.openStream(resource)) {
+            metadata = ClassFileReader.read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (metadata.isAnnotation() || metadata.isEnum() || metadata.isInterface()
+                || metadata.isRecord() && !classFileReader.hasAnnotation(metadata, ConfigurationProperties.class.getName())) {
+            return null;
+        }
+        return classFileReader.hasAnnotation(metadata, Component.class.getName()) ? metadata.className() : null;
+    }
+
     private Map<String, BeanDefinition> createBeanDefinitions(Set<String> beanClassNames) {
+        List<List<BeanDefinition>> definitionLists = (this.parallelScan ? beanClassNames.parallelStream() : beanClassNames.stream())
+                .map(this::createBeanDefinitions)
+                .toList();
+
         Map<String, BeanDefinition> definitionMap = new HashMap<>();
-        for (String className : beanClassNames) {
-            Class<?> clazz = null;
-            try {
-                clazz = Class.forName(className);
-            } catch (ClassNotFoundException e) {
-                throw new BeanCreationException(e);
+        for (List<BeanDefinition> definitions : definitionLists) {
+            for (BeanDefinition beanDefinition : definitions) {
+                addBeanDefinitions(definitionMap, beanDefinition);
             }
+        }
+        return definitionMap;
+    }
 
-            if (clazz.isAnnotation() || clazz.isEnum() || clazz.isInterface() || clazz.isRecord()) {
-                continue;
+    private List<BeanDefinition> createBeanDefinitions(String className) {
+        Class<?> clazz = null;
+        ClassLoadEvent event = new ClassLoadEvent();
+        event.begin();
+        try {
+            clazz = Class.forName(className, false, this.classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeanCreationException(e);
+        } finally {
+            if (event.isEnabled()) {
+                event.className = className;
             }
+            event.commit(null, clazz, this.phase);
+        }
 
-            Component component = ClassUtils.findAnnotation(clazz, Component.class);
-            if (component != null) {
-                int mod = clazz.getModifiers();
-                if (Modifier.isAbstract(mod)) {
-                    throw new BeanDefinitionException("@Component class " + clazz.getName() + " must not be abstract.");
-                }
-                if (Modifier.isPrivate(mod)) {
-                    throw new BeanDefinitionException("@Component class " + clazz.getName() + " must not be private.");
-                }
-
-                String beanName = ClassUtils.getBeanName(clazz);
+        if (clazz.isAnnotation() || clazz.isEnum() || clazz.isInterface()
+                || clazz.isRecord() && !clazz.isAnnotationPresent(ConfigurationProperties.class)) {
+            return List.of();
+        }
 
-                BeanDefinition beanDefinition = new BeanDefinition(
-                        beanName, clazz, getSuitableConstructor(clazz),
-                        getOrder(clazz), clazz.isAnnotationPresent(Primary.class),
-                        null, null,
-                        ClassUtils.findAnnotationMethod(clazz, PostConstruct.class),
-                        ClassUtils.findAnnotationMethod(clazz, PreDestroy.class)
-                );
+        ComponentCandidate candidate = this.componentIndex == null ? null : this.componentIndex.getCandidate(className);
+        if (candidate == null && ClassUtils.findAnnotation(clazz, Component.class) == null) {
+            return List.of();
+        }
 
-                addBeanDefinitions(definitionMap, beanDefinition);
+        int mod = clazz.getModifiers();
+        if (Modifier.isAbstract(mod)) {
+            throw new BeanDefinitionException("@Component class " + clazz.getName() + " must not be abstract.");
+        }
+        if (Modifier.isPrivate(mod)) {
+            throw new BeanDefinitionException("@Component class " + clazz.getName() + " must not be private.");
+        }
 
-                Configuration configuration = ClassUtils.findAnnotation(clazz, Configuration.class);
-                if (configuration != null) {
-                    scanFactoryMethods(beanName, clazz, definitionMap);
-                }
-            }
+        String beanName = candidate != null ? candidate.beanName() : ClassUtils.getBeanName(clazz);
+
+        List<BeanDefinition> definitions = new ArrayList<>();
+        BeanDefinition def = new BeanDefinition(
+                beanName, clazz, getSuitableConstructor(clazz),
+                candidate != null ? candidate.order() : getOrder(clazz),
+                candidate != null ? candidate.primary() : clazz.isAnnotationPresent(Primary.class),
+                null, null,
+                ClassUtils.findAnnotationMethod(clazz, PostConstruct.class),
+                ClassUtils.findAnnotationMethod(clazz, PreDestroy.class)
+        );
+        def.setLazy(getLazy(clazz.getAnnotation(Lazy.class)));
+        definitions.add(def);
+
+        boolean configuration = candidate != null
+                ? candidate.isConfiguration() : ClassUtils.findAnnotation(clazz, Configuration.class) != null;
+        if (configuration) {
+            scanFactoryMethods(beanName, clazz, definitions);
         }
-        return definitionMap;
+        return definitions;
     }
 
-    private void scanFactoryMethods(String factoryBeanName, Class<?> clazz, Map<String, BeanDefinition> definitionMap) {
+    private void scanFactoryMethods(String factoryBeanName, Class<?> clazz, List<BeanDefinition> definitions) {
         for (Method method : clazz.getDeclaredMethods()) {
             Bean bean = method.getAnnotation(Bean.class);
 
@@ -365,15 +663,15 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                             + " return type is not valid.");
                 }
 
-                BeanDefinition beanDefinition = new BeanDefinition(
+                BeanDefinition def = new BeanDefinition(
                         ClassUtils.getBeanName(method), beanClass, factoryBeanName, method,
                         getOrder(method), method.isAnnotationPresent(Primary.class),
                         bean.initMethod().isEmpty() ? null : bean.initMethod(),
                         bean.destroyMethod().isEmpty() ? null : bean.destroyMethod(),
                         null, null
                 );
-
-                addBeanDefinitions(definitionMap, beanDefinition);
+                def.setLazy(getLazy(method.getAnnotation(Lazy.class)));
+                definitions.add(def);
             }
         }
     }
@@ -396,6 +694,11 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return constructors[0];
     }
 
+    @Nullable
+    private Boolean getLazy(@Nullable Lazy lazy) {
+        return lazy == null ? null : lazy.value();
+    }
+
     private int getOrder(Class<?> clazz) {
         Order order = clazz.getAnnotation(Order.class);
         return order == null ? Integer.MAX_VALUE : order.value();
@@ -409,7 +712,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     private void createNormalBeans() {
         List<BeanDefinition> beanDefinitions = this.beans.values()
                 .stream()
-                .filter(def -> def.getInstance() == null)
+                .filter(def -> def.getInstance() == null && !isLazy(def))
                 .sorted()
                 .collect(Collectors.toList());
         beanDefinitions.forEach(def -> {
@@ -419,128 +722,348 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         });
     }
 
-    void injectBean(BeanDefinition def) {
-        try {
-            injectProperties(def.getBeanClass(), def.getInstance());
-        } catch (ReflectiveOperationException e) {
-            throw new BeanCreationException(e);
+    private void createBeansInParallel(Executor executor) {
+        List<BeanDefinition> eagerBeans = this.beans.values().stream().filter(def -> !isLazy(def)).toList();
+        BeanDependencyGraph graph = new BeanDependencyGraph(eagerBeans, def -> {
+            List<String> dependencies = new ArrayList<>(resolveDependencies(def));
+            if (def.getFactoryName() != null) {
+                dependencies.add(def.getFactoryName());
+            }
+            return dependencies;
+        });
+        // detect cycles before any bean is created:
+        List<BeanDefinition> order = graph.topologicalOrder();
+
+        Map<String, CompletableFuture<?>> futures = new HashMap<>();
+        for (BeanDefinition def : order) {
+            futures.put(def.getName(), CompletableFuture.allOf(getFutures(graph, def, futures))
+                    .thenRunAsync(() -> {
+                        if (def.getInstance() == null) {
+                            createBeanAsEarlySingleton(def);
+                        }
+                    }, executor));
         }
+        awaitAll(order, futures);
     }
 
-    private void injectProperties (Class<?> beanClass, Object instance) throws InvocationTargetException, IllegalAccessException {
-        for (Field field : beanClass.getDeclaredFields()) {
-            tryInjectProperties(beanClass, instance, field);
+    private void initBeans(Collection<BeanDefinition> definitions, Executor executor) {
+        // field and setter injection may form cycles, which are released in bean order:
+        BeanDependencyGraph graph = new BeanDependencyGraph(definitions,
+                def -> List.copyOf(this.injectedBeanNames.getOrDefault(def.getName(), Set.of())));
+        List<BeanDefinition> order = graph.topologicalOrder(true);
+
+        Map<String, CompletableFuture<?>> futures = new HashMap<>();
+        for (BeanDefinition def : order) {
+            futures.put(def.getName(), CompletableFuture.allOf(getFutures(graph, def, futures))
+                    .thenComposeAsync(v -> initBean(def), executor));
         }
+        awaitAll(order, futures);
+    }
 
-        for (Method method : beanClass.getDeclaredMethods()) {
-            tryInjectProperties(beanClass, instance, method);
+    private CompletableFuture<?>[] getFutures(
+            BeanDependencyGraph graph, BeanDefinition def, Map<String, CompletableFuture<?>> futures) {
+        return graph.getDependencies(def.getName())
+                .stream()
+                .map(futures::get)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new);
+    }
+
+    private void awaitAll(List<BeanDefinition> order, Map<String, CompletableFuture<?>> futures) {
+        for (BeanDefinition def : order) {
+            try {
+                futures.get(def.getName()).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new BeanCreationException(e.getCause());
+            }
         }
+    }
 
-        Class<?> superBeanClass = beanClass.getSuperclass();
+    private ExecutorService newRefreshExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "diy-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
-        if (superBeanClass != null) {
-            injectProperties(superBeanClass, instance);
+    List<String> resolveDependencies(BeanDefinition def) {
+        // definitions loaded from the startup cache carry their edges, so they are only resolved on a cold start:
+        if (def.isDependsOnResolved()) {
+            return def.getDependsOn();
+        }
+        List<String> dependsOn = new ArrayList<>();
+        for (BeanInstantiator.InjectionParameter parameter : def.getInstantiator().getParameters()) {
+            final Autowired autowired = parameter.autowired();
+            if (autowired != null && !parameter.lazy()) {
+                final Class<?> type = parameter.type();
+                BeanDefinition dependDef = autowired.qualifier().isEmpty()
+                        ? findBeanDefinition(type) : findBeanDefinition(autowired.qualifier(), type);
+                if (dependDef != null) {
+                    dependsOn.add(dependDef.getName());
+                }
+            }
         }
+        List<String> resolved = List.copyOf(dependsOn);
+        def.setDependsOn(resolved);
+        return resolved;
     }
 
-    private void tryInjectProperties(
-            Class<?> beanClass, Object instance, AccessibleObject accessibleObject) throws IllegalAccessException, InvocationTargetException {
-        Value value = accessibleObject.getAnnotation(Value.class);
-        Autowired autowired = accessibleObject.getAnnotation(Autowired.class);
-        if (value == null && autowired == null) {
+    void injectBean(BeanDefinition def) {
+        StartupRecorder recorder = this.startupRecorder;
+        if (recorder == null) {
+            doInjectBean(def);
             return;
         }
+        recorder.beginStep();
+        int injected = 0;
+        try {
+            injected = doInjectBean(def);
+        } finally {
+            recorder.endStep(def, StartupRecorder.Step.INJECTION, injected);
+        }
+    }
 
-        if (value != null && autowired != null) {
-            throw new BeanCreationException(String.format("Cannot specify both @Autowired and @Value when inject %s for bean '%s'",
-                    beanClass.getSimpleName(), beanClass.getName()));
+    private int doInjectBean(BeanDefinition def) {
+        int injected = 0;
+        Object instance = def.getInstance();
+        for (InjectionPlan.InjectionPoint point : InjectionPlan.forClass(def.getBeanClass()).getPoints()) {
+            Object value;
+            if (point.value() != null) {
+                value = this.propertyResolver.getProperty(point.value().value(), point.type());
+                if (this.refreshableProperties) {
+                    recordPropertyBinding(def, point);
+                }
+            } else {
+                String qualifier = point.autowired().qualifier();
+                BeanDefinition dependDef = qualifier.isEmpty()
+                        ? findBeanDefinition(point.dependencyType()) : findBeanDefinition(qualifier, point.dependencyType());
+                if (dependDef == null) {
+                    if (point.autowired().required()) {
+                        throw new UnsatisfiedDependencyException(
+                                String.format("Dependency bean not found when inject %s.%s for bean '%s'",
+                                        point.declaringClass().getSimpleName(), point.name(),
+                                        point.declaringClass().getName()));
+                    }
+                    continue;
+                }
+                if (point.lazy()) {
+                    value = createLazyHandle(point.type(), dependDef);
+                } else {
+                    value = dependDef.getRequiredInstance();
+                    recordInjection(def, dependDef);
+                }
+            }
+            BeanInjectionEvent event = new BeanInjectionEvent();
+            event.begin();
+            try {
+                point.inject(instance, value);
+                injected++;
+                if (event.isEnabled()) {
+                    event.member = point.name();
+                    event.setter = point.member() instanceof Method;
+                }
+                event.commit(def.getName(), def.getBeanClass(), this.phase);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeanCreationException(e);
+            }
         }
+        return injected;
+    }
 
-        Field field = null;
-        Method method = null;
+    private boolean isLazy(BeanDefinition def) {
+        return this.eagerBeanNames != null && !this.eagerBeanNames.contains(def.getName());
+    }
 
-        if (accessibleObject instanceof Field f) {
-            checkModifier(f);
-            f.setAccessible(true);
-            field = f;
+    private Set<String> collectEagerBeanNames() {
+        // lazy beans needed by eager beans are created eagerly as well:
+        Set<String> eagerBeanNames = new HashSet<>();
+        Deque<BeanDefinition> queue = this.beans.values().stream()
+                .filter(def -> def.getLazy() != null ? !def.getLazy() : !this.lazyByDefault)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+        while (!queue.isEmpty()) {
+            BeanDefinition def = queue.poll();
+            if (eagerBeanNames.add(def.getName())) {
+                getDependencyNames(def).forEach(name -> queue.add(this.beans.get(name)));
+            }
         }
+        return eagerBeanNames;
+    }
 
-        if (accessibleObject instanceof Method m) {
-            checkModifier(m);
-            if (m.getParameters().length != 1) {
-                throw new BeanDefinitionException(
-                        String.format("Cannot inject a non-setter method %s for bean '%s'",
-                                m.getName(), beanClass.getName()));
+    private List<String> getDependencyNames(BeanDefinition def) {
+        List<String> names = new ArrayList<>(resolveDependencies(def));
+        if (def.getFactoryName() != null) {
+            names.add(def.getFactoryName());
+        }
+        for (InjectionPlan.InjectionPoint point : InjectionPlan.forClass(def.getBeanClass()).getPoints()) {
+            if (point.autowired() != null && !point.lazy()) {
+                String qualifier = point.autowired().qualifier();
+                BeanDefinition dependDef = qualifier.isEmpty()
+                        ? findBeanDefinition(point.type()) : findBeanDefinition(qualifier, point.type());
+                if (dependDef != null) {
+                    names.add(dependDef.getName());
+                }
             }
-
-            m.setAccessible(true);
-            method = m;
         }
+        return names;
+    }
 
-        String accessibleName = field != null ? field.getName() : method.getName();
-        Class<?> accessibleType = field != null ? field.getType() : method.getParameterTypes()[0];
+    private Object getBeanInstance(BeanDefinition def) {
+        // lazy beans are never in the frozen table, once initialized they need neither a lock nor an event:
+        if (def.isInitialized()) {
+            return def.getRequiredInstance();
+        }
+        if (!BEAN_LOOKUP_EVENT.isEnabled()) {
+            return getBeanInstance0(def);
+        }
+        BeanLookupEvent event = new BeanLookupEvent();
+        event.begin();
+        try {
+            return getBeanInstance0(def);
+        } finally {
+            event.commit(def.getName(), def.getBeanClass(), this.phase);
+        }
+    }
 
-        if (value != null) {
-            Object propValue = this.propertyResolver.getProperty(value.value(), accessibleType);
-            if (field != null) {
-                field.set(instance, propValue);
+    private Object getBeanInstance0(BeanDefinition def) {
+        if (isLazy(def) && !def.isInitialized()) {
+            if (!def.getLock().isHeldByCurrentThread()) {
+                return createLazyBean(def);
             }
-            if (method != null) {
-                method.invoke(instance, propValue);
+            if (def.getInstance() == null) {
+                // a factory bean of the closure which is being created by the current thread:
+                return createBeanAsEarlySingleton(def);
             }
         }
+        return def.getRequiredInstance();
+    }
 
-        if (autowired != null) {
-            boolean required = autowired.required();
-            String qualifier = autowired.qualifier();
-            Object dependBean = qualifier.isEmpty() ? findBean(accessibleType) : findBean(qualifier, accessibleType);
-
-            if (required && dependBean == null) {
-                throw new UnsatisfiedDependencyException(
-                        String.format("Dependency bean not found when inject %s.%s for bean '%s'",
-                                beanClass.getSimpleName(), accessibleName,
-                                beanClass.getName()));
+    private Object createLazyBean(BeanDefinition def) {
+        while (true) {
+            List<BeanDefinition> closure = collectLazyClosure(def);
+            if (closure.isEmpty()) {
+                return def.getRequiredInstance();
             }
-
-            if (dependBean != null) {
-                if (field != null) {
-                    field.set(instance, dependBean);
+            // lock the closure in bean order, so that concurrent first accesses cannot deadlock:
+            closure.forEach(d -> d.getLock().lock());
+            try {
+                List<BeanDefinition> pending = collectLazyClosure(def);
+                if (closure.containsAll(pending)) {
+                    for (BeanDefinition d : pending) {
+                        if (d.getInstance() == null) {
+                            createBeanAsEarlySingleton(d);
+                        }
+                    }
+                    pending.forEach(d -> injectBean(d));
+                    initBeans(pending, Runnable::run);
+                    pending.forEach(BeanDefinition::setInitialized);
+                    return def.getRequiredInstance();
                 }
-                if (method != null) {
-                    method.invoke(instance, dependBean);
+            } finally {
+                for (int i = closure.size() - 1; i >= 0; i--) {
+                    closure.get(i).getLock().unlock();
                 }
             }
         }
     }
-    private void checkModifier(Member m) {
-        int mod = m.getModifiers();
-        if (Modifier.isStatic(mod)) {
-            throw new BeanDefinitionException("Cannot inject static field: " + m);
-        }
-        if (Modifier.isFinal(mod)) {
-            if (m instanceof Field field) {
-                throw new BeanDefinitionException("Cannot inject final field: " + field);
+
+    private List<BeanDefinition> collectLazyClosure(BeanDefinition def) {
+        Set<BeanDefinition> closure = new TreeSet<>();
+        Deque<BeanDefinition> queue = new ArrayDeque<>(List.of(def));
+        while (!queue.isEmpty()) {
+            BeanDefinition d = queue.poll();
+            if (isLazy(d) && !d.isInitialized() && closure.add(d)) {
+                getDependencyNames(d).forEach(name -> queue.add(this.beans.get(name)));
             }
         }
+        return new ArrayList<>(closure);
     }
-    private void initBean(BeanDefinition beanDefinition) {
-        callMethod(beanDefinition.getInstance(), beanDefinition.getInitMethod(), beanDefinition.getInitMethodName());
-    }
-    private void callMethod(Object beanInstance, Method method, String methodName) {
-        if (method != null) {
+
+    private Object createLazyHandle(Class<?> type, BeanDefinition def) {
+        Supplier<Object> supplier = () -> getBeanInstance(def);
+        if (type == Supplier.class) {
+            return supplier;
+        }
+        if (!type.isInterface()) {
+            throw new BeanCreationException(String.format("Cannot inject lazy bean '%s' as %s, use an interface or Supplier.",
+                    def.getName(), type.getName()));
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Lazy proxy of bean '" + def.getName() + "'";
+                };
+            }
             try {
-                method.invoke(beanInstance);
-            } catch (ReflectiveOperationException e) {
-                throw new BeanCreationException(e);
+                return method.invoke(supplier.get(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
             }
-        } else if (methodName != null) {
-            Method initMethod = ClassUtils.getMethodByName(beanInstance.getClass(), methodName);
-            initMethod.setAccessible(true);
+        });
+    }
+
+    private void recordInjection(BeanDefinition def, BeanDefinition dependDef) {
+        if (def != dependDef) {
+            this.injectedBeanNames.computeIfAbsent(def.getName(), k -> ConcurrentHashMap.newKeySet()).add(dependDef.getName());
+        }
+    }
+
+    private CompletableFuture<?> initBean(BeanDefinition beanDefinition) {
+        StartupRecorder recorder = this.startupRecorder;
+        Object result;
+        if (recorder == null) {
+            result = callMethod(beanDefinition, true);
+        } else {
+            recorder.beginStep();
             try {
-                initMethod.invoke(beanInstance);
-            } catch (ReflectiveOperationException e) {
-                throw new BeanCreationException(e);
+                result = callMethod(beanDefinition, true);
+            } finally {
+                boolean hasInitMethod = beanDefinition.getInitMethod() != null || beanDefinition.getInitMethodName() != null;
+                recorder.endStep(beanDefinition, StartupRecorder.Step.INIT, hasInitMethod ? 1 : 0);
             }
         }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.toCompletableFuture().exceptionallyCompose(e -> CompletableFuture.failedFuture(
+                    new BeanCreationException(String.format("Exception when init bean '%s': %s",
+                            beanDefinition.getName(), beanDefinition.getBeanClass().getName()),
+                            e instanceof CompletionException ? e.getCause() : e)));
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Nullable
+    private Object callMethod(BeanDefinition beanDefinition, boolean init) {
+        BeanInstantiator instantiator = beanDefinition.getInstantiator();
+        Object instance = beanDefinition.getRequiredInstance();
+        ContainerEvent event = init ? new BeanInitEvent() : new BeanDestroyEvent();
+        event.begin();
+        try {
+            return init ? instantiator.invokeInit(instance) : instantiator.invokeDestroy(instance);
+        } catch (BeanDefinitionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BeanCreationException(e);
+        } finally {
+            event.commit(beanDefinition.getName(), beanDefinition.getBeanClass(), this.phase);
+        }
+    }
+
+    private ClassLoader getContextClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = getClass().getClassLoader();
+        }
+        return classLoader;
+    }
+
+    private record PropertyBinding(BeanDefinition def, InjectionPlan.InjectionPoint point) {
     }
 }
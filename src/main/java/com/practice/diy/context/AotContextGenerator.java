@@ -0,0 +1,443 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.ConfigurationProperties;
+import com.practice.diy.annotation.Value;
+import com.practice.diy.exception.BeanCreationException;
+import com.practice.diy.exception.BeanDefinitionException;
+import com.practice.diy.exception.UnsatisfiedDependencyException;
+import com.practice.diy.io.Converter;
+import com.practice.diy.io.PropertyResolver;
+import com.practice.diy.utils.ClassUtils;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class AotContextGenerator {
+    private static final String HELPER_SUFFIX = "__DiyBeans";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final PropertyResolver propertyResolver;
+    private final Class<?> configClass;
+    private final String rootPackage;
+
+    private final Map<String, StringBuilder> helpers = new TreeMap<>();
+    private final Map<String, Set<String>> injectedBeanNames = new HashMap<>();
+    private AnnotationConfigApplicationContext context;
+
+    public AotContextGenerator(PropertyResolver propertyResolver, Class<?> configClass) {
+        this.propertyResolver = propertyResolver;
+        this.configClass = configClass;
+        this.rootPackage = configClass.getPackageName();
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        if (args.length != 2) {
+            System.err.println("Usage: AotContextGenerator <config class> <output directory>");
+            System.exit(1);
+        }
+        Class<?> configClass = Class.forName(args[0], false, Thread.currentThread().getContextClassLoader());
+        new AotContextGenerator(new PropertyResolver(System.getProperties()), configClass).generate(Path.of(args[1]));
+    }
+
+    public List<Path> generate(Path outputDirectory) throws IOException {
+        this.context = new AnnotationConfigApplicationContext(this.propertyResolver, this.configClass, false);
+        this.helpers.clear();
+        this.injectedBeanNames.clear();
+        Collection<BeanDefinition> definitions = this.context.getBeanDefinitions();
+
+        List<BeanDefinition> creationOrder = new BeanDependencyGraph(definitions, def -> {
+            List<String> dependencies = new ArrayList<>(this.context.resolveDependencies(def));
+            if (def.getFactoryName() != null) {
+                dependencies.add(def.getFactoryName());
+            }
+            return dependencies;
+        }).topologicalOrder();
+        creationOrder = convertersFirst(creationOrder);
+        Set<String> converterNames = this.context.findBeanDefinitions(Converter.class).stream()
+                .map(BeanDefinition::getName).collect(Collectors.toSet());
+
+        Map<String, Integer> ids = new HashMap<>();
+        StringBuilder create = new StringBuilder();
+        StringBuilder inject = new StringBuilder();
+        for (BeanDefinition def : creationOrder) {
+            ids.put(def.getName(), ids.size());
+        }
+        for (BeanDefinition def : creationOrder) {
+            create.append("        ").append(generateCreate(def, ids.get(def.getName()))).append(";\n");
+            if (converterNames.contains(def.getName())) {
+                create.append("        context.registerConverter(").append(literal(def.getName())).append(");\n");
+            }
+        }
+        for (BeanDefinition def : creationOrder) {
+            for (String call : generateInject(def, ids.get(def.getName()))) {
+                inject.append("        ").append(call).append(";\n");
+            }
+        }
+
+        List<BeanDefinition> initOrder = new BeanDependencyGraph(definitions,
+                def -> List.copyOf(this.injectedBeanNames.getOrDefault(def.getName(), Set.of()))).topologicalOrder(true);
+        StringBuilder init = new StringBuilder();
+        StringBuilder destroy = new StringBuilder();
+        for (BeanDefinition def : initOrder) {
+            Method initMethod = findLifecycleMethod(def, def.getInitMethod(), def.getInitMethodName());
+            if (initMethod != null) {
+                Set<String> awaited = new TreeSet<>();
+                collectInitDependencies(def.getName(), awaited, new HashSet<>());
+                if (!awaited.isEmpty()) {
+                    init.append("        context.awaitInit(")
+                            .append(awaited.stream().map(this::literal).collect(Collectors.joining(", "))).append(");\n");
+                }
+                init.append("        context.initialized(").append(literal(def.getName())).append(", ")
+                        .append(generateLifecycleCall(def, initMethod, "init" + ids.get(def.getName()))).append(");\n");
+            }
+        }
+        for (int i = initOrder.size() - 1; i >= 0; i--) {
+            BeanDefinition def = initOrder.get(i);
+            Method destroyMethod = findLifecycleMethod(def, def.getDestroyMethod(), def.getDestroyMethodName());
+            if (destroyMethod != null) {
+                destroy.append("        ").append(generateLifecycleCall(def, destroyMethod, "destroy" + ids.get(def.getName()))).append(";\n");
+            }
+        }
+
+        List<Path> files = new ArrayList<>();
+        String initializerName = this.configClass.getSimpleName() + GeneratedApplicationContext.INITIALIZER_SUFFIX;
+        files.add(writeSource(outputDirectory, this.rootPackage, initializerName,
+                "public final class " + initializerName + " implements GeneratedContextInitializer {\n"
+                        + phase("createBeans", create) + "\n"
+                        + phase("injectBeans", inject) + "\n"
+                        + phase("initBeans", init) + "\n"
+                        + phase("destroyBeans", destroy)
+                        + "}\n"));
+        for (Map.Entry<String, StringBuilder> entry : this.helpers.entrySet()) {
+            files.add(writeSource(outputDirectory, entry.getKey(), getHelperName(),
+                    "public final class " + getHelperName() + " {\n" + entry.getValue() + "}\n"));
+        }
+        logger.info("generated context of {} beans for {} into {}.", creationOrder.size(), this.configClass.getName(), outputDirectory);
+        return files;
+    }
+
+    private List<BeanDefinition> convertersFirst(List<BeanDefinition> creationOrder) {
+        // like the reflective context, converter beans and what they depend on are created before any @Value is resolved:
+        Set<String> first = new HashSet<>();
+        Deque<BeanDefinition> queue = new ArrayDeque<>(this.context.findBeanDefinitions(Converter.class));
+        while (!queue.isEmpty()) {
+            BeanDefinition def = queue.poll();
+            if (first.add(def.getName())) {
+                this.context.resolveDependencies(def).forEach(name -> queue.add(this.context.findBeanDefinition(name)));
+                if (def.getFactoryName() != null) {
+                    queue.add(this.context.findBeanDefinition(def.getFactoryName()));
+                }
+            }
+        }
+        List<BeanDefinition> order = new ArrayList<>(creationOrder.size());
+        creationOrder.stream().filter(def -> first.contains(def.getName())).forEach(order::add);
+        creationOrder.stream().filter(def -> !first.contains(def.getName())).forEach(order::add);
+        return order;
+    }
+
+    private String generateCreate(BeanDefinition def, int id) {
+        Executable executable = def.getFactoryName() == null ? def.getConstructor() : def.getFactoryMethod();
+        boolean isConfiguration = this.context.isConfigurationDefinition(def);
+        ConfigurationProperties configurationProperties = this.context.getConfigurationProperties(def);
+        // configuration properties components are created by the binder instead of their constructor:
+        BeanInstantiator.InjectionParameter[] parameters = configurationProperties != null && def.getFactoryName() == null
+                ? new BeanInstantiator.InjectionParameter[0] : def.getInstantiator().getParameters();
+        List<Class<?>> types = new ArrayList<>(List.of(def.getBeanClass()));
+        List<String> args = new ArrayList<>();
+        for (BeanInstantiator.InjectionParameter parameter : parameters) {
+            Value value = parameter.value();
+            Autowired autowired = parameter.autowired();
+            if (isConfiguration && autowired != null) {
+                throw new BeanCreationException(
+                        String.format("Cannot specify @Autowired when create @Configuration bean '%s': %s.",
+                                def.getName(), def.getBeanClass().getName()));
+            }
+            if (value != null && autowired != null) {
+                throw new BeanCreationException(
+                        String.format("Cannot specify both @Autowired and @Value when create bean '%s': %s.",
+                                def.getName(), def.getBeanClass().getName()));
+            }
+            if (value == null && autowired == null) {
+                throw new BeanCreationException(
+                        String.format("Must specify @Autowired or @Value when create bean '%s': %s.",
+                                def.getName(), def.getBeanClass().getName()));
+            }
+            if (value != null) {
+                types.add(parameter.type());
+                args.add("propertyResolver.getRequiredProperty(" + literal(value.value()) + ", " + typeName(parameter.type()) + ".class)");
+            } else {
+                String qualifier = autowired.qualifier();
+                BeanDefinition dependDef = qualifier.isEmpty()
+                        ? this.context.findBeanDefinition(parameter.dependencyType())
+                        : this.context.findBeanDefinition(qualifier, parameter.dependencyType());
+                if (autowired.required() && dependDef == null) {
+                    throw new BeanCreationException(
+                            String.format("Missing autowired bean with type '%s' when create bean '%s': %s.",
+                                    parameter.type().getName(), def.getName(), def.getBeanClass().getName()));
+                }
+                if (dependDef != null && !parameter.lazy()) {
+                    recordInjection(def, dependDef);
+                }
+                args.add(dependDef == null ? "null" : beanReference(dependDef, parameter.type(), parameter.lazy()));
+            }
+        }
+
+        String expression;
+        String declaringType = typeName(executable.getDeclaringClass());
+        if (executable instanceof Method method) {
+            String target = Modifier.isStatic(method.getModifiers())
+                    ? declaringType : "context.<" + declaringType + ">getBean(" + literal(def.getFactoryName()) + ")";
+            expression = target + "." + method.getName() + "(" + String.join(", ", args) + ")";
+        } else if (Modifier.isPrivate(executable.getModifiers())) {
+            types.addAll(List.of(executable.getParameterTypes()));
+            expression = lookup(executable.getDeclaringClass()) + ".findConstructor(" + declaringType + ".class, "
+                    + methodType(void.class, executable.getParameterTypes()) + ").invoke(" + String.join(", ", args) + ")";
+        } else {
+            expression = "new " + declaringType + "(" + String.join(", ", args) + ")";
+        }
+
+        if (configurationProperties != null) {
+            String prefix = literal(configurationProperties.value());
+            expression = def.getFactoryName() == null
+                    ? "context.getPropertyResolver().bind(" + prefix + ", " + declaringType + ".class)"
+                    : "context.getPropertyResolver().bindInto(" + prefix + ", " + expression + ")";
+        }
+
+        boolean hasValue = Arrays.stream(parameters).anyMatch(parameter -> parameter.value() != null);
+        String body = (hasValue ? "        PropertyResolver propertyResolver = context.getPropertyResolver();\n" : "")
+                + "        context.registerBean(" + literal(def.getName()) + ", " + typeName(def.getBeanClass()) + ".class, "
+                + def.getOrder() + ", " + def.isPrimary() + ", " + expression + ");\n";
+        return addHelperMethod(packageFor(executable, types), "void", "create" + id, body);
+    }
+
+    private List<String> generateInject(BeanDefinition def, int id) {
+        Map<String, StringBuilder> bodies = new TreeMap<>();
+        for (InjectionPlan.InjectionPoint point : InjectionPlan.forClass(def.getBeanClass()).getPoints()) {
+            String value;
+            if (point.value() != null) {
+                value = "context.getPropertyResolver().getProperty(" + literal(point.value().value()) + ", " + typeName(point.type()) + ".class)";
+            } else {
+                String qualifier = point.autowired().qualifier();
+                BeanDefinition dependDef = qualifier.isEmpty()
+                        ? this.context.findBeanDefinition(point.dependencyType())
+                        : this.context.findBeanDefinition(qualifier, point.dependencyType());
+                if (dependDef == null) {
+                    if (point.autowired().required()) {
+                        throw new UnsatisfiedDependencyException(
+                                String.format("Dependency bean not found when inject %s.%s for bean '%s'",
+                                        point.declaringClass().getSimpleName(), point.name(), point.declaringClass().getName()));
+                    }
+                    continue;
+                }
+                if (!point.lazy()) {
+                    recordInjection(def, dependDef);
+                }
+                value = beanReference(dependDef, point.type(), point.lazy());
+            }
+
+            Member member = point.member();
+            String declaringType = typeName(point.declaringClass());
+            String statement;
+            if (Modifier.isPrivate(member.getModifiers())) {
+                statement = member instanceof Field
+                        ? lookup(point.declaringClass()) + ".findVarHandle(" + declaringType + ".class, " + literal(point.name())
+                                + ", " + typeName(point.type()) + ".class).set(context.getBean(" + literal(def.getName()) + "), " + value + ")"
+                        : lookup(point.declaringClass()) + ".findVirtual(" + declaringType + ".class, " + literal(point.name()) + ", "
+                                + methodType(((Method) member).getReturnType(), point.type()) + ").invoke(context.getBean("
+                                + literal(def.getName()) + "), " + value + ")";
+            } else {
+                String bean = "context.<" + declaringType + ">getBean(" + literal(def.getName()) + ")";
+                statement = member instanceof Field
+                        ? bean + "." + point.name() + " = " + value
+                        : bean + "." + point.name() + "(" + value + ")";
+            }
+            List<Class<?>> types = new ArrayList<>(List.of(point.type()));
+            if (member instanceof Method method) {
+                types.add(method.getReturnType());
+            }
+            bodies.computeIfAbsent(packageFor(member, types), k -> new StringBuilder())
+                    .append("        ").append(statement).append(";\n");
+        }
+
+        List<String> calls = new ArrayList<>();
+        for (Map.Entry<String, StringBuilder> entry : bodies.entrySet()) {
+            calls.add(addHelperMethod(entry.getKey(), "void", "inject" + id, entry.getValue().toString()));
+        }
+        return calls;
+    }
+
+    private String generateLifecycleCall(BeanDefinition def, Method method, String methodName) {
+        String declaringType = typeName(method.getDeclaringClass());
+        String body;
+        if (Modifier.isPrivate(method.getModifiers())) {
+            body = "        return " + lookup(method.getDeclaringClass()) + ".findVirtual(" + declaringType + ".class, "
+                    + literal(method.getName()) + ", " + methodType(method.getReturnType()) + ").invoke(context.getBean("
+                    + literal(def.getName()) + "));\n";
+        } else {
+            String call = "context.<" + declaringType + ">getBean(" + literal(def.getName()) + ")." + method.getName() + "()";
+            body = method.getReturnType() == void.class
+                    ? "        " + call + ";\n        return null;\n"
+                    : "        return " + call + ";\n";
+        }
+        return addHelperMethod(packageFor(method, List.of(method.getReturnType())), "Object", methodName, body);
+    }
+
+    @Nullable
+    private Method findLifecycleMethod(BeanDefinition def, @Nullable Method method, @Nullable String methodName) {
+        if (method == null && methodName != null) {
+            return ClassUtils.getMethodByName(def.getBeanClass(), methodName);
+        }
+        return method;
+    }
+
+    private String beanReference(BeanDefinition dependDef, Class<?> type, boolean lazy) {
+        // generated contexts create every bean eagerly, so only Supplier injection points need a deferred handle:
+        if (lazy && type == Supplier.class) {
+            return "(java.util.function.Supplier<Object>) () -> context.getBean(" + literal(dependDef.getName()) + ")";
+        }
+        return "context.getBean(" + literal(dependDef.getName()) + ")";
+    }
+
+    private void recordInjection(BeanDefinition def, BeanDefinition dependDef) {
+        if (def != dependDef) {
+            this.injectedBeanNames.computeIfAbsent(def.getName(), k -> new TreeSet<>()).add(dependDef.getName());
+        }
+    }
+
+    private void collectInitDependencies(String beanName, Set<String> awaited, Set<String> visited) {
+        for (String dependency : this.injectedBeanNames.getOrDefault(beanName, Set.of())) {
+            if (!visited.add(dependency)) {
+                continue;
+            }
+            BeanDefinition def = this.context.findBeanDefinition(dependency);
+            if (def.getInitMethod() != null || def.getInitMethodName() != null) {
+                awaited.add(dependency);
+            } else {
+                collectInitDependencies(dependency, awaited, visited);
+            }
+        }
+    }
+
+    private String packageFor(Member member, List<Class<?>> types) {
+        Set<String> packages = new TreeSet<>();
+        int mod = member.getModifiers();
+        if (!Modifier.isPublic(mod) && !Modifier.isPrivate(mod)) {
+            packages.add(member.getDeclaringClass().getPackageName());
+        }
+        addTypePackages(packages, member.getDeclaringClass());
+        for (Class<?> type : types) {
+            addTypePackages(packages, type);
+        }
+        if (packages.isEmpty()) {
+            return this.rootPackage;
+        }
+        String pkg = packages.iterator().next();
+        if (packages.size() > 1 || pkg.startsWith("java.")) {
+            throw new BeanDefinitionException("Cannot generate code accessing " + member + " from packages " + packages + ".");
+        }
+        return pkg;
+    }
+
+    private void addTypePackages(Set<String> packages, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        for (Class<?> c = type; c != null && !c.isPrimitive(); c = c.getDeclaringClass()) {
+            if (Modifier.isPrivate(c.getModifiers())) {
+                throw new BeanDefinitionException("Cannot generate code accessing private class " + c.getName() + ".");
+            }
+            if (!Modifier.isPublic(c.getModifiers())) {
+                packages.add(c.getPackageName());
+            }
+        }
+    }
+
+    private String addHelperMethod(String pkg, String returnType, String methodName, String body) {
+        this.helpers.computeIfAbsent(pkg, k -> new StringBuilder())
+                .append("    public static ").append(returnType).append(' ').append(methodName)
+                .append("(GeneratedApplicationContext context) throws Throwable {\n")
+                .append(body)
+                .append("    }\n\n");
+        String helperName = pkg.isEmpty() ? getHelperName() : pkg + "." + getHelperName();
+        return helperName + "." + methodName + "(context)";
+    }
+
+    private String getHelperName() {
+        return this.configClass.getSimpleName() + HELPER_SUFFIX;
+    }
+
+    private String phase(String methodName, StringBuilder body) {
+        return "    @Override\n"
+                + "    public void " + methodName + "(GeneratedApplicationContext context) throws Throwable {\n"
+                + body
+                + "    }\n";
+    }
+
+    private Path writeSource(Path outputDirectory, String pkg, String className, String body) throws IOException {
+        Path dir = pkg.isEmpty() ? outputDirectory : outputDirectory.resolve(pkg.replace('.', '/'));
+        Files.createDirectories(dir);
+        Path file = dir.resolve(className + ".java");
+        String source = "// Generated by " + getClass().getSimpleName() + " from " + this.configClass.getName() + ", do not edit.\n"
+                + (pkg.isEmpty() ? "" : "package " + pkg + ";\n\n")
+                + "import com.practice.diy.context.GeneratedApplicationContext;\n"
+                + "import com.practice.diy.context.GeneratedContextInitializer;\n"
+                + "import com.practice.diy.io.PropertyResolver;\n\n"
+                + "import java.lang.invoke.MethodHandles;\n"
+                + "import java.lang.invoke.MethodType;\n\n"
+                + "@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n"
+                + body;
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private String lookup(Class<?> type) {
+        return "MethodHandles.privateLookupIn(" + typeName(type) + ".class, MethodHandles.lookup())";
+    }
+
+    private String methodType(Class<?> returnType, Class<?>... parameterTypes) {
+        StringBuilder sb = new StringBuilder("MethodType.methodType(").append(typeName(returnType)).append(".class");
+        for (Class<?> parameterType : parameterTypes) {
+            sb.append(", ").append(typeName(parameterType)).append(".class");
+        }
+        return sb.append(')').toString();
+    }
+
+    private String typeName(Class<?> type) {
+        String name = type.getCanonicalName();
+        if (name == null) {
+            throw new BeanDefinitionException("Cannot generate code for local or anonymous class " + type.getName() + ".");
+        }
+        return name;
+    }
+
+    private String literal(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
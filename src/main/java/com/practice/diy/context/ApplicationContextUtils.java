@@ -6,7 +6,7 @@ import jakarta.annotation.Nullable;
 import java.util.Objects;
 
 public class ApplicationContextUtils {
-    private static ApplicationContext applicationContext = null;
+    private static volatile ApplicationContext applicationContext = null;
 
     @Nonnull
     public static ApplicationContext getRequiredApplicationContext() {
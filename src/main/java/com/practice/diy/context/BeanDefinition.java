@@ -5,12 +5,14 @@ import jakarta.annotation.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class BeanDefinition implements Comparable<BeanDefinition>{
     private final String name;
     private final Class<?> beanClass;
-    private Object instance = null;
+    private volatile Object instance = null;
     private final Constructor<?> constructor;
     private final String factoryName;
     private final Method factoryMethod;
@@ -23,6 +25,15 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
     private Method initMethod;
     private Method destroyMethod;
 
+    @Nullable
+    private List<String> dependsOn;
+    private Boolean lazy;
+
+    private volatile boolean initialized;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BeanInstantiator instantiator;
+
     public BeanDefinition(String name, Class<?> beanClass, Constructor<?> constructor, int order, boolean primary,
                           String initMethodName, String destroyMethodName, Method initMethod, Method destroyMethod) {
         this.name = name;
@@ -36,6 +47,16 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         setInitAndDestroyMethod(initMethodName, destroyMethodName, initMethod, destroyMethod);
     }
 
+    public BeanDefinition(String name, Class<?> beanClass, int order, boolean primary) {
+        this.name = name;
+        this.beanClass = beanClass;
+        this.constructor = null;
+        this.factoryName = null;
+        this.factoryMethod = null;
+        this.order = order;
+        this.primary = primary;
+    }
+
     public BeanDefinition(String name, Class<?> beanClass, String factoryName, Method factoryMethod,
                           int order, boolean primary,
                           String initMethodName, String destroyMethodName, Method initMethod, Method destroyMethod) {
@@ -111,6 +132,51 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         return this.destroyMethodName;
     }
 
+    public int getOrder() {
+        return this.order;
+    }
+
+    public List<String> getDependsOn() {
+        return this.dependsOn == null ? List.of() : this.dependsOn;
+    }
+
+    boolean isDependsOnResolved() {
+        return this.dependsOn != null;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = Objects.requireNonNull(dependsOn, "dependsOn is null");
+    }
+
+    BeanInstantiator getInstantiator() {
+        BeanInstantiator instantiator = this.instantiator;
+        if (instantiator == null) {
+            instantiator = this.instantiator = new BeanInstantiator(this);
+        }
+        return instantiator;
+    }
+
+    @Nullable
+    public Boolean getLazy() {
+        return this.lazy;
+    }
+
+    public void setLazy(@Nullable Boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    boolean isInitialized() {
+        return this.initialized;
+    }
+
+    void setInitialized() {
+        this.initialized = true;
+    }
+
+    ReentrantLock getLock() {
+        return this.lock;
+    }
+
     public boolean isPrimary() {
         return this.primary;
     }
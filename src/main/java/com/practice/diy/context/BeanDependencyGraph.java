@@ -0,0 +1,92 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.UnsatisfiedDependencyException;
+
+import java.util.*;
+import java.util.function.Function;
+
+class BeanDependencyGraph {
+    private final Map<String, BeanDefinition> definitions;
+    private final Map<String, List<String>> dependencies;
+
+    BeanDependencyGraph(Collection<BeanDefinition> definitions, Function<BeanDefinition, List<String>> dependencyResolver) {
+        this.definitions = new HashMap<>();
+        this.dependencies = new HashMap<>();
+        for (BeanDefinition def : definitions) {
+            this.definitions.put(def.getName(), def);
+        }
+        for (BeanDefinition def : definitions) {
+            List<String> names = new ArrayList<>();
+            for (String name : dependencyResolver.apply(def)) {
+                if (this.definitions.containsKey(name) && !names.contains(name)) {
+                    names.add(name);
+                }
+            }
+            this.dependencies.put(def.getName(), names);
+        }
+    }
+
+    List<String> getDependencies(String beanName) {
+        return this.dependencies.getOrDefault(beanName, List.of());
+    }
+
+    List<BeanDefinition> topologicalOrder() {
+        return topologicalOrder(false);
+    }
+
+    List<BeanDefinition> topologicalOrder(boolean breakCycles) {
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<BeanDefinition>> dependents = new HashMap<>();
+        PriorityQueue<BeanDefinition> ready = new PriorityQueue<>();
+        for (BeanDefinition def : this.definitions.values()) {
+            List<String> deps = getDependencies(def.getName());
+            pending.put(def.getName(), deps.size());
+            for (String dep : deps) {
+                dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(def);
+            }
+            if (deps.isEmpty()) {
+                ready.add(def);
+            }
+        }
+
+        List<BeanDefinition> order = new ArrayList<>(this.definitions.size());
+        while (order.size() < this.definitions.size()) {
+            if (ready.isEmpty()) {
+                if (!breakCycles) {
+                    throw new UnsatisfiedDependencyException(
+                            String.format("Circular dependency detected when create bean '%s'", findCycleMember(pending)));
+                }
+                // release the first bean of a cycle, ignoring its unresolved dependencies:
+                BeanDefinition first = this.definitions.get(findCycleMember(pending));
+                pending.put(first.getName(), 0);
+                ready.add(first);
+            }
+            BeanDefinition def = ready.poll();
+            order.add(def);
+            for (BeanDefinition dependent : dependents.getOrDefault(def.getName(), List.of())) {
+                if (pending.get(dependent.getName()) > 0 && pending.merge(dependent.getName(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private String findCycleMember(Map<String, Integer> pending) {
+        // every unresolved bean has at least one unresolved dependency, so walking them must revisit a bean
+        String name = this.definitions.values().stream()
+                .filter(def -> pending.get(def.getName()) > 0)
+                .sorted()
+                .findFirst()
+                .orElseThrow()
+                .getName();
+        Set<String> visited = new HashSet<>();
+        while (visited.add(name)) {
+            name = getDependencies(name).stream()
+                    .filter(dep -> pending.get(dep) > 0)
+                    .findFirst()
+                    .orElseThrow();
+        }
+        return name;
+    }
+}
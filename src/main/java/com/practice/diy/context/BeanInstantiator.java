@@ -0,0 +1,130 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Lazy;
+import com.practice.diy.annotation.Value;
+import com.practice.diy.exception.BeanDefinitionException;
+import com.practice.diy.utils.ClassUtils;
+import jakarta.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+
+class BeanInstantiator {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType LIFECYCLE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final BeanDefinition definition;
+    private final InjectionParameter[] parameters;
+    private final MethodHandle creator;
+
+    private volatile LifecycleHandle initHandle;
+    private volatile LifecycleHandle destroyHandle;
+
+    BeanInstantiator(BeanDefinition definition) {
+        this.definition = definition;
+        Executable executable = definition.getFactoryName() == null ? definition.getConstructor() : definition.getFactoryMethod();
+        Parameter[] params = executable.getParameters();
+        Annotation[][] parameterAnnotations = executable.getParameterAnnotations();
+        this.parameters = new InjectionParameter[params.length];
+        for (int i = 0; i < params.length; i++) {
+            Lazy lazy = ClassUtils.getAnnotation(parameterAnnotations[i], Lazy.class);
+            this.parameters[i] = new InjectionParameter(params[i].getType(), params[i].getParameterizedType(),
+                    ClassUtils.getAnnotation(parameterAnnotations[i], Value.class),
+                    ClassUtils.getAnnotation(parameterAnnotations[i], Autowired.class),
+                    lazy != null && lazy.value());
+        }
+
+        try {
+            MethodHandle handle;
+            if (executable instanceof Method method) {
+                handle = LOOKUP.unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+            } else {
+                handle = LOOKUP.unreflectConstructor((Constructor<?>) executable);
+            }
+            this.creator = handle.asType(handle.type().generic()).asSpreader(Object[].class, params.length);
+        } catch (IllegalAccessException e) {
+            throw new BeanDefinitionException("Cannot access " + executable + " of bean '" + definition.getName() + "'.", e);
+        }
+    }
+
+    InjectionParameter[] getParameters() {
+        return this.parameters;
+    }
+
+    Object instantiate(@Nullable Object factoryInstance, Object[] args) throws Exception {
+        try {
+            if (this.definition.getFactoryName() == null) {
+                return (Object) this.creator.invokeExact(args);
+            }
+            return (Object) this.creator.invokeExact(factoryInstance, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    @Nullable
+    Object invokeInit(Object instance) throws Exception {
+        LifecycleHandle handle = this.initHandle;
+        if (handle == null || handle.instanceClass() != instance.getClass()) {
+            handle = this.initHandle = LifecycleHandle.of(
+                    instance.getClass(), this.definition.getInitMethod(), this.definition.getInitMethodName());
+        }
+        return handle.invoke(instance);
+    }
+
+    @Nullable
+    Object invokeDestroy(Object instance) throws Exception {
+        LifecycleHandle handle = this.destroyHandle;
+        if (handle == null || handle.instanceClass() != instance.getClass()) {
+            handle = this.destroyHandle = LifecycleHandle.of(
+                    instance.getClass(), this.definition.getDestroyMethod(), this.definition.getDestroyMethodName());
+        }
+        return handle.invoke(instance);
+    }
+
+    record InjectionParameter(Class<?> type, Type genericType, @Nullable Value value, @Nullable Autowired autowired, boolean lazy) {
+        Class<?> dependencyType() {
+            return InjectionPlan.getDependencyType(this.type, this.genericType, this.lazy);
+        }
+    }
+
+    private record LifecycleHandle(Class<?> instanceClass, @Nullable MethodHandle handle) {
+        static LifecycleHandle of(Class<?> instanceClass, @Nullable Method method, @Nullable String methodName) {
+            if (method == null && methodName != null) {
+                method = ClassUtils.getMethodByName(instanceClass, methodName);
+                method.setAccessible(true);
+            }
+            if (method == null) {
+                return new LifecycleHandle(instanceClass, null);
+            }
+            try {
+                return new LifecycleHandle(instanceClass, LOOKUP.unreflect(method).asType(LIFECYCLE_TYPE));
+            } catch (IllegalAccessException e) {
+                throw new BeanDefinitionException("Cannot access method " + method + ".", e);
+            }
+        }
+
+        @Nullable
+        Object invoke(Object instance) throws Exception {
+            if (this.handle == null) {
+                return null;
+            }
+            try {
+                return (Object) this.handle.invokeExact(instance);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.NoUniqueBeanDefinitionException;
+import jakarta.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+class BeanTypeIndex {
+    private final Map<Class<?>, Entry> entries;
+
+    BeanTypeIndex(Collection<BeanDefinition> definitions) {
+        Map<Class<?>, List<BeanDefinition>> grouped = new HashMap<>();
+        Map<Class<?>, Set<Class<?>>> superTypesCache = new HashMap<>();
+        for (BeanDefinition def : definitions) {
+            Set<Class<?>> superTypes = superTypesCache.computeIfAbsent(def.getBeanClass(), BeanTypeIndex::getSuperTypes);
+            for (Class<?> type : superTypes) {
+                grouped.computeIfAbsent(type, k -> new ArrayList<>()).add(def);
+            }
+        }
+
+        Map<Class<?>, Entry> entries = new HashMap<>(grouped.size() * 4 / 3 + 1);
+        grouped.forEach((type, defs) -> entries.put(type, createEntry(type, defs)));
+        this.entries = entries;
+    }
+
+    List<BeanDefinition> findBeanDefinitions(Class<?> requiredType) {
+        Entry entry = this.entries.get(requiredType);
+        return entry == null ? List.of() : entry.definitions();
+    }
+
+    @Nullable
+    BeanDefinition findBeanDefinition(Class<?> requiredType) {
+        Entry entry = this.entries.get(requiredType);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.error() != null) {
+            throw new NoUniqueBeanDefinitionException(entry.error());
+        }
+        return entry.unique();
+    }
+
+    void forEach(BiConsumer<Class<?>, Entry> action) {
+        this.entries.forEach(action);
+    }
+
+    private static Entry createEntry(Class<?> type, List<BeanDefinition> defs) {
+        BeanDefinition[] sorted = defs.toArray(BeanDefinition[]::new);
+        Arrays.sort(sorted);
+        List<BeanDefinition> definitions = List.of(sorted);
+        if (sorted.length == 1) {
+            return new Entry(definitions, sorted[0], null);
+        }
+
+        BeanDefinition primary = null;
+        for (BeanDefinition def : sorted) {
+            if (def.isPrimary()) {
+                if (primary != null) {
+                    return new Entry(definitions, null,
+                            String.format("Multiple bean with type '%s' found, and multiple @Primary specified.", type.getName()));
+                }
+                primary = def;
+            }
+        }
+        if (primary == null) {
+            return new Entry(definitions, null, String.format("Multiple bean with type '%s' found", type.getName()));
+        }
+        return new Entry(definitions, primary, null);
+    }
+
+    static Set<Class<?>> getSuperTypes(Class<?> clazz) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectSuperTypes(clazz, types);
+        if (!clazz.isPrimitive()) {
+            types.add(Object.class);
+        }
+        if (clazz.isArray()) {
+            types.add(Cloneable.class);
+            types.add(Serializable.class);
+            Class<?> componentType = clazz.getComponentType();
+            if (!componentType.isPrimitive()) {
+                for (Class<?> componentSuperType : getSuperTypes(componentType)) {
+                    types.add(componentSuperType.arrayType());
+                }
+            }
+        }
+        return types;
+    }
+
+    private static void collectSuperTypes(Class<?> clazz, Set<Class<?>> types) {
+        if (clazz == null || !types.add(clazz)) {
+            return;
+        }
+        collectSuperTypes(clazz.getSuperclass(), types);
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            collectSuperTypes(anInterface, types);
+        }
+    }
+
+    record Entry(List<BeanDefinition> definitions, BeanDefinition unique, String error) {
+    }
+}
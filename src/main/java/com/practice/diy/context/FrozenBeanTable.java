@@ -0,0 +1,166 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.NoUniqueBeanDefinitionException;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+final class FrozenBeanTable {
+    private final String[] names;
+    private final BeanDefinition[] definitions;
+    private final Object[] instances;
+    private final Class<?>[] types;
+    private final TypeEntry[] typeEntries;
+    private final Function<BeanDefinition, Object> resolver;
+
+    FrozenBeanTable(Collection<BeanDefinition> definitions, BeanTypeIndex typeIndex, Function<BeanDefinition, Object> resolver) {
+        this.resolver = resolver;
+        int capacity = tableSize(definitions.size());
+        this.names = new String[capacity];
+        this.definitions = new BeanDefinition[capacity];
+        this.instances = new Object[capacity];
+        for (BeanDefinition def : definitions) {
+            int i = slot(def.getName().hashCode(), capacity);
+            while (this.names[i] != null) {
+                i = (i + 1) & (capacity - 1);
+            }
+            this.names[i] = def.getName();
+            this.definitions[i] = def;
+            this.instances[i] = getInitializedInstance(def);
+        }
+
+        List<Class<?>> typeKeys = new ArrayList<>();
+        List<TypeEntry> typeValues = new ArrayList<>();
+        typeIndex.forEach((type, entry) -> {
+            typeKeys.add(type);
+            typeValues.add(createTypeEntry(entry));
+        });
+        capacity = tableSize(typeKeys.size());
+        this.types = new Class<?>[capacity];
+        this.typeEntries = new TypeEntry[capacity];
+        for (int n = 0; n < typeKeys.size(); n++) {
+            int i = slot(typeKeys.get(n).hashCode(), capacity);
+            while (this.types[i] != null) {
+                i = (i + 1) & (capacity - 1);
+            }
+            this.types[i] = typeKeys.get(n);
+            this.typeEntries[i] = typeValues.get(n);
+        }
+    }
+
+    boolean containsBean(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    @Nullable
+    BeanDefinition findBeanDefinition(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : this.definitions[i];
+    }
+
+    @Nullable
+    Object getBean(String name) {
+        int i = indexOf(name);
+        if (i < 0) {
+            return null;
+        }
+        Object instance = this.instances[i];
+        return instance != null ? instance : this.resolver.apply(this.definitions[i]);
+    }
+
+    @Nullable
+    Object getBean(Class<?> type) {
+        TypeEntry entry = findTypeEntry(type);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.error() != null) {
+            throw new NoUniqueBeanDefinitionException(entry.error());
+        }
+        return entry.instance() != null ? entry.instance() : this.resolver.apply(entry.unique());
+    }
+
+    List<Object> getBeans(Class<?> type) {
+        TypeEntry entry = findTypeEntry(type);
+        if (entry == null) {
+            return List.of();
+        }
+        if (entry.instances() != null) {
+            return entry.instances();
+        }
+        List<Object> list = new ArrayList<>(entry.definitions().size());
+        for (BeanDefinition def : entry.definitions()) {
+            list.add(this.resolver.apply(def));
+        }
+        return list;
+    }
+
+    private int indexOf(String name) {
+        String[] names = this.names;
+        int mask = names.length - 1;
+        for (int i = slot(name.hashCode(), names.length); ; i = (i + 1) & mask) {
+            String key = names[i];
+            if (key == null) {
+                return -1;
+            }
+            if (key.equals(name)) {
+                return i;
+            }
+        }
+    }
+
+    @Nullable
+    private TypeEntry findTypeEntry(Class<?> type) {
+        Class<?>[] types = this.types;
+        int mask = types.length - 1;
+        for (int i = slot(type.hashCode(), types.length); ; i = (i + 1) & mask) {
+            Class<?> key = types[i];
+            if (key == null) {
+                return null;
+            }
+            if (key == type) {
+                return this.typeEntries[i];
+            }
+        }
+    }
+
+    private static TypeEntry createTypeEntry(BeanTypeIndex.Entry entry) {
+        // instances are only captured when every candidate is complete, lazy beans resolve on each call:
+        Object[] instances = new Object[entry.definitions().size()];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = getInitializedInstance(entry.definitions().get(i));
+            if (instances[i] == null) {
+                instances = null;
+                break;
+            }
+        }
+        return new TypeEntry(entry.definitions(), entry.unique(), entry.error(),
+                entry.unique() == null ? null : getInitializedInstance(entry.unique()),
+                instances == null ? null : List.of(instances));
+    }
+
+    @Nullable
+    private static Object getInitializedInstance(BeanDefinition def) {
+        return def.isInitialized() ? def.getInstance() : null;
+    }
+
+    private static int tableSize(int size) {
+        // keep the load factor at or below 0.5 so probe sequences stay short:
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int slot(int hash, int capacity) {
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+    private record TypeEntry(List<BeanDefinition> definitions, BeanDefinition unique, String error,
+                             Object instance, List<Object> instances) {
+    }
+}
@@ -0,0 +1,225 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.BeanCreationException;
+import com.practice.diy.exception.BeanDefinitionException;
+import com.practice.diy.exception.BeanNotOfRequiredTypeException;
+import com.practice.diy.exception.NoSuchBeanDefinitionException;
+import com.practice.diy.io.Converter;
+import com.practice.diy.io.PropertyResolver;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+public class GeneratedApplicationContext implements ConfigurableApplicationContext {
+    static final String INITIALIZER_SUFFIX = "__DiyContext";
+
+    private final PropertyResolver propertyResolver;
+    private final GeneratedContextInitializer initializer;
+    private final Map<String, BeanDefinition> beans = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<?>> initFutures = new HashMap<>();
+    private BeanTypeIndex beanTypeIndex = new BeanTypeIndex(List.of());
+    private volatile FrozenBeanTable frozenBeans;
+
+    public GeneratedApplicationContext(PropertyResolver propertyResolver, Class<?> configClass) {
+        this(propertyResolver, loadInitializer(configClass));
+    }
+
+    public GeneratedApplicationContext(PropertyResolver propertyResolver, GeneratedContextInitializer initializer) {
+        ApplicationContextUtils.setApplicationContext(this);
+        // converter beans of this context are registered on its own layer, not on the caller's resolver:
+        this.propertyResolver = propertyResolver.withLocalConverters();
+        this.initializer = initializer;
+        try {
+            initializer.createBeans(this);
+            this.beanTypeIndex = new BeanTypeIndex(this.beans.values());
+            initializer.injectBeans(this);
+            initializer.initBeans(this);
+            for (CompletableFuture<?> future : this.initFutures.values()) {
+                future.join();
+            }
+            this.beans.values().forEach(BeanDefinition::setInitialized);
+            this.frozenBeans = new FrozenBeanTable(this.beans.values(), this.beanTypeIndex, BeanDefinition::getRequiredInstance);
+        } catch (Throwable e) {
+            ApplicationContextUtils.setApplicationContext(null);
+            throw toRuntimeException(e);
+        }
+    }
+
+    public static String getInitializerClassName(Class<?> configClass) {
+        return configClass.getName() + INITIALIZER_SUFFIX;
+    }
+
+    private static GeneratedContextInitializer loadInitializer(Class<?> configClass) {
+        String className = getInitializerClassName(configClass);
+        try {
+            Class<?> initializerClass = Class.forName(className, true, configClass.getClassLoader());
+            return (GeneratedContextInitializer) initializerClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new BeanDefinitionException("Generated context " + className + " not found, run AotContextGenerator at build time.", e);
+        }
+    }
+
+    public PropertyResolver getPropertyResolver() {
+        return this.propertyResolver;
+    }
+
+    public void registerBean(String name, Class<?> beanClass, int order, boolean primary, Object instance) {
+        BeanDefinition def = new BeanDefinition(name, beanClass, order, primary);
+        def.setInstance(instance);
+        if (this.beans.put(name, def) != null) {
+            throw new BeanDefinitionException("Duplicate bean name: " + name);
+        }
+    }
+
+    public void registerConverter(String beanName) {
+        this.propertyResolver.addConverter(this.<Converter<?>>getBean(beanName));
+    }
+
+    public void awaitInit(String... beanNames) {
+        for (String name : beanNames) {
+            CompletableFuture<?> future = this.initFutures.get(name);
+            if (future != null) {
+                future.join();
+            }
+        }
+    }
+
+    public void initialized(String beanName, @Nullable Object result) {
+        if (result instanceof CompletionStage<?> stage) {
+            BeanDefinition def = this.beans.get(beanName);
+            this.initFutures.put(beanName, stage.toCompletableFuture().exceptionallyCompose(e -> CompletableFuture.failedFuture(
+                    new BeanCreationException(String.format("Exception when init bean '%s': %s",
+                            beanName, def.getBeanClass().getName()),
+                            e instanceof CompletionException ? e.getCause() : e))));
+        }
+    }
+
+    @Override
+    public boolean containsBean(String beanName) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        return frozenBeans != null ? frozenBeans.containsBean(beanName) : this.beans.containsKey(beanName);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getBean(String beanName) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        Object bean;
+        if (frozenBeans != null) {
+            bean = frozenBeans.getBean(beanName);
+        } else {
+            BeanDefinition definition = this.beans.get(beanName);
+            bean = definition == null ? null : definition.getRequiredInstance();
+        }
+        if (bean == null) {
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'.", beanName));
+        }
+        return (T) bean;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getBean(String beanName, Class<T> requiredType) {
+        BeanDefinition definition = findBeanDefinition(beanName, requiredType);
+        if (definition == null) {
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'.", beanName));
+        }
+        return (T) definition.getRequiredInstance();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getBean(Class<T> requiredType) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        Object bean;
+        if (frozenBeans != null) {
+            bean = frozenBeans.getBean(requiredType);
+        } else {
+            BeanDefinition definition = findBeanDefinition(requiredType);
+            bean = definition == null ? null : definition.getRequiredInstance();
+        }
+        if (bean == null) {
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'.", requiredType));
+        }
+        return (T) bean;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getBeans(Class<T> requiredType) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        if (frozenBeans != null) {
+            return (List<T>) frozenBeans.getBeans(requiredType);
+        }
+        List<T> list = new ArrayList<>();
+        for (BeanDefinition def : findBeanDefinitions(requiredType)) {
+            list.add((T) def.getRequiredInstance());
+        }
+        return list;
+    }
+
+    @Override
+    public List<BeanDefinition> findBeanDefinitions(Class<?> type) {
+        return this.beanTypeIndex.findBeanDefinitions(type);
+    }
+
+    @Nullable
+    @Override
+    public BeanDefinition findBeanDefinition(String name) {
+        FrozenBeanTable frozenBeans = this.frozenBeans;
+        return frozenBeans != null ? frozenBeans.findBeanDefinition(name) : this.beans.get(name);
+    }
+
+    @Nullable
+    @Override
+    public BeanDefinition findBeanDefinition(Class<?> type) {
+        return this.beanTypeIndex.findBeanDefinition(type);
+    }
+
+    @Nullable
+    @Override
+    public BeanDefinition findBeanDefinition(String name, Class<?> type) {
+        BeanDefinition def = findBeanDefinition(name);
+        if (def == null) {
+            return null;
+        }
+        if (!type.isAssignableFrom(def.getBeanClass())) {
+            throw new BeanNotOfRequiredTypeException(
+                    String.format("Autowire required type '%s' but bean '%s' has actual type '%s'.",
+                            type.getName(), name, def.getBeanClass().getName()));
+        }
+        return def;
+    }
+
+    @Override
+    public Object createBeanAsEarlySingleton(BeanDefinition beanDefinition) {
+        return beanDefinition.getRequiredInstance();
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.initializer.destroyBeans(this);
+        } catch (Throwable e) {
+            throw toRuntimeException(e);
+        } finally {
+            this.frozenBeans = null;
+            this.beans.clear();
+            this.beanTypeIndex = new BeanTypeIndex(List.of());
+            ApplicationContextUtils.setApplicationContext(null);
+        }
+    }
+
+    private RuntimeException toRuntimeException(Throwable e) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e instanceof RuntimeException re ? re : new BeanCreationException(e);
+    }
+}
@@ -0,0 +1,8 @@
+package com.practice.diy.context;
+
+public interface GeneratedContextInitializer {
+    void createBeans(GeneratedApplicationContext context) throws Throwable;
+    void injectBeans(GeneratedApplicationContext context) throws Throwable;
+    void initBeans(GeneratedApplicationContext context) throws Throwable;
+    void destroyBeans(GeneratedApplicationContext context) throws Throwable;
+}
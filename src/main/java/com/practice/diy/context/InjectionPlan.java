@@ -0,0 +1,126 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Lazy;
+import com.practice.diy.annotation.Value;
+import com.practice.diy.exception.BeanCreationException;
+import com.practice.diy.exception.BeanDefinitionException;
+import jakarta.annotation.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+final class InjectionPlan {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    private final InjectionPoint[] points;
+
+    private InjectionPlan(Class<?> beanClass) {
+        List<InjectionPoint> points = new ArrayList<>();
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                addInjectionPoint(points, clazz, field);
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                addInjectionPoint(points, clazz, method);
+            }
+        }
+        this.points = points.toArray(new InjectionPoint[0]);
+    }
+
+    static InjectionPlan forClass(Class<?> beanClass) {
+        return PLANS.get(beanClass);
+    }
+
+    InjectionPoint[] getPoints() {
+        return this.points;
+    }
+
+    static Class<?> getDependencyType(Class<?> type, Type genericType, boolean lazy) {
+        if (lazy && type == Supplier.class) {
+            if (genericType instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> targetType) {
+                return targetType;
+            }
+            throw new BeanDefinitionException("Cannot resolve target type of lazy injection point " + genericType + ".");
+        }
+        return type;
+    }
+
+    private static void addInjectionPoint(List<InjectionPoint> points, Class<?> beanClass, AccessibleObject accessibleObject) {
+        Value value = accessibleObject.getAnnotation(Value.class);
+        Autowired autowired = accessibleObject.getAnnotation(Autowired.class);
+        if (value == null && autowired == null) {
+            return;
+        }
+        Lazy lazyAnno = accessibleObject.getAnnotation(Lazy.class);
+        boolean lazy = lazyAnno != null && lazyAnno.value();
+
+        if (value != null && autowired != null) {
+            throw new BeanCreationException(String.format("Cannot specify both @Autowired and @Value when inject %s for bean '%s'",
+                    beanClass.getSimpleName(), beanClass.getName()));
+        }
+
+        try {
+            if (accessibleObject instanceof Field field) {
+                checkModifier(field);
+                VarHandle varHandle = MethodHandles.privateLookupIn(beanClass, LOOKUP)
+                        .unreflectVarHandle(field);
+                MethodHandle writer = varHandle.toMethodHandle(VarHandle.AccessMode.SET).asType(WRITER_TYPE);
+                points.add(new InjectionPoint(beanClass, field, field.getName(), field.getType(), field.getGenericType(),
+                        value, autowired, lazy, writer));
+            } else {
+                Method method = (Method) accessibleObject;
+                checkModifier(method);
+                if (method.getParameters().length != 1) {
+                    throw new BeanDefinitionException(
+                            String.format("Cannot inject a non-setter method %s for bean '%s'",
+                                    method.getName(), beanClass.getName()));
+                }
+                method.setAccessible(true);
+                MethodHandle writer = MethodHandles.dropReturn(LOOKUP.unreflect(method)).asType(WRITER_TYPE);
+                points.add(new InjectionPoint(beanClass, method, method.getName(), method.getParameterTypes()[0],
+                        method.getGenericParameterTypes()[0], value, autowired, lazy, writer));
+            }
+        } catch (IllegalAccessException e) {
+            throw new BeanDefinitionException("Cannot access " + accessibleObject + " for bean '" + beanClass.getName() + "'.", e);
+        }
+    }
+
+    private static void checkModifier(Member m) {
+        int mod = m.getModifiers();
+        if (Modifier.isStatic(mod)) {
+            throw new BeanDefinitionException("Cannot inject static field: " + m);
+        }
+        if (Modifier.isFinal(mod)) {
+            if (m instanceof Field field) {
+                throw new BeanDefinitionException("Cannot inject final field: " + field);
+            }
+        }
+    }
+
+    record InjectionPoint(Class<?> declaringClass, Member member, String name, Class<?> type, Type genericType,
+                          @Nullable Value value, @Nullable Autowired autowired, boolean lazy, MethodHandle writer) {
+        Class<?> dependencyType() {
+            return getDependencyType(this.type, this.genericType, this.lazy);
+        }
+
+        void inject(Object instance, @Nullable Object value) throws Throwable {
+            this.writer.invokeExact(instance, value);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.practice.diy.context;
+
+import java.util.Set;
+
+public interface PropertiesChangedListener {
+    void onPropertiesChanged(Set<String> changedKeys);
+}
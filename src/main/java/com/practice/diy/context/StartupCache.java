@@ -0,0 +1,248 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Import;
+import com.practice.diy.io.ComponentIndex;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+class StartupCache {
+    private static final int MAGIC = 0x44495943;
+    private static final int VERSION = 2;
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Path file;
+    private final ClassLoader classLoader;
+
+    StartupCache(Path file, ClassLoader classLoader) {
+        this.file = file;
+        this.classLoader = classLoader;
+    }
+
+    long fingerprint(Class<?> configClass, List<String> scanPackages, boolean useComponentIndex) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, configClass.getName());
+        Import importAnno = configClass.getAnnotation(Import.class);
+        if (importAnno != null) {
+            for (Class<?> importClass : importAnno.value()) {
+                update(digest, importClass.getName());
+                // imported classes may live outside the scanned packages:
+                URL url = this.classLoader.getResource(importClass.getName().replace('.', '/') + ".class");
+                if (url != null) {
+                    updateRoot(digest, url);
+                }
+            }
+        }
+        update(digest, "index=" + useComponentIndex);
+        if (useComponentIndex) {
+            Enumeration<URL> urls = this.classLoader.getResources(ComponentIndex.COMPONENTS_RESOURCE_LOCATION);
+            while (urls.hasMoreElements()) {
+                updateRoot(digest, urls.nextElement());
+            }
+        }
+        for (String pkg : scanPackages) {
+            update(digest, pkg);
+            Enumeration<URL> urls = this.classLoader.getResources(pkg.replace(".", "/"));
+            while (urls.hasMoreElements()) {
+                updateRoot(digest, urls.nextElement());
+            }
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    @Nullable
+    Map<String, BeanDefinition> load(long fingerprint) {
+        if (!Files.isRegularFile(this.file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != fingerprint) {
+                logger.debug("startup cache {} is stale.", this.file);
+                return null;
+            }
+            int count = buffer.getInt();
+            Map<String, BeanDefinition> definitions = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                BeanDefinition def = readDefinition(buffer);
+                definitions.put(def.getName(), def);
+            }
+            logger.debug("loaded {} bean definitions from startup cache {}.", count, this.file);
+            return definitions;
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            logger.warn("ignore unreadable startup cache {}: {}", this.file, e.toString());
+            return null;
+        }
+    }
+
+    void store(long fingerprint, Collection<BeanDefinition> definitions) {
+        try {
+            Path parent = this.file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(fingerprint);
+                output.writeInt(definitions.size());
+                for (BeanDefinition def : definitions) {
+                    writeDefinition(output, def);
+                }
+            }
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("cannot write startup cache {}: {}", this.file, e.toString());
+        }
+    }
+
+    private void writeDefinition(DataOutputStream output, BeanDefinition def) throws IOException {
+        writeString(output, def.getName());
+        writeString(output, def.getBeanClass().getName());
+        writeString(output, def.getFactoryName());
+        Executable executable = def.getFactoryName() == null ? def.getConstructor() : def.getFactoryMethod();
+        writeString(output, executable.getDeclaringClass().getName());
+        writeString(output, executable instanceof Method ? executable.getName() : null);
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        output.writeShort(parameterTypes.length);
+        for (Class<?> parameterType : parameterTypes) {
+            writeString(output, parameterType.getName());
+        }
+        output.writeInt(def.getOrder());
+        output.writeBoolean(def.isPrimary());
+        output.writeByte(def.getLazy() == null ? -1 : def.getLazy() ? 1 : 0);
+        writeString(output, def.getInitMethodName());
+        writeString(output, def.getDestroyMethodName());
+        writeString(output, def.getInitMethod() == null ? null : def.getInitMethod().getName());
+        writeString(output, def.getDestroyMethod() == null ? null : def.getDestroyMethod().getName());
+        List<String> dependsOn = def.getDependsOn();
+        output.writeShort(dependsOn.size());
+        for (String name : dependsOn) {
+            writeString(output, name);
+        }
+    }
+
+    private BeanDefinition readDefinition(ByteBuffer buffer) throws ReflectiveOperationException {
+        String name = readString(buffer);
+        Class<?> beanClass = loadClass(readString(buffer));
+        String factoryName = readString(buffer);
+        Class<?> declaringClass = loadClass(readString(buffer));
+        String methodName = readString(buffer);
+        Class<?>[] parameterTypes = new Class<?>[buffer.getShort()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = loadClass(readString(buffer));
+        }
+        int order = buffer.getInt();
+        boolean primary = buffer.get() != 0;
+        byte lazy = buffer.get();
+        String initMethodName = readString(buffer);
+        String destroyMethodName = readString(buffer);
+        String initMethod = readString(buffer);
+        String destroyMethod = readString(buffer);
+        List<String> dependsOn = new ArrayList<>();
+        for (int i = buffer.getShort(); i > 0; i--) {
+            dependsOn.add(readString(buffer));
+        }
+
+        BeanDefinition def;
+        if (factoryName == null) {
+            Constructor<?> constructor = declaringClass.getDeclaredConstructor(parameterTypes);
+            def = new BeanDefinition(name, beanClass, constructor, order, primary, initMethodName, destroyMethodName,
+                    initMethod == null ? null : beanClass.getDeclaredMethod(initMethod),
+                    destroyMethod == null ? null : beanClass.getDeclaredMethod(destroyMethod));
+        } else {
+            Method factoryMethod = declaringClass.getDeclaredMethod(methodName, parameterTypes);
+            def = new BeanDefinition(name, beanClass, factoryName, factoryMethod, order, primary,
+                    initMethodName, destroyMethodName, null, null);
+        }
+        def.setDependsOn(List.copyOf(dependsOn));
+        def.setLazy(lazy < 0 ? null : lazy == 1);
+        return def;
+    }
+
+    private Class<?> loadClass(String className) throws ClassNotFoundException {
+        Class<?> primitive = PRIMITIVES.get(className);
+        return primitive != null ? primitive : Class.forName(className, false, this.classLoader);
+    }
+
+    private void updateRoot(MessageDigest digest, URL url) throws IOException {
+        try {
+            URI uri = url.toURI();
+            if ("file".equals(uri.getScheme())) {
+                Path root = Paths.get(uri);
+                try (Stream<Path> stream = Files.walk(root)) {
+                    for (Path path : stream.sorted().toList()) {
+                        updateFile(digest, path);
+                    }
+                }
+            } else if ("jar".equals(uri.getScheme())) {
+                String specificPart = uri.getRawSchemeSpecificPart();
+                int n = specificPart.indexOf("!/");
+                updateFile(digest, Paths.get(new URI(n == -1 ? specificPart : specificPart.substring(0, n))));
+            } else {
+                update(digest, url.toString());
+            }
+        } catch (URISyntaxException | FileSystemNotFoundException | IllegalArgumentException e) {
+            update(digest, url.toString());
+        }
+    }
+
+    private void updateFile(MessageDigest digest, Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        update(digest, path.toString());
+        update(digest, attributes.lastModifiedTime().toMillis() + ":" + attributes.size());
+    }
+
+    private void update(MessageDigest digest, String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private void writeString(DataOutputStream output, @Nullable String s) throws IOException {
+        if (s == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    @Nullable
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.practice.diy.context;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class StartupRecorder {
+    enum Step {
+        CONSTRUCTION, INJECTION, INIT
+    }
+
+    private final long origin = System.nanoTime();
+    private volatile long finished;
+    private final List<StartupReport.PhaseTiming> phases = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, BeanRecord> beans = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    long startPhase() {
+        return System.nanoTime();
+    }
+
+    void endPhase(String name, long start) {
+        this.phases.add(new StartupReport.PhaseTiming(name, start - this.origin, System.nanoTime() - start));
+    }
+
+    void beginStep() {
+        this.frames.get().push(new Frame(System.nanoTime()));
+    }
+
+    void endStep(BeanDefinition def, Step step, int reflectiveCalls) {
+        // time spent in nested steps on the same thread (dependencies created on demand) is not exclusive:
+        Deque<Frame> stack = this.frames.get();
+        Frame frame = stack.pop();
+        long inclusive = System.nanoTime() - frame.start;
+        Frame parent = stack.peek();
+        if (parent != null) {
+            parent.nested += inclusive;
+        }
+        BeanRecord record = this.beans.computeIfAbsent(def.getName(), k -> new BeanRecord(def.getBeanClass().getName()));
+        StartupReport.StepTiming timing = new StartupReport.StepTiming(inclusive, inclusive - frame.nested, reflectiveCalls);
+        switch (step) {
+            case CONSTRUCTION -> record.construction = timing;
+            case INJECTION -> record.injection = timing;
+            case INIT -> record.init = timing;
+        }
+    }
+
+    void finish() {
+        this.finished = System.nanoTime();
+    }
+
+    StartupReport toReport() {
+        List<StartupReport.BeanTiming> beans = new ArrayList<>(this.beans.size());
+        this.beans.forEach((name, record) -> beans.add(
+                new StartupReport.BeanTiming(name, record.type, record.construction, record.injection, record.init)));
+        beans.sort(Comparator.comparing(StartupReport.BeanTiming::name));
+        List<StartupReport.PhaseTiming> phases;
+        synchronized (this.phases) {
+            phases = new ArrayList<>(this.phases);
+        }
+        long finished = this.finished;
+        return new StartupReport(finished == 0 ? System.nanoTime() - this.origin : finished - this.origin, phases, beans);
+    }
+
+    private static final class Frame {
+        final long start;
+        long nested;
+
+        Frame(long start) {
+            this.start = start;
+        }
+    }
+
+    private static final class BeanRecord {
+        final String type;
+        volatile StartupReport.StepTiming construction;
+        volatile StartupReport.StepTiming injection;
+        volatile StartupReport.StepTiming init;
+
+        BeanRecord(String type) {
+            this.type = type;
+        }
+    }
+}
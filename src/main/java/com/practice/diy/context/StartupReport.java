@@ -0,0 +1,117 @@
+package com.practice.diy.context;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class StartupReport {
+    public static final String PHASE_SCAN = "scan";
+    public static final String PHASE_DEFINITIONS = "definitions";
+    public static final String PHASE_CONFIGURATION_BEANS = "configuration-beans";
+    public static final String PHASE_NORMAL_BEANS = "normal-beans";
+    public static final String PHASE_INJECTION = "injection";
+    public static final String PHASE_INIT = "init";
+
+    private final long totalNanos;
+    private final List<PhaseTiming> phases;
+    private final List<BeanTiming> beans;
+
+    StartupReport(long totalNanos, List<PhaseTiming> phases, List<BeanTiming> beans) {
+        this.totalNanos = totalNanos;
+        this.phases = List.copyOf(phases);
+        this.beans = List.copyOf(beans);
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public List<PhaseTiming> getPhases() {
+        return this.phases;
+    }
+
+    public Optional<PhaseTiming> getPhase(String name) {
+        return this.phases.stream().filter(phase -> phase.name().equals(name)).findFirst();
+    }
+
+    public List<BeanTiming> getBeans() {
+        return this.beans;
+    }
+
+    public Optional<BeanTiming> getBean(String name) {
+        return this.beans.stream().filter(bean -> bean.name().equals(name)).findFirst();
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(256 + this.beans.size() * 256);
+        sb.append("{\"totalNanos\":").append(this.totalNanos).append(",\"phases\":[");
+        for (int i = 0; i < this.phases.size(); i++) {
+            PhaseTiming phase = this.phases.get(i);
+            sb.append(i == 0 ? "" : ",").append("{\"name\":");
+            appendString(sb, phase.name());
+            sb.append(",\"startNanos\":").append(phase.startNanos())
+                    .append(",\"durationNanos\":").append(phase.durationNanos()).append('}');
+        }
+        sb.append("],\"beans\":[");
+        for (int i = 0; i < this.beans.size(); i++) {
+            BeanTiming bean = this.beans.get(i);
+            sb.append(i == 0 ? "" : ",").append("{\"name\":");
+            appendString(sb, bean.name());
+            sb.append(",\"type\":");
+            appendString(sb, bean.type());
+            appendStep(sb, "construction", bean.construction());
+            appendStep(sb, "injection", bean.injection());
+            appendStep(sb, "init", bean.init());
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static void appendStep(StringBuilder sb, String name, @Nullable StepTiming step) {
+        if (step != null) {
+            sb.append(",\"").append(name).append("\":{\"inclusiveNanos\":").append(step.inclusiveNanos())
+                    .append(",\"exclusiveNanos\":").append(step.exclusiveNanos())
+                    .append(",\"reflectiveCalls\":").append(step.reflectiveCalls()).append('}');
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (ch < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        sb.append(ch);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    public record PhaseTiming(String name, long startNanos, long durationNanos) {
+    }
+
+    public record StepTiming(long inclusiveNanos, long exclusiveNanos, int reflectiveCalls) {
+    }
+
+    public record BeanTiming(String name, String type, @Nullable StepTiming construction,
+                             @Nullable StepTiming injection, @Nullable StepTiming init) {
+        public long getExclusiveNanos() {
+            return exclusive(this.construction) + exclusive(this.injection) + exclusive(this.init);
+        }
+
+        private static long exclusive(@Nullable StepTiming step) {
+            return step == null ? 0 : step.exclusiveNanos();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.practice.diy.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private final ClassLoader classLoader;
+    private final Map<String, Set<String>> metaAnnotations = new ConcurrentHashMap<>();
+
+    public ClassFileReader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public static ClassMetadata read(byte[] bytes) {
+        try {
+            return new Parser(ByteBuffer.wrap(bytes)).parse();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or malformed class file.", e);
+        }
+    }
+
+    public static ClassMetadata read(InputStream input) throws IOException {
+        return read(input.readAllBytes());
+    }
+
+    public boolean hasAnnotation(ClassMetadata metadata, String annotationName) {
+        for (String name : metadata.annotationNames()) {
+            if (name.equals(annotationName) || getMetaAnnotations(name).contains(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> getMetaAnnotations(String annotationName) {
+        Set<String> result = this.metaAnnotations.get(annotationName);
+        if (result == null) {
+            result = Collections.unmodifiableSet(collectMetaAnnotations(annotationName, new HashSet<>()));
+            this.metaAnnotations.putIfAbsent(annotationName, result);
+        }
+        return result;
+    }
+
+    private Set<String> collectMetaAnnotations(String annotationName, Set<String> visiting) {
+        Set<String> result = new HashSet<>();
+        if (annotationName.startsWith("java.lang.annotation.") || !visiting.add(annotationName)) {
+            return result;
+        }
+        Set<String> cached = this.metaAnnotations.get(annotationName);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream input = this.classLoader.getResourceAsStream(annotationName.replace('.', '/') + ".class")) {
+            if (input == null) {
+                return result;
+            }
+            for (String name : read(input).annotationNames()) {
+                result.add(name);
+                result.addAll(collectMetaAnnotations(name, visiting));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    private static class Parser {
+        private final ByteBuffer buffer;
+        private int[] offsets;
+        private String[] strings;
+
+        Parser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ClassMetadata parse() {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a class file.");
+            }
+            buffer.position(buffer.position() + 4);
+            readConstantPool();
+
+            int accessFlags = u2();
+            String className = classNameAt(u2());
+            int superIndex = u2();
+            String superClassName = superIndex == 0 ? null : classNameAt(superIndex);
+            skip(u2() * 2);
+            skipMembers();
+            skipMembers();
+
+            List<String> annotationNames = List.of();
+            int attributesCount = u2();
+            for (int i = 0; i < attributesCount; i++) {
+                String attributeName = utf8At(u2());
+                int length = buffer.getInt();
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    annotationNames = readAnnotationNames();
+                } else {
+                    skip(length);
+                }
+            }
+            return new ClassMetadata(className, accessFlags, superClassName, annotationNames);
+        }
+
+        private void readConstantPool() {
+            int count = u2();
+            this.offsets = new int[count];
+            this.strings = new String[count];
+            for (int i = 1; i < count; i++) {
+                int tag = buffer.get();
+                offsets[i] = buffer.position();
+                switch (tag) {
+                    case 1 -> skip(u2());
+                    case 7, 8, 16, 19, 20 -> skip(2);
+                    case 15 -> skip(3);
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> skip(4);
+                    case 5, 6 -> {
+                        skip(8);
+                        i++;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag + ".");
+                }
+            }
+        }
+
+        private void skipMembers() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(6);
+                int attributesCount = u2();
+                for (int j = 0; j < attributesCount; j++) {
+                    skip(2);
+                    skip(buffer.getInt());
+                }
+            }
+        }
+
+        private List<String> readAnnotationNames() {
+            int count = u2();
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add(descriptorToClassName(utf8At(u2())));
+                skipElementValuePairs();
+            }
+            return names;
+        }
+
+        private void skipElementValuePairs() {
+            int pairs = u2();
+            for (int i = 0; i < pairs; i++) {
+                skip(2);
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue() {
+            int tag = buffer.get();
+            switch (tag) {
+                case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(2);
+                case 'e' -> skip(4);
+                case '@' -> {
+                    skip(2);
+                    skipElementValuePairs();
+                }
+                case '[' -> {
+                    int count = u2();
+                    for (int i = 0; i < count; i++) {
+                        skipElementValue();
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown element value tag " + (char) tag + ".");
+            }
+        }
+
+        private String classNameAt(int index) {
+            return utf8At(buffer.getShort(offsets[index]) & 0xFFFF).replace('/', '.');
+        }
+
+        private String utf8At(int index) {
+            String s = strings[index];
+            if (s == null) {
+                int offset = offsets[index];
+                int length = buffer.getShort(offset) & 0xFFFF;
+                s = decodeUtf8(offset + 2, length);
+                strings[index] = s;
+            }
+            return s;
+        }
+
+        private String decodeUtf8(int offset, int length) {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(offset + i);
+                if (b < 0) {
+                    return decodeModifiedUtf8(offset, length);
+                }
+                chars[i] = (char) b;
+            }
+            return new String(chars);
+        }
+
+        private String decodeModifiedUtf8(int offset, int length) {
+            byte[] bytes = new byte[length + 2];
+            bytes[0] = (byte) (length >>> 8);
+            bytes[1] = (byte) length;
+            buffer.get(offset, bytes, 2, length);
+            try {
+                return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid modified UTF-8 constant.", e);
+            }
+        }
+
+        private String descriptorToClassName(String descriptor) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+
+        private int u2() {
+            return buffer.getShort() & 0xFFFF;
+        }
+
+        private void skip(int n) {
+            buffer.position(buffer.position() + n);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+public record ClassMetadata(String className, int accessFlags, @Nullable String superClassName, List<String> annotationNames) {
+    static final int ACC_ANNOTATION = 0x2000;
+    static final int ACC_ENUM = 0x4000;
+
+    public boolean isInterface() {
+        return (this.accessFlags & Modifier.INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (this.accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (this.accessFlags & ACC_ENUM) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (this.accessFlags & Modifier.ABSTRACT) != 0;
+    }
+
+    public boolean isRecord() {
+        return "java.lang.Record".equals(this.superClassName);
+    }
+}
@@ -0,0 +1,40 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CommandLinePropertySource implements PropertySource {
+    private final Map<String, String> options = new HashMap<>();
+
+    public CommandLinePropertySource(String... args) {
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.length() > 2) {
+                int n = arg.indexOf('=');
+                if (n == -1) {
+                    this.options.put(arg.substring(2), "true");
+                } else {
+                    this.options.put(arg.substring(2, n), arg.substring(n + 1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "commandLineArgs";
+    }
+
+    @Nullable
+    @Override
+    public String getProperty(String key) {
+        return this.options.get(key);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return this.options.keySet();
+    }
+}
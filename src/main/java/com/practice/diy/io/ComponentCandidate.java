@@ -0,0 +1,10 @@
+package com.practice.diy.io;
+
+public record ComponentCandidate(String className, String stereotype, String beanName, int order, boolean primary) {
+    public static final String STEREOTYPE_COMPONENT = "component";
+    public static final String STEREOTYPE_CONFIGURATION = "configuration";
+
+    public boolean isConfiguration() {
+        return STEREOTYPE_CONFIGURATION.equals(this.stereotype);
+    }
+}
@@ -0,0 +1,96 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class ComponentIndex {
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/diy.components";
+
+    private final NavigableMap<String, ComponentCandidate> candidates;
+    private final Set<String> roots;
+
+    ComponentIndex(NavigableMap<String, ComponentCandidate> candidates, Set<String> roots) {
+        this.candidates = candidates;
+        this.roots = roots;
+    }
+
+    @Nullable
+    public static ComponentIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            NavigableMap<String, ComponentCandidate> candidates = new TreeMap<>();
+            Set<String> roots = new HashSet<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                roots.add(getRoot(url));
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        ComponentCandidate candidate;
+                        try {
+                            candidate = parseLine(line.trim());
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException(e.getMessage() + " in " + url, e);
+                        }
+                        if (candidate != null) {
+                            candidates.put(candidate.className(), candidate);
+                        }
+                    }
+                }
+            }
+            return new ComponentIndex(candidates, roots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String formatLine(ComponentCandidate candidate) {
+        return candidate.className() + "=" + candidate.stereotype() + "," + candidate.order() + ","
+                + candidate.primary() + "," + candidate.beanName();
+    }
+
+    public Collection<ComponentCandidate> getCandidates(String basePackage) {
+        return this.candidates.subMap(basePackage + ".", true, basePackage + "/", false).values();
+    }
+
+    @Nullable
+    public ComponentCandidate getCandidate(String className) {
+        return this.candidates.get(className);
+    }
+
+    public boolean isIndexedRoot(String root) {
+        return this.roots.contains(root);
+    }
+
+    private static String getRoot(URL url) {
+        // same form as the scan roots of ResourceResolver: file:/app/classes or jar:file:/app/lib.jar!
+        String location = URLDecoder.decode(url.toString(), StandardCharsets.UTF_8);
+        String root = location.substring(0, location.length() - COMPONENTS_RESOURCE_LOCATION.length());
+        return root.endsWith("/") ? root.substring(0, root.length() - 1) : root;
+    }
+
+    @Nullable
+    public static ComponentCandidate parseLine(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return null;
+        }
+        int n = line.indexOf('=');
+        String[] fields = n == -1 ? new String[0] : line.substring(n + 1).split(",", 4);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Invalid component index entry '" + line + "'");
+        }
+        return new ComponentCandidate(line.substring(0, n), fields[0], fields[3],
+                Integer.parseInt(fields[1]), Boolean.parseBoolean(fields[2]));
+    }
+}
@@ -0,0 +1,7 @@
+package com.practice.diy.io;
+
+public interface Converter<T> {
+    Class<T> getTargetType();
+
+    T convert(String value);
+}
@@ -0,0 +1,99 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Function;
+
+final class ConverterLookup {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONVERTER_TYPE = MethodType.methodType(Object.class, String.class);
+    private static final Optional<Function<String, Object>> NONE = Optional.empty();
+
+    private static final ClassValue<Optional<Function<String, Object>>> DISCOVERED = new ClassValue<>() {
+        @Override
+        protected Optional<Function<String, Object>> computeValue(Class<?> type) {
+            MethodHandle handle = findFactory(type);
+            return handle == null ? NONE : Optional.of(new HandleConverter(type, handle));
+        }
+    };
+
+    private ConverterLookup() {
+    }
+
+    @Nullable
+    static Function<String, Object> discover(Class<?> type) {
+        return DISCOVERED.get(type).orElse(null);
+    }
+
+    static Function<String, Object> forArray(Class<?> arrayType, Function<String, Object> elementConverter) {
+        Class<?> componentType = arrayType.getComponentType();
+        return s -> {
+            String[] parts = s.isBlank() ? new String[0] : s.split(",");
+            Object array = Array.newInstance(componentType, parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                Array.set(array, i, elementConverter.apply(parts[i].trim()));
+            }
+            return array;
+        };
+    }
+
+    @Nullable
+    private static MethodHandle findFactory(Class<?> type) {
+        if (type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+        // the first match in the order valueOf(String), of(String), parse(CharSequence), parse(String), new T(String):
+        for (Method method : new Method[] { findStatic(type, "valueOf", String.class), findStatic(type, "of", String.class),
+                findStatic(type, "parse", CharSequence.class), findStatic(type, "parse", String.class) }) {
+            if (method != null) {
+                try {
+                    method.setAccessible(true);
+                    return LOOKUP.unreflect(method).asType(CONVERTER_TYPE);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // not accessible, try the next candidate
+                }
+            }
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> ctor = type.getConstructor(String.class);
+            ctor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(ctor).asType(CONVERTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method findStatic(Class<?> type, String name, Class<?> parameterType) {
+        try {
+            Method method = type.getMethod(name, parameterType);
+            return Modifier.isStatic(method.getModifiers()) && type.isAssignableFrom(method.getReturnType()) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private record HandleConverter(Class<?> type, MethodHandle handle) implements Function<String, Object> {
+        @Override
+        public Object apply(String s) {
+            try {
+                return (Object) this.handle.invokeExact(s);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Cannot convert '" + s + "' to " + this.type.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+
+public class FilePropertySource implements PropertySource {
+    private final Path file;
+    private volatile SortedPropertyMap properties;
+
+    public FilePropertySource(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + this.file;
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    @Nullable
+    @Override
+    public String getProperty(String key) {
+        return getProperties().get(key);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return getProperties().keySet();
+    }
+
+    RelaxedNameIndex getRelaxedNames() {
+        return getProperties().getRelaxedNames();
+    }
+
+    private SortedPropertyMap getProperties() {
+        SortedPropertyMap properties = this.properties;
+        if (properties == null) {
+            synchronized (this) {
+                properties = this.properties;
+                if (properties == null) {
+                    properties = read();
+                    this.properties = properties;
+                }
+            }
+        }
+        return properties;
+    }
+
+    public synchronized Set<String> reload() {
+        Map<String, String> previous = this.properties;
+        SortedPropertyMap current = read();
+        // readers keep using the previous snapshot until the new one is published:
+        this.properties = current;
+        if (previous == null) {
+            return Set.of();
+        }
+        Set<String> changedKeys = new HashSet<>();
+        previous.forEach((key, value) -> {
+            if (!value.equals(current.get(key))) {
+                changedKeys.add(key);
+            }
+        });
+        current.keySet().forEach(key -> {
+            if (!previous.containsKey(key)) {
+                changedKeys.add(key);
+            }
+        });
+        return changedKeys;
+    }
+
+    private SortedPropertyMap read() {
+        try {
+            return PropertyFileLoader.load(this.file);
+        } catch (NoSuchFileException e) {
+            return SortedPropertyMap.EMPTY;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
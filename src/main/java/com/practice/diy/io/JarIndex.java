@@ -0,0 +1,295 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+public class JarIndex implements Closeable {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long archiveOffset;
+
+    private final String[] names;
+    private final long[] localHeaderOffsets;
+    private final long[] compressedSizes;
+    private final int[] methods;
+
+    JarIndex(FileChannel channel, long offset, long length, boolean ownsChannel) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+
+        ByteBuffer end = findEndRecord(offset, length);
+        long endPosition = end.getLong(0);
+        long entryCount = end.getShort(8 + 10) & 0xFFFF;
+        long centralSize = end.getInt(8 + 12) & 0xFFFFFFFFL;
+        long centralOffset = end.getInt(8 + 16) & 0xFFFFFFFFL;
+        long centralEnd = endPosition;
+
+        if (entryCount == 0xFFFF || centralSize == 0xFFFFFFFFL || centralOffset == 0xFFFFFFFFL) {
+            ByteBuffer locator = read(endPosition - 20, 20);
+            if (locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+                long zip64EndPosition = offset + locator.getLong(8);
+                ByteBuffer zip64End = read(zip64EndPosition, 56);
+                if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+                    throw new ZipException("Invalid zip64 end of central directory record.");
+                }
+                entryCount = zip64End.getLong(32);
+                centralSize = zip64End.getLong(40);
+                centralOffset = zip64End.getLong(48);
+                centralEnd = zip64EndPosition;
+            }
+        }
+        // tolerate data prepended to the archive (e.g. launch scripts of executable jars)
+        this.archiveOffset = centralEnd - centralSize - centralOffset;
+        if (centralSize > Integer.MAX_VALUE || this.archiveOffset < offset) {
+            throw new ZipException("Invalid central directory.");
+        }
+
+        List<Entry> entries = readCentralDirectory(read(this.archiveOffset + centralOffset, (int) centralSize), entryCount);
+        entries.sort(Comparator.comparing(Entry::name));
+        int n = entries.size();
+        this.names = new String[n];
+        this.localHeaderOffsets = new long[n];
+        this.compressedSizes = new long[n];
+        this.methods = new int[n];
+        for (int i = 0; i < n; i++) {
+            Entry entry = entries.get(i);
+            this.names[i] = entry.name();
+            this.localHeaderOffsets[i] = entry.localHeaderOffset();
+            this.compressedSizes[i] = entry.compressedSize();
+            this.methods[i] = entry.method();
+        }
+    }
+
+    private JarIndex(JarIndex parent, String prefix, int from, int to) {
+        this.channel = parent.channel;
+        this.ownsChannel = false;
+        this.archiveOffset = parent.archiveOffset;
+        this.names = new String[to - from];
+        for (int i = from; i < to; i++) {
+            this.names[i - from] = parent.names[i].substring(prefix.length());
+        }
+        this.localHeaderOffsets = Arrays.copyOfRange(parent.localHeaderOffsets, from, to);
+        this.compressedSizes = Arrays.copyOfRange(parent.compressedSizes, from, to);
+        this.methods = Arrays.copyOfRange(parent.methods, from, to);
+    }
+
+    public static JarIndex open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new JarIndex(channel, 0, channel.size(), true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public JarIndex nested(String entryName) throws IOException {
+        int i = Arrays.binarySearch(this.names, entryName);
+        if (i >= 0) {
+            if (this.methods[i] != STORED) {
+                throw new ZipException("Nested jar " + entryName + " must be stored without compression.");
+            }
+            return new JarIndex(this.channel, getDataPosition(i), this.compressedSizes[i], false);
+        }
+        String prefix = entryName + "/";
+        int from = lowerBound(prefix);
+        int to = from + list(prefix).size();
+        if (from == to) {
+            throw new ZipException("Nested entry " + entryName + " not found.");
+        }
+        return new JarIndex(this, prefix, from, to);
+    }
+
+    public int size() {
+        return this.names.length;
+    }
+
+    public List<String> list(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < this.names.length && this.names[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.asList(this.names).subList(from, to);
+    }
+
+    public boolean contains(String name) {
+        return Arrays.binarySearch(this.names, name) >= 0;
+    }
+
+    @Nullable
+    public InputStream openStream(String name) throws IOException {
+        int i = Arrays.binarySearch(this.names, name);
+        if (i < 0) {
+            return null;
+        }
+        InputStream input = new RegionInputStream(getDataPosition(i), this.compressedSizes[i]);
+        return switch (this.methods[i]) {
+            case STORED -> input;
+            case DEFLATED -> new InflaterInputStream(input, new Inflater(true), 8192) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    this.inf.end();
+                }
+            };
+            default -> throw new ZipException("Unsupported compression method " + this.methods[i] + " of entry " + name);
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.ownsChannel) {
+            this.channel.close();
+        }
+    }
+
+    private long getDataPosition(int i) throws IOException {
+        long position = this.archiveOffset + this.localHeaderOffsets[i];
+        ByteBuffer header = read(position, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header of entry " + this.names[i]);
+        }
+        return position + LOCAL_HEADER_SIZE + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+    }
+
+    private int lowerBound(String prefix) {
+        int i = Arrays.binarySearch(this.names, prefix);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private ByteBuffer findEndRecord(long offset, long length) throws IOException {
+        int tailSize = (int) Math.min(length, 0xFFFF + END_HEADER_SIZE);
+        long tailPosition = offset + length - tailSize;
+        ByteBuffer tail = read(tailPosition, tailSize);
+        for (int i = tailSize - END_HEADER_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_SIGNATURE) {
+                ByteBuffer end = ByteBuffer.allocate(8 + END_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                end.putLong(tailPosition + i);
+                end.put(tail.slice(i, END_HEADER_SIZE));
+                return end;
+            }
+        }
+        throw new ZipException("End of central directory not found, not a zip file.");
+    }
+
+    private List<Entry> readCentralDirectory(ByteBuffer buffer, long entryCount) throws ZipException {
+        List<Entry> entries = new ArrayList<>((int) Math.min(entryCount, 1 << 16));
+        int position = 0;
+        while (position + 46 <= buffer.limit() && buffer.getInt(position) == CENTRAL_HEADER_SIGNATURE) {
+            int method = buffer.getShort(position + 10) & 0xFFFF;
+            long compressedSize = buffer.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+            int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+            int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = buffer.getInt(position + 42) & 0xFFFFFFFFL;
+
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(position + 46, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            int extra = position + 46 + nameLength;
+            int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = buffer.getShort(extra) & 0xFFFF;
+                int dataSize = buffer.getShort(extra + 2) & 0xFFFF;
+                if (id == 0x0001) {
+                    int field = extra + 4;
+                    if (size == 0xFFFFFFFFL) {
+                        field += 8;
+                    }
+                    if (compressedSize == 0xFFFFFFFFL) {
+                        compressedSize = buffer.getLong(field);
+                        field += 8;
+                    }
+                    if (localHeaderOffset == 0xFFFFFFFFL) {
+                        localHeaderOffset = buffer.getLong(field);
+                    }
+                }
+                extra += 4 + dataSize;
+            }
+
+            if (!name.endsWith("/")) {
+                entries.add(new Entry(name, localHeaderOffset, compressedSize, method));
+            }
+            position = extraEnd + commentLength;
+        }
+        if (position != buffer.limit()) {
+            throw new ZipException("Invalid central directory header.");
+        }
+        return entries;
+    }
+
+    private ByteBuffer read(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of zip file.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private class RegionInputStream extends InputStream {
+        private long position;
+        private long remaining;
+
+        RegionInputStream(long position, long length) {
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, this.remaining)), this.position);
+            if (n < 0) {
+                throw new EOFException("Unexpected end of zip entry.");
+            }
+            this.position += n;
+            this.remaining -= n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(this.remaining, Integer.MAX_VALUE);
+        }
+    }
+
+    private record Entry(String name, long localHeaderOffset, long compressedSize, int method) {
+    }
+}
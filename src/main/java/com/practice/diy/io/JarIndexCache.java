@@ -0,0 +1,54 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JarIndexCache implements Closeable {
+    private final Map<String, JarIndex> indexes = new ConcurrentHashMap<>();
+
+    public JarIndex getJarIndex(String jarUriBase, Path jarFile) {
+        return getJarIndex(jarUriBase, () -> JarIndex.open(jarFile));
+    }
+
+    public JarIndex getJarIndex(String jarUriBase, Loader loader) {
+        return this.indexes.computeIfAbsent(jarUriBase, key -> {
+            try {
+                return loader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Nullable
+    public JarIndex findJarIndex(String jarUriBase) {
+        return this.indexes.get(jarUriBase);
+    }
+
+    @Override
+    public void close() {
+        IOException failure = null;
+        for (JarIndex index : this.indexes.values()) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        this.indexes.clear();
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        JarIndex load() throws IOException;
+    }
+}
@@ -0,0 +1,36 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+
+public class MapPropertySource implements PropertySource {
+    private final String name;
+    private final Map<String, String> map;
+
+    public MapPropertySource(String name, Map<String, String> map) {
+        this.name = name;
+        this.map = map;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Nullable
+    @Override
+    public String getProperty(String key) {
+        return this.map.get(key);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return this.map.keySet();
+    }
+
+    Map<String, String> getMap() {
+        return this.map;
+    }
+}
@@ -0,0 +1,83 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+sealed interface PlaceholderExpression {
+    static boolean isExpression(String s) {
+        return s.contains("${");
+    }
+
+    static PlaceholderExpression compile(String s) {
+        List<PlaceholderExpression> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < s.length()) {
+            int start = s.indexOf("${", i);
+            int end = start < 0 ? -1 : findPlaceholderEnd(s, start);
+            if (end < 0) {
+                // no more (terminated) placeholders, the rest is plain text:
+                literal.append(s, i, s.length());
+                break;
+            }
+            literal.append(s, i, start);
+            if (!literal.isEmpty()) {
+                parts.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+            String inner = s.substring(start + 2, end);
+            int separator = findSeparator(inner);
+            parts.add(separator < 0
+                    ? new Reference(inner, null)
+                    : new Reference(inner.substring(0, separator), compile(inner.substring(separator + 1))));
+            i = end + 1;
+        }
+        if (!literal.isEmpty()) {
+            parts.add(new Literal(literal.toString()));
+        }
+        return switch (parts.size()) {
+            case 0 -> new Literal("");
+            case 1 -> parts.get(0);
+            default -> new Composite(List.copyOf(parts));
+        };
+    }
+
+    private static int findPlaceholderEnd(String s, int start) {
+        int depth = 0;
+        for (int i = start; i < s.length(); i++) {
+            if (s.startsWith("${", i)) {
+                depth++;
+                i++;
+            } else if (s.charAt(i) == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int findSeparator(String inner) {
+        int depth = 0;
+        for (int i = 0; i < inner.length(); i++) {
+            if (inner.startsWith("${", i)) {
+                depth++;
+                i++;
+            } else if (inner.charAt(i) == '}') {
+                depth--;
+            } else if (inner.charAt(i) == ':' && depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    record Literal(String text) implements PlaceholderExpression {
+    }
+
+    record Reference(String key, @Nullable PlaceholderExpression defaultValue) implements PlaceholderExpression {
+    }
+
+    record Composite(List<PlaceholderExpression> parts) implements PlaceholderExpression {
+    }
+}
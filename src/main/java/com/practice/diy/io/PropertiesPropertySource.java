@@ -0,0 +1,32 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Properties;
+
+public class PropertiesPropertySource implements PropertySource {
+    private final String name;
+    private final Properties properties;
+
+    public PropertiesPropertySource(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Nullable
+    @Override
+    public String getProperty(String key) {
+        return this.properties.getProperty(key);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return this.properties.stringPropertyNames();
+    }
+}
@@ -0,0 +1,346 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+
+final class PropertyBinder {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ObjectBinder> BINDERS = new ClassValue<>() {
+        @Override
+        protected ObjectBinder computeValue(Class<?> type) {
+            return new ObjectBinder(type);
+        }
+    };
+
+    private final PropertyResolver resolver;
+    // canonical name -> name as written in the source, for all names under the bound prefix:
+    private final NavigableMap<String, String> names;
+
+    PropertyBinder(PropertyResolver resolver, NavigableMap<String, String> names) {
+        this.resolver = resolver;
+        this.names = names;
+    }
+
+    Object bind(String prefix, Class<?> type) {
+        return BINDERS.get(type).create(this, KeyPath.of(prefix));
+    }
+
+    void bindInto(String prefix, Object target) {
+        BINDERS.get(target.getClass()).bindSetters(this, KeyPath.of(prefix), target);
+    }
+
+    @Nullable
+    private Object bindValue(KeyPath key, Type type) {
+        Class<?> rawType = getRawType(type);
+        if (rawType.isArray() || Collection.class.isAssignableFrom(rawType)) {
+            return bindCollection(key, type, rawType);
+        }
+        if (Map.class.isAssignableFrom(rawType)) {
+            return bindMap(key, type);
+        }
+        // a convertible type binds from its own key, unless only nested keys exist for it:
+        String name = this.names.get(key.canonical());
+        if (isScalar(rawType) && (name != null || !hasNestedNames(key, false))) {
+            return name == null ? null : convert(name, this.resolver.getSourceProperty(name), rawType);
+        }
+        if (rawType == Object.class || rawType.isInterface()) {
+            throw new IllegalArgumentException("Cannot bind property '" + key.name() + "' to unsupported type " + type.getTypeName());
+        }
+        return hasNestedNames(key, false) ? BINDERS.get(rawType).create(this, key) : null;
+    }
+
+    @Nullable
+    private Object bindCollection(KeyPath key, Type type, Class<?> rawType) {
+        Type elementType = rawType.isArray() ? rawType.getComponentType() : getTypeArgument(type, 0);
+        List<Object> elements = new ArrayList<>();
+        // indexed keys are key[0], key[1].name ... and sort between "key[" and "key\":
+        String prefix = key.canonical() + "[";
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Map.Entry<String, String> entry : this.names.subMap(prefix, true, key.canonical() + "\\", false).entrySet()) {
+            int end = entry.getKey().indexOf(']', prefix.length());
+            if (end > prefix.length()) {
+                try {
+                    indexes.add(Integer.parseInt(entry.getKey().substring(prefix.length(), end)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid index in property '" + entry.getValue() + "'", e);
+                }
+            }
+        }
+        if (!indexes.isEmpty()) {
+            for (int i : indexes) {
+                elements.add(bindValue(key.element(i), elementType));
+            }
+        } else {
+            String name = this.names.get(key.canonical());
+            String value = name == null ? null : this.resolver.getSourceProperty(name);
+            if (value == null) {
+                return null;
+            }
+            Class<?> elementClass = getRawType(elementType);
+            if (!isScalar(elementClass)) {
+                throw new IllegalArgumentException("Cannot bind property '" + key.name() + "' to " + type.getTypeName());
+            }
+            String resolved = this.resolver.resolveValue(value);
+            if (resolved != null && !resolved.isBlank()) {
+                String[] parts = resolved.split(",");
+                for (int i = 0; i < parts.length; i++) {
+                    elements.add(convert(name + "[" + i + "]", parts[i].trim(), elementClass));
+                }
+            }
+        }
+        if (rawType.isArray()) {
+            Object array = Array.newInstance(rawType.getComponentType(), elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, elements.get(i));
+            }
+            return array;
+        }
+        return Set.class.isAssignableFrom(rawType) ? new LinkedHashSet<>(elements) : elements;
+    }
+
+    private Object bindMap(KeyPath key, Type type) {
+        Type valueType = getTypeArgument(type, 1);
+        boolean scalar = isScalar(getRawType(valueType));
+        Map<String, Object> map = new LinkedHashMap<>();
+        Set<String> bound = new HashSet<>();
+        for (String name : getDescendants(key).values()) {
+            int separator = separatorAfter(name, key.canonical().length());
+            if (separator < 0 || name.charAt(separator) == '[') {
+                continue;
+            }
+            String rest = name.substring(separator + 1);
+            // scalar values take the whole remainder as the map key, so "level.com.example" keeps its dots:
+            String mapKey = scalar ? rest : rest.substring(0, segmentEnd(rest));
+            KeyPath child = key.child(mapKey);
+            if (bound.add(child.canonical())) {
+                map.put(mapKey, bindValue(child, valueType));
+            }
+        }
+        return map;
+    }
+
+    @Nullable
+    private Object convert(String key, @Nullable String value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        String resolved = this.resolver.resolveValue(value);
+        try {
+            return resolved == null ? null : this.resolver.convert(resolved, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(
+                    "Cannot bind property '" + key + "' with value '" + resolved + "' to " + type.getName(), e);
+        }
+    }
+
+    private boolean isScalar(Class<?> type) {
+        return this.resolver.canConvert(type);
+    }
+
+    private SortedMap<String, String> getDescendants(KeyPath key) {
+        return this.names.subMap(key.canonical(), false, key.canonical() + Character.MAX_VALUE, false);
+    }
+
+    private boolean hasNestedNames(KeyPath key, boolean elements) {
+        // "pool.size" is nested in "pool", but "pool-size" and "poolSize" are not:
+        for (String name : getDescendants(key).values()) {
+            int separator = separatorAfter(name, key.canonical().length());
+            if (separator >= 0 && (elements || name.charAt(separator) != '[')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int separatorAfter(String name, int canonicalLength) {
+        int n = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (n == canonicalLength) {
+                return ch == '.' || ch == '_' || ch == '[' ? i : -1;
+            }
+            if (ch != '.' && ch != '_' && ch != '-') {
+                n++;
+            }
+        }
+        return -1;
+    }
+
+    private static int segmentEnd(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch == '.' || ch == '[') {
+                return i;
+            }
+        }
+        return name.length();
+    }
+
+    private static Class<?> getRawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            return getRawType(arrayType.getGenericComponentType()).arrayType();
+        }
+        return Object.class;
+    }
+
+    private static Type getTypeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getActualTypeArguments()[index];
+        }
+        return String.class;
+    }
+
+    private record KeyPath(String name, String canonical) {
+        static KeyPath of(String name) {
+            return new KeyPath(name, RelaxedNames.canonicalize(name));
+        }
+
+        KeyPath child(String segment) {
+            return new KeyPath(this.name + "." + segment, this.canonical + RelaxedNames.canonicalize(segment));
+        }
+
+        KeyPath element(int index) {
+            return new KeyPath(this.name + "[" + index + "]", this.canonical + "[" + index + "]");
+        }
+    }
+
+    private record Property(String name, Type type, @Nullable Object defaultValue, @Nullable MethodHandle setter) {
+    }
+
+    private static final class ObjectBinder {
+        private final Class<?> type;
+        private final Property[] properties;
+        @Nullable
+        private final MethodHandle constructor;
+        private final boolean constructorBinding;
+
+        ObjectBinder(Class<?> type) {
+            this.type = type;
+            List<Property> properties = new ArrayList<>();
+            try {
+                Constructor<?> ctor = findConstructor(type);
+                this.constructorBinding = ctor != null && ctor.getParameterCount() > 0;
+                if (this.constructorBinding) {
+                    // record components keep their names even when the class is compiled without -parameters:
+                    RecordComponent[] components = type.getRecordComponents();
+                    Parameter[] parameters = ctor.getParameters();
+                    for (int i = 0; i < parameters.length; i++) {
+                        Class<?> parameterType = parameters[i].getType();
+                        Object defaultValue = parameterType.isPrimitive() ? Array.get(Array.newInstance(parameterType, 1), 0) : null;
+                        properties.add(new Property(components == null ? parameters[i].getName() : components[i].getName(),
+                                parameters[i].getParameterizedType(), defaultValue, null));
+                    }
+                } else {
+                    for (Method method : type.getMethods()) {
+                        if (method.getName().length() > 3 && method.getName().startsWith("set")
+                                && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())) {
+                            String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+                            method.setAccessible(true);
+                            MethodHandle setter = MethodHandles.dropReturn(LOOKUP.unreflect(method)).asType(SETTER_TYPE);
+                            properties.add(new Property(name, method.getGenericParameterTypes()[0], null, setter));
+                        }
+                    }
+                }
+                if (ctor == null) {
+                    this.constructor = null;
+                } else {
+                    ctor.setAccessible(true);
+                    MethodHandle handle = LOOKUP.unreflectConstructor(ctor);
+                    this.constructor = handle.asType(handle.type().generic()).asSpreader(Object[].class, ctor.getParameterCount());
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalArgumentException("Cannot create property binder for " + type.getName(), e);
+            }
+            this.properties = properties.toArray(new Property[0]);
+        }
+
+        @Nullable
+        private static Constructor<?> findConstructor(Class<?> type) {
+            if (type.isRecord()) {
+                Class<?>[] types = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new);
+                try {
+                    return type.getDeclaredConstructor(types);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            try {
+                return type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                Constructor<?>[] ctors = type.getDeclaredConstructors();
+                if (ctors.length == 1 && Arrays.stream(ctors[0].getParameters()).allMatch(Parameter::isNamePresent)) {
+                    return ctors[0];
+                }
+                throw new IllegalArgumentException("Cannot bind " + type.getName()
+                        + ": requires a record, a default constructor or a single constructor compiled with -parameters");
+            }
+        }
+
+        Object create(PropertyBinder binder, KeyPath prefix) {
+            Object[] values = bindValues(binder, prefix);
+            try {
+                if (this.constructorBinding) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] == null) {
+                            values[i] = this.properties[i].defaultValue();
+                        }
+                    }
+                    return (Object) this.constructor.invokeExact(values);
+                }
+                Object instance = (Object) this.constructor.invokeExact(new Object[0]);
+                applySetters(instance, values);
+                return instance;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind " + this.type.getName() + " to prefix '" + prefix.name() + "'", e);
+            }
+        }
+
+        void bindSetters(PropertyBinder binder, KeyPath prefix, Object target) {
+            if (this.constructorBinding) {
+                throw new IllegalArgumentException("Cannot bind existing instance of " + this.type.getName() + " by setters");
+            }
+            try {
+                applySetters(target, bindValues(binder, prefix));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind " + this.type.getName() + " to prefix '" + prefix.name() + "'", e);
+            }
+        }
+
+        private Object[] bindValues(PropertyBinder binder, KeyPath prefix) {
+            Object[] values = new Object[this.properties.length];
+            // properties are matched by canonical name, so db.pool.max-size and DB_POOL_MAX_SIZE both bind maxSize:
+            for (int i = 0; i < this.properties.length; i++) {
+                KeyPath key = prefix.child(this.properties[i].name());
+                if (binder.names.containsKey(key.canonical()) || binder.hasNestedNames(key, true)) {
+                    values[i] = binder.bindValue(key, this.properties[i].type());
+                }
+            }
+            return values;
+        }
+
+        private void applySetters(Object instance, Object[] values) throws Throwable {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    this.properties[i].setter().invokeExact(instance, values[i]);
+                }
+            }
+        }
+    }
+}
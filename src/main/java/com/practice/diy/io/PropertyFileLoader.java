@@ -0,0 +1,703 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+final class PropertyFileLoader {
+    private static final long MAP_THRESHOLD = 1 << 20;
+    private static final int DECODE_WINDOW = 8192;
+
+    private PropertyFileLoader() {
+    }
+
+    static boolean isYaml(String name) {
+        return name.endsWith(".yml") || name.endsWith(".yaml");
+    }
+
+    static SortedPropertyMap load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Property file too large: " + file);
+            }
+            ByteBuffer bytes;
+            // large files are mapped, keys and values are then decoded from the page cache one token at a time:
+            if (size >= MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                }
+                bytes.flip();
+            }
+            return parse(file.toString(), bytes);
+        }
+    }
+
+    static SortedPropertyMap load(String name, InputStream input) throws IOException {
+        return parse(name, ByteBuffer.wrap(input.readAllBytes()));
+    }
+
+    static SortedPropertyMap parse(String name, ByteBuffer bytes) {
+        boolean yaml = isYaml(name);
+        Charset charset = detectCharset(name, bytes, yaml);
+        int start = bytes.position();
+        if (charset == StandardCharsets.UTF_8 && bytes.remaining() >= 3
+                && bytes.get(start) == (byte) 0xEF && bytes.get(start + 1) == (byte) 0xBB && bytes.get(start + 2) == (byte) 0xBF) {
+            start += 3;
+        }
+        List<String> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        if (yaml) {
+            new YamlParser(name, bytes, charset, start, keys, values).parse();
+        } else {
+            new PropertiesParser(bytes, charset, start, keys, values).parse();
+        }
+        return SortedPropertyMap.of(keys, values);
+    }
+
+    private static Charset detectCharset(String name, ByteBuffer bytes, boolean yaml) {
+        // validated through a fixed window, the parsers only look for ASCII and never need the decoded file:
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        CharBuffer window = CharBuffer.allocate(DECODE_WINDOW);
+        ByteBuffer input = bytes.duplicate();
+        CoderResult result;
+        do {
+            window.clear();
+            result = decoder.decode(input, window, true);
+        } while (result.isOverflow());
+        if (!result.isError()) {
+            window.clear();
+            result = decoder.flush(window);
+        }
+        if (!result.isError()) {
+            return StandardCharsets.UTF_8;
+        }
+        if (yaml) {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException e) {
+                throw new IllegalArgumentException("YAML file " + name + " is not valid UTF-8", e);
+            }
+        }
+        // like PropertyResourceBundle, .properties files which are not UTF-8 are read as ISO-8859-1:
+        return StandardCharsets.ISO_8859_1;
+    }
+
+    private static boolean isSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\f';
+    }
+
+    private abstract static class Parser {
+        final ByteBuffer bytes;
+        final Charset charset;
+        final int end;
+        final List<String> keys;
+        final List<String> values;
+        final StringBuilder builder = new StringBuilder();
+        int pos;
+        private byte[] scratch = new byte[256];
+
+        Parser(ByteBuffer bytes, Charset charset, int start, List<String> keys, List<String> values) {
+            this.bytes = bytes;
+            this.charset = charset;
+            this.pos = start;
+            this.end = bytes.limit();
+            this.keys = keys;
+            this.values = values;
+        }
+
+        // bytes of multi-byte UTF-8 sequences are all >= 0x80, so they never match an ASCII delimiter:
+        final char charAt(int i) {
+            return (char) (this.bytes.get(i) & 0xFF);
+        }
+
+        final String string(int from, int to) {
+            int length = to - from;
+            if (this.bytes.hasArray()) {
+                return new String(this.bytes.array(), this.bytes.arrayOffset() + from, length, this.charset);
+            }
+            if (this.scratch.length < length) {
+                this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+            }
+            this.bytes.get(from, this.scratch, 0, length);
+            return new String(this.scratch, 0, length, this.charset);
+        }
+
+        final void append(StringBuilder sb, int from, int to) {
+            if (from < to) {
+                sb.append(string(from, to));
+            }
+        }
+    }
+
+    private static final class PropertiesParser extends Parser {
+        PropertiesParser(ByteBuffer bytes, Charset charset, int start, List<String> keys, List<String> values) {
+            super(bytes, charset, start, keys, values);
+        }
+
+        void parse() {
+            while (this.pos < this.end) {
+                char ch = charAt(this.pos);
+                if (isSpace(ch) || ch == '\r' || ch == '\n') {
+                    this.pos++;
+                } else if (ch == '#' || ch == '!') {
+                    while (this.pos < this.end && charAt(this.pos) != '\n' && charAt(this.pos) != '\r') {
+                        this.pos++;
+                    }
+                } else {
+                    String key = readToken(true);
+                    skipSeparator();
+                    this.keys.add(key);
+                    this.values.add(readToken(false));
+                }
+            }
+        }
+
+        private String readToken(boolean key) {
+            int start = this.pos;
+            while (this.pos < this.end && !isTokenEnd(charAt(this.pos), key)) {
+                this.pos++;
+            }
+            // most tokens contain no escapes or line continuations and are copied in one go:
+            if (this.pos == this.end || charAt(this.pos) != '\\') {
+                return string(start, this.pos);
+            }
+            StringBuilder sb = this.builder;
+            sb.setLength(0);
+            int run = start;
+            while (this.pos < this.end) {
+                char ch = charAt(this.pos);
+                if (ch == '\\') {
+                    append(sb, run, this.pos);
+                    this.pos++;
+                    readEscape(sb);
+                    run = this.pos;
+                } else if (isTokenEnd(ch, key)) {
+                    break;
+                } else {
+                    this.pos++;
+                }
+            }
+            append(sb, run, this.pos);
+            return sb.toString();
+        }
+
+        private boolean isTokenEnd(char ch, boolean key) {
+            return ch == '\\' || ch == '\n' || ch == '\r' || key && (ch == '=' || ch == ':' || isSpace(ch));
+        }
+
+        private void readEscape(StringBuilder sb) {
+            if (this.pos == this.end) {
+                return;
+            }
+            char ch = charAt(this.pos++);
+            switch (ch) {
+                case '\r', '\n' -> skipContinuation(ch);
+                case 't' -> sb.append('\t');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 'f' -> sb.append('\f');
+                case 'u' -> {
+                    if (this.pos + 4 > this.end) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(charAt(this.pos++), 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                        }
+                        value = value << 4 | digit;
+                    }
+                    sb.append((char) value);
+                }
+                default -> {
+                    // an escaped non-ASCII character is kept with the run that follows it:
+                    if (ch < 0x80) {
+                        sb.append(ch);
+                    } else {
+                        this.pos--;
+                    }
+                }
+            }
+        }
+
+        private void skipContinuation(char lineEnd) {
+            if (lineEnd == '\r' && this.pos < this.end && charAt(this.pos) == '\n') {
+                this.pos++;
+            }
+            while (this.pos < this.end && isSpace(charAt(this.pos))) {
+                this.pos++;
+            }
+        }
+
+        private void skipSeparator() {
+            boolean separator = false;
+            while (this.pos < this.end) {
+                char ch = charAt(this.pos);
+                if (isSpace(ch)) {
+                    this.pos++;
+                } else if (!separator && (ch == '=' || ch == ':')) {
+                    separator = true;
+                    this.pos++;
+                } else if (ch == '\\' && this.pos + 1 < this.end
+                        && (charAt(this.pos + 1) == '\n' || charAt(this.pos + 1) == '\r')) {
+                    this.pos += 2;
+                    skipContinuation(charAt(this.pos - 1));
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class YamlParser extends Parser {
+        private final String name;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private int lineNumber;
+        private int lineStart;
+        private int lineEnd;
+        private int indent;
+        @Nullable
+        private String pendingPath;
+        private int pendingIndent;
+        private boolean pendingKey;
+
+        YamlParser(String name, ByteBuffer bytes, Charset charset, int start, List<String> keys, List<String> values) {
+            super(bytes, charset, start, keys, values);
+            this.name = name;
+        }
+
+        void parse() {
+            while (nextLine()) {
+                int start = this.lineStart + this.indent;
+                if (start == this.lineEnd || charAt(start) == '#') {
+                    continue;
+                }
+                if (this.indent == 0 && isMarker("---")) {
+                    if (!this.keys.isEmpty() || this.pendingPath != null) {
+                        throw error("multiple YAML documents are not supported");
+                    }
+                    continue;
+                }
+                if (this.indent == 0 && isMarker("...")) {
+                    break;
+                }
+                if (charAt(start) == '\t') {
+                    throw error("tabs are not allowed in indentation");
+                }
+                parseLine(start);
+            }
+            if (this.pendingPath != null) {
+                emit(this.pendingPath, "");
+            }
+        }
+
+        private boolean nextLine() {
+            if (this.pos >= this.end) {
+                return false;
+            }
+            this.lineNumber++;
+            this.lineStart = this.pos;
+            int i = this.pos;
+            while (i < this.end && charAt(i) != '\n' && charAt(i) != '\r') {
+                i++;
+            }
+            this.lineEnd = i;
+            if (i < this.end && charAt(i) == '\r' && i + 1 < this.end && charAt(i + 1) == '\n') {
+                i++;
+            }
+            this.pos = i + 1;
+            int n = this.lineStart;
+            while (n < this.lineEnd && charAt(n) == ' ') {
+                n++;
+            }
+            this.indent = n - this.lineStart;
+            return true;
+        }
+
+        private boolean isMarker(String marker) {
+            int length = this.lineEnd - this.lineStart;
+            if (length < 3 || !string(this.lineStart, this.lineStart + 3).equals(marker)) {
+                return false;
+            }
+            return length == 3 || isSpace(charAt(this.lineStart + 3));
+        }
+
+        private void parseLine(int start) {
+            boolean item = isItem(start);
+            if (this.pendingPath != null) {
+                // a key without a value opens a nested block, or is empty when nothing is nested under it:
+                if (this.indent > this.pendingIndent || item && this.pendingKey && this.indent == this.pendingIndent) {
+                    this.frames.push(new Frame(this.indent, this.pendingPath, item));
+                } else {
+                    emit(this.pendingPath, "");
+                }
+                this.pendingPath = null;
+            }
+            while (!this.frames.isEmpty() && (this.frames.peek().indent > this.indent
+                    || this.frames.peek().indent == this.indent && this.frames.peek().sequence && !item)) {
+                this.frames.pop();
+            }
+            if (this.frames.isEmpty()) {
+                if (item) {
+                    throw error("a top-level sequence cannot be mapped to properties");
+                }
+                this.frames.push(new Frame(this.indent, "", false));
+            }
+            Frame frame = this.frames.peek();
+            if (frame.indent != this.indent) {
+                throw error("bad indentation");
+            }
+            if (frame.sequence != item) {
+                throw error(frame.sequence ? "expected a sequence item" : "unexpected sequence item");
+            }
+            if (item) {
+                parseItem(frame, start);
+            } else {
+                parseEntry(frame.path, start, this.indent);
+            }
+        }
+
+        private boolean isItem(int p) {
+            return charAt(p) == '-' && (p + 1 == this.lineEnd || isSpace(charAt(p + 1)));
+        }
+
+        private void parseItem(Frame frame, int start) {
+            String path = frame.path + "[" + frame.size++ + "]";
+            int p = skipSpaces(start + 1);
+            int column = p - this.lineStart;
+            if (p == this.lineEnd || charAt(p) == '#') {
+                pending(path, this.indent, false);
+            } else if (isItem(p)) {
+                Frame nested = new Frame(column, path, true);
+                this.frames.push(nested);
+                parseItem(nested, p);
+            } else if (findKeySeparator(p) >= 0) {
+                this.frames.push(new Frame(column, path, false));
+                parseEntry(path, p, column);
+            } else {
+                parseValue(path, p, this.indent);
+            }
+        }
+
+        private void parseEntry(String prefix, int start, int column) {
+            int colon = findKeySeparator(start);
+            if (colon < 0) {
+                throw error("expected 'key: value'");
+            }
+            String key;
+            if (charAt(start) == '"' || charAt(start) == '\'') {
+                key = readQuoted(start);
+            } else {
+                int keyEnd = colon;
+                while (keyEnd > start && isSpace(charAt(keyEnd - 1))) {
+                    keyEnd--;
+                }
+                key = string(start, keyEnd);
+            }
+            String path = prefix.isEmpty() ? key : prefix + "." + key;
+            int p = skipSpaces(colon + 1);
+            if (p == this.lineEnd || charAt(p) == '#') {
+                pending(path, column, true);
+            } else {
+                parseValue(path, p, column);
+            }
+        }
+
+        private void pending(String path, int indent, boolean key) {
+            this.pendingPath = path;
+            this.pendingIndent = indent;
+            this.pendingKey = key;
+        }
+
+        private int findKeySeparator(int p) {
+            char first = charAt(p);
+            if (first == '"' || first == '\'') {
+                int q = skipSpaces(scanQuoted(p, null));
+                return q < this.lineEnd && charAt(q) == ':' && (q + 1 == this.lineEnd || isSpace(charAt(q + 1))) ? q : -1;
+            }
+            if (first == '[' || first == '{') {
+                return -1;
+            }
+            for (int i = p; i < this.lineEnd; i++) {
+                char ch = charAt(i);
+                if (ch == '#' && i > p && isSpace(charAt(i - 1))) {
+                    return -1;
+                }
+                if (ch == ':' && (i + 1 == this.lineEnd || isSpace(charAt(i + 1)))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void parseValue(String path, int p, int parentIndent) {
+            char ch = charAt(p);
+            switch (ch) {
+                case '"', '\'' -> {
+                    this.builder.setLength(0);
+                    expectLineEnd(scanQuoted(p, this.builder));
+                    emit(path, this.builder.toString());
+                }
+                case '|', '>' -> {
+                    char chomping = p + 1 < this.lineEnd ? charAt(p + 1) : ' ';
+                    expectLineEnd(chomping == '-' || chomping == '+' ? p + 2 : p + 1);
+                    emit(path, readBlockScalar(ch == '>', chomping, parentIndent));
+                }
+                case '[', '{' -> parseFlow(path, p, ch == '{');
+                case '&', '*', '!', '%', '@', '`' -> throw error("unsupported YAML syntax '" + ch + "'");
+                default -> emit(path, readPlain(p, this.lineEnd, false));
+            }
+        }
+
+        private String readPlain(int p, int limit, boolean flow) {
+            int end = p;
+            while (end < limit) {
+                char ch = charAt(end);
+                if (ch == '#' && end > p && isSpace(charAt(end - 1)) || flow && (ch == ',' || ch == ']' || ch == '}')) {
+                    break;
+                }
+                end++;
+            }
+            while (end > p && isSpace(charAt(end - 1))) {
+                end--;
+            }
+            String value = string(p, end);
+            return value.equals("~") || value.equals("null") || value.equals("Null") || value.equals("NULL") ? "" : value;
+        }
+
+        private void parseFlow(String path, int p, boolean mapping) {
+            char close = mapping ? '}' : ']';
+            int q = skipSpaces(p + 1);
+            if (q < this.lineEnd && charAt(q) == close) {
+                expectLineEnd(q + 1);
+                emit(path, "");
+                return;
+            }
+            int index = 0;
+            while (true) {
+                String itemPath = path + "[" + index++ + "]";
+                if (mapping) {
+                    int colon = q;
+                    while (colon < this.lineEnd && charAt(colon) != ':' && charAt(colon) != ',' && charAt(colon) != close) {
+                        colon++;
+                    }
+                    if (colon == this.lineEnd || charAt(colon) != ':') {
+                        throw error("expected 'key: value' in flow mapping");
+                    }
+                    itemPath = path + "." + string(q, colon).strip();
+                    q = skipSpaces(colon + 1);
+                }
+                if (q == this.lineEnd) {
+                    throw error("multi-line flow collections are not supported");
+                }
+                char ch = charAt(q);
+                if (ch == '"' || ch == '\'') {
+                    this.builder.setLength(0);
+                    q = skipSpaces(scanQuoted(q, this.builder));
+                    emit(itemPath, this.builder.toString());
+                } else if (ch == '[' || ch == '{') {
+                    throw error("nested flow collections are not supported");
+                } else {
+                    int start = q;
+                    while (q < this.lineEnd && charAt(q) != ',' && charAt(q) != close) {
+                        q++;
+                    }
+                    emit(itemPath, readPlain(start, q, true));
+                }
+                if (q == this.lineEnd) {
+                    throw error("multi-line flow collections are not supported");
+                }
+                if (charAt(q) == close) {
+                    expectLineEnd(q + 1);
+                    return;
+                }
+                if (charAt(q) != ',') {
+                    throw error("expected ',' or '" + close + "'");
+                }
+                q = skipSpaces(q + 1);
+            }
+        }
+
+        private String readBlockScalar(boolean folded, char chomping, int parentIndent) {
+            List<String> lines = new ArrayList<>();
+            int blockIndent = -1;
+            while (true) {
+                int savedPos = this.pos;
+                int savedLineNumber = this.lineNumber;
+                if (!nextLine()) {
+                    break;
+                }
+                boolean blank = isBlank(this.lineStart, this.lineEnd);
+                if (!blank && (this.indent <= parentIndent || blockIndent >= 0 && this.indent < blockIndent)) {
+                    this.pos = savedPos;
+                    this.lineNumber = savedLineNumber;
+                    break;
+                }
+                if (blank) {
+                    lines.add("");
+                } else {
+                    if (blockIndent < 0) {
+                        blockIndent = this.indent;
+                    }
+                    lines.add(string(this.lineStart + blockIndent, this.lineEnd));
+                }
+            }
+            int trailing = 0;
+            while (trailing < lines.size() && lines.get(lines.size() - 1 - trailing).isEmpty()) {
+                trailing++;
+            }
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < lines.size() - trailing; i++) {
+                String line = lines.get(i);
+                if (i > 0) {
+                    sb.append(folded && !line.isEmpty() && !lines.get(i - 1).isEmpty() ? ' ' : '\n');
+                }
+                sb.append(line);
+            }
+            if (chomping == '+') {
+                sb.append("\n".repeat(trailing + (sb.isEmpty() ? 0 : 1)));
+            } else if (chomping != '-' && !sb.isEmpty()) {
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+
+        private int scanQuoted(int p, @Nullable StringBuilder sb) {
+            char quote = charAt(p);
+            int i = p + 1;
+            int run = i;
+            while (i < this.lineEnd) {
+                char ch = charAt(i++);
+                if (ch == quote) {
+                    if (sb != null) {
+                        append(sb, run, i - 1);
+                    }
+                    if (quote == '\'' && i < this.lineEnd && charAt(i) == '\'') {
+                        if (sb != null) {
+                            sb.append('\'');
+                        }
+                        run = ++i;
+                    } else {
+                        return i;
+                    }
+                } else if (ch == '\\' && quote == '"') {
+                    if (i == this.lineEnd) {
+                        break;
+                    }
+                    if (sb != null) {
+                        append(sb, run, i - 1);
+                        sb.append(readEscape(i));
+                    } else {
+                        readEscape(i);
+                    }
+                    i += charAt(i) == 'x' ? 3 : charAt(i) == 'u' ? 5 : 1;
+                    run = i;
+                }
+            }
+            throw error("multi-line quoted scalars are not supported");
+        }
+
+        private char readEscape(int p) {
+            return switch (charAt(p)) {
+                case '0' -> '\0';
+                case 'a' -> '\u0007';
+                case 'b' -> '\b';
+                case 't', '\t' -> '\t';
+                case 'n' -> '\n';
+                case 'v' -> '\u000B';
+                case 'f' -> '\f';
+                case 'r' -> '\r';
+                case 'e' -> '\u001B';
+                case ' ', '"', '/', '\\' -> charAt(p);
+                case 'x' -> (char) parseHex(p + 1, 2);
+                case 'u' -> (char) parseHex(p + 1, 4);
+                default -> throw error("unsupported escape '\\" + charAt(p) + "'");
+            };
+        }
+
+        private int parseHex(int p, int digits) {
+            if (p + digits > this.lineEnd) {
+                throw error("malformed escape");
+            }
+            int value = 0;
+            for (int i = p; i < p + digits; i++) {
+                int digit = Character.digit(charAt(i), 16);
+                if (digit < 0) {
+                    throw error("malformed escape");
+                }
+                value = value << 4 | digit;
+            }
+            return value;
+        }
+
+        private String readQuoted(int p) {
+            this.builder.setLength(0);
+            scanQuoted(p, this.builder);
+            return this.builder.toString();
+        }
+
+        private void expectLineEnd(int p) {
+            int q = skipSpaces(p);
+            if (q < this.lineEnd && (charAt(q) != '#' || q == p)) {
+                throw error("unexpected content after value");
+            }
+        }
+
+        private int skipSpaces(int p) {
+            while (p < this.lineEnd && isSpace(charAt(p))) {
+                p++;
+            }
+            return p;
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!isSpace(charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void emit(String path, String value) {
+            this.keys.add(path);
+            this.values.add(value);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Cannot parse " + this.name + " at line " + this.lineNumber + ": " + message);
+        }
+
+        private static final class Frame {
+            final int indent;
+            final String path;
+            final boolean sequence;
+            int size;
+
+            Frame(int indent, String path, boolean sequence) {
+                this.indent = indent;
+                this.path = path;
+                this.sequence = sequence;
+            }
+        }
+    }
+}
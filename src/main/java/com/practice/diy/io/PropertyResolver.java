@@ -1,51 +1,86 @@
 package com.practice.diy.io;
 
 import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.nio.file.Path;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 public class PropertyResolver {
-    Map<String, String> properties = new HashMap<>();
-    Map<Class<?>, Function<String, Object>> converters = new HashMap<>();
+    private static final Object NULL = new Object();
 
-    public PropertyResolver(Properties props) {
-        this.properties.putAll(System.getenv());
-        Set<String> names = props.stringPropertyNames();
+    private static final String OVERRIDES = "overrides";
 
-        for (String name : names) {
-            this.properties.put(name, props.getProperty(name));
-        }
+    private static final Map<Class<?>, Function<String, Object>> DEFAULT_CONVERTERS = new HashMap<>();
+
+    static {
+        DEFAULT_CONVERTERS.put(String.class, s -> s);
+        DEFAULT_CONVERTERS.put(boolean.class, s -> Boolean.parseBoolean(s));
+        DEFAULT_CONVERTERS.put(Boolean.class, s -> Boolean.valueOf(s));
+
+        DEFAULT_CONVERTERS.put(byte.class, s -> Byte.parseByte(s));
+        DEFAULT_CONVERTERS.put(Byte.class, s -> Byte.valueOf(s));
+
+        DEFAULT_CONVERTERS.put(short.class, s -> Short.parseShort(s));
+        DEFAULT_CONVERTERS.put(Short.class, s -> Short.valueOf(s));
+
+        DEFAULT_CONVERTERS.put(int.class, s -> Integer.parseInt(s));
+        DEFAULT_CONVERTERS.put(Integer.class, s -> Integer.valueOf(s));
+
+        DEFAULT_CONVERTERS.put(long.class, s -> Long.parseLong(s));
+        DEFAULT_CONVERTERS.put(Long.class, s -> Long.valueOf(s));
 
-        converters.put(String.class, s -> s);
-        converters.put(boolean.class, s -> Boolean.parseBoolean(s));
-        converters.put(Boolean.class, s -> Boolean.valueOf(s));
+        DEFAULT_CONVERTERS.put(float.class, s -> Float.parseFloat(s));
+        DEFAULT_CONVERTERS.put(Float.class, s -> Float.valueOf(s));
 
-        converters.put(byte.class, s -> Byte.parseByte(s));
-        converters.put(Byte.class, s -> Byte.valueOf(s));
+        DEFAULT_CONVERTERS.put(double.class, s -> Double.parseDouble(s));
+        DEFAULT_CONVERTERS.put(Double.class, s -> Double.valueOf(s));
 
-        converters.put(short.class, s -> Short.parseShort(s));
-        converters.put(Short.class, s -> Short.valueOf(s));
+        DEFAULT_CONVERTERS.put(LocalDate.class, s -> LocalDate.parse(s));
+        DEFAULT_CONVERTERS.put(LocalTime.class, s -> LocalTime.parse(s));
+        DEFAULT_CONVERTERS.put(LocalDateTime.class, s -> LocalDateTime.parse(s));
+        DEFAULT_CONVERTERS.put(ZonedDateTime.class, s -> ZonedDateTime.parse(s));
+        DEFAULT_CONVERTERS.put(Duration.class, s -> Duration.parse(s));
+        DEFAULT_CONVERTERS.put(ZoneId.class, s -> ZoneId.of(s));
+        DEFAULT_CONVERTERS.put(Path.class, s -> Path.of(s));
+        DEFAULT_CONVERTERS.put(URI.class, s -> URI.create(s));
+    }
 
-        converters.put(int.class, s -> Integer.parseInt(s));
-        converters.put(Integer.class, s -> Integer.valueOf(s));
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    final PropertySources propertySources;
+    @Nullable
+    private final PropertyResolver parent;
+    final Map<Class<?>, Function<String, Object>> converters = new ConcurrentHashMap<>();
+    private final Map<String, PlaceholderExpression> expressions = new ConcurrentHashMap<>();
+    private volatile Cache cache = new Cache(-1);
+    private volatile boolean servicesLoaded;
 
-        converters.put(long.class, s -> Long.parseLong(s));
-        converters.put(Long.class, s -> Long.valueOf(s));
+    public PropertyResolver(Properties props) {
+        this(new PropertySources(new PropertiesPropertySource("properties", props), new MapPropertySource("environment", System.getenv())));
+    }
 
-        converters.put(float.class, s -> Float.parseFloat(s));
-        converters.put(Float.class, s -> Float.valueOf(s));
+    public PropertyResolver(PropertySources propertySources) {
+        this.propertySources = propertySources;
+        this.parent = null;
+    }
+
+    private PropertyResolver(PropertyResolver parent) {
+        this.propertySources = parent.propertySources;
+        this.parent = parent;
+    }
 
-        converters.put(double.class, s -> Double.parseDouble(s));
-        converters.put(Double.class, s -> Double.valueOf(s));
+    // reads the same property sources, but converters added to the returned resolver stay local to it:
+    public PropertyResolver withLocalConverters() {
+        return new PropertyResolver(this);
+    }
 
-        converters.put(LocalDate.class, s -> LocalDate.parse(s));
-        converters.put(LocalTime.class, s -> LocalTime.parse(s));
-        converters.put(LocalDateTime.class, s -> LocalDateTime.parse(s));
-        converters.put(ZonedDateTime.class, s -> ZonedDateTime.parse(s));
-        converters.put(Duration.class, s -> Duration.parse(s));
-        converters.put(ZoneId.class, s -> ZoneId.of(s));
+    public PropertySources getPropertySources() {
+        return this.propertySources;
     }
 
     @Nullable
@@ -55,7 +90,7 @@ public class PropertyResolver {
 
     public String getProperty(String key, String defaultValue) {
         String value = getProperty(key);
-        return value == null ? parseValue(defaultValue) : value;
+        return value == null ? resolve(defaultValue) : value;
     }
 
     public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
@@ -67,25 +102,19 @@ public class PropertyResolver {
     }
 
     @Nullable
+    @SuppressWarnings("unchecked")
     public <T> T getProperty(String key, Class<T> targetType) {
-        PropertyExpr keyExpr = parsePropertyExpr(key);
-        String value;
-        if (keyExpr != null) {
-            if (keyExpr.defaultValue() != null) {
-                value = getProperty(keyExpr.key(), keyExpr.defaultValue());
-                return convert(value, targetType);
-            } else {
-                return getProperty(keyExpr.key(), targetType);
-            }
-        }
-
-        value = this.properties.get(key);
-
-        if (value == null) {
-            return null;
+        // a concurrent invalidation swaps the cache, so a value resolved against old sources is never cached in the new one:
+        Map<TypedKey, Object> typedValues = cache().typedValues;
+        TypedKey typedKey = new TypedKey(key, targetType);
+        Object cached = typedValues.get(typedKey);
+        if (cached != null) {
+            return cached == NULL ? null : (T) cached;
         }
-
-        return convert(value, targetType);
+        String value = PlaceholderExpression.isExpression(key) ? resolve(key) : lookup(key, new ArrayDeque<>());
+        T converted = value == null ? null : convert(value, targetType);
+        typedValues.put(typedKey, converted == null ? NULL : converted);
+        return converted;
     }
 
     public String getRequiredProperty(String key) {
@@ -105,41 +134,240 @@ public class PropertyResolver {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T convert(String value, Class<T> clazz) {
-        Function<String, Object> function = this.converters.get(clazz);
+    public <T> T bind(String prefix, Class<T> type) {
+        return (T) new PropertyBinder(this, getRelaxedNames(prefix)).bind(prefix, type);
+    }
+
+    public <T> T bindInto(String prefix, T target) {
+        new PropertyBinder(this, getRelaxedNames(prefix)).bindInto(prefix, target);
+        return target;
+    }
+
+    public Set<String> getReferencedKeys(String keyOrExpression) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (PlaceholderExpression.isExpression(keyOrExpression)) {
+            collectKeys(compile(keyOrExpression), keys);
+        } else {
+            collectKeys(keyOrExpression, keys);
+        }
+        return keys;
+    }
+
+    private void collectKeys(String key, Set<String> keys) {
+        if (keys.add(key)) {
+            String value = getSourceProperty(key);
+            if (value != null && PlaceholderExpression.isExpression(value)) {
+                collectKeys(compile(value), keys);
+            }
+        }
+    }
+
+    private void collectKeys(PlaceholderExpression expression, Set<String> keys) {
+        if (expression instanceof PlaceholderExpression.Reference reference) {
+            collectKeys(reference.key(), keys);
+            if (reference.defaultValue() != null) {
+                collectKeys(reference.defaultValue(), keys);
+            }
+        } else if (expression instanceof PlaceholderExpression.Composite composite) {
+            composite.parts().forEach(part -> collectKeys(part, keys));
+        }
+    }
+
+    public void setProperty(String key, @Nullable String value) {
+        Map<String, String> overrides = getOverrides();
+        if (value == null) {
+            overrides.remove(key);
+        } else {
+            overrides.put(key, value);
+        }
+        this.propertySources.invalidate();
+    }
+
+    private Map<String, String> getOverrides() {
+        synchronized (this.propertySources) {
+            MapPropertySource overrides = (MapPropertySource) this.propertySources.get(OVERRIDES);
+            if (overrides == null) {
+                overrides = new MapPropertySource(OVERRIDES, new ConcurrentHashMap<>());
+                this.propertySources.addFirst(overrides);
+            }
+            return overrides.getMap();
+        }
+    }
+
+    private Cache cache() {
+        Cache cache = this.cache;
+        long version = this.propertySources.getVersion();
+        if (cache.version != version) {
+            cache = new Cache(version);
+            this.cache = cache;
+        }
+        return cache;
+    }
+
+    @Nullable
+    String getSourceProperty(String key) {
+        Map<String, Object> values = cache().values;
+        Object cached = values.get(key);
+        if (cached == null) {
+            String value = this.propertySources.getRelaxedProperty(key);
+            values.put(key, value == null ? NULL : value);
+            return value;
+        }
+        return cached == NULL ? null : (String) cached;
+    }
+
+    private NavigableMap<String, String> getRelaxedNames(String prefix) {
+        // only the names under the prefix are collected, keyed by their canonical form:
+        return this.propertySources.findRelaxedNames(RelaxedNames.canonicalize(prefix));
+    }
+
+    boolean canConvert(Class<?> clazz) {
+        return getConverter(clazz) != null;
+    }
+
+    @Nullable
+    String resolveValue(String value) {
+        return PlaceholderExpression.isExpression(value) ? evaluate(compile(value), new ArrayDeque<>()) : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T convert(String value, Class<T> clazz) {
+        Function<String, Object> function = getConverter(clazz);
         if (function == null) {
             throw new IllegalArgumentException("Unsupported value type: " + clazz.getName());
         }
         return (T) function.apply(value);
     }
 
-    private String parseValue(String value) {
-        PropertyExpr propertyExpr = parsePropertyExpr(value);
-        if (propertyExpr == null) {
+    public <T> void addConverter(Converter<T> converter) {
+        this.converters.put(converter.getTargetType(), converter::convert);
+        this.cache = new Cache(this.propertySources.getVersion());
+    }
+
+    @Nullable
+    private Function<String, Object> getConverter(Class<?> clazz) {
+        Function<String, Object> function = this.converters.get(clazz);
+        if (function != null) {
+            return function;
+        }
+        if (this.parent != null) {
+            // arrays are built here, so a local element converter is used for them:
+            Function<String, Object> inherited = clazz.isArray() ? forArray(clazz) : this.parent.getConverter(clazz);
+            return inherited == null ? null : this.converters.computeIfAbsent(clazz, k -> inherited);
+        }
+        if (!this.servicesLoaded) {
+            loadServiceConverters();
+            function = this.converters.get(clazz);
+            if (function != null) {
+                return function;
+            }
+        }
+        function = DEFAULT_CONVERTERS.get(clazz);
+        if (function == null) {
+            if (clazz.isArray()) {
+                function = forArray(clazz);
+            } else if (clazz == List.class || clazz == Collection.class) {
+                function = s -> Arrays.stream(s.split(",")).map(String::trim).filter(e -> !e.isEmpty()).toList();
+            } else {
+                function = ConverterLookup.discover(clazz);
+            }
+        }
+        // defaults and discovered converters are cached per resolver, but never replace a registered one:
+        if (function == null) {
+            return null;
+        }
+        Function<String, Object> discovered = function;
+        return this.converters.computeIfAbsent(clazz, k -> discovered);
+    }
+
+    @Nullable
+    private Function<String, Object> forArray(Class<?> clazz) {
+        Function<String, Object> elementConverter = getConverter(clazz.getComponentType());
+        return elementConverter == null ? null : ConverterLookup.forArray(clazz, elementConverter);
+    }
+
+    private synchronized void loadServiceConverters() {
+        if (!this.servicesLoaded) {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Iterator<?> iterator = ServiceLoader.load(Converter.class, classLoader != null ? classLoader : getClass().getClassLoader()).iterator();
+            while (true) {
+                try {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    Converter<?> converter = (Converter<?>) iterator.next();
+                    this.converters.putIfAbsent(converter.getTargetType(), converter::convert);
+                } catch (ServiceConfigurationError e) {
+                    // a provider that cannot be loaded by this class loader is skipped, the others still apply:
+                    logger.warn("ignore converter service: {}", e.getMessage());
+                }
+            }
+            this.servicesLoaded = true;
+        }
+    }
+
+    @Nullable
+    private String resolve(String expression) {
+        return evaluate(compile(expression), new ArrayDeque<>());
+    }
+
+    private PlaceholderExpression compile(String expression) {
+        return this.expressions.computeIfAbsent(expression, PlaceholderExpression::compile);
+    }
+
+    @Nullable
+    private String lookup(String key, Deque<String> resolving) {
+        String value = getSourceProperty(key);
+        if (value == null || !PlaceholderExpression.isExpression(value)) {
             return value;
         }
-        if (propertyExpr.defaultValue() != null) {
-            return getProperty(propertyExpr.key(), propertyExpr.defaultValue());
-        } else {
-            return getProperty(propertyExpr.key());
+        if (resolving.contains(key)) {
+            List<String> chain = new ArrayList<>(resolving);
+            Collections.reverse(chain);
+            chain.add(key);
+            throw new IllegalArgumentException("Circular placeholder reference: " + String.join(" -> ", chain));
+        }
+        resolving.push(key);
+        try {
+            return evaluate(compile(value), resolving);
+        } finally {
+            resolving.pop();
         }
     }
 
-    private PropertyExpr parsePropertyExpr(String key) {
-        if (key.startsWith("${") && key.endsWith("}")) {
-            int n = key.indexOf(":");
-            if (n == -1) {
-                String k = key.substring(2, key.length() - 1);
-                return new PropertyExpr(k, null);
-            } else {
-                String k = key.substring(2, n);
-                return new PropertyExpr(k, key.substring(n + 1, key.length() - 1));
+    @Nullable
+    private String evaluate(PlaceholderExpression expression, Deque<String> resolving) {
+        if (expression instanceof PlaceholderExpression.Literal literal) {
+            return literal.text();
+        }
+        if (expression instanceof PlaceholderExpression.Reference reference) {
+            String value = lookup(reference.key(), resolving);
+            if (value == null && reference.defaultValue() != null) {
+                value = evaluate(reference.defaultValue(), resolving);
+            }
+            return value;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (PlaceholderExpression part : ((PlaceholderExpression.Composite) expression).parts()) {
+            String value = evaluate(part, resolving);
+            if (value == null) {
+                return null;
             }
+            sb.append(value);
         }
-        return null;
+        return sb.toString();
+    }
+
+    private record TypedKey(String key, Class<?> targetType) {
     }
-}
 
+    private static final class Cache {
+        final long version;
+        final Map<String, Object> values = new ConcurrentHashMap<>();
+        final Map<TypedKey, Object> typedValues = new ConcurrentHashMap<>();
 
-record PropertyExpr(String key, String defaultValue) {
-}
\ No newline at end of file
+        Cache(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PropertySource {
+    String getName();
+
+    @Nullable
+    String getProperty(String key);
+
+    default Collection<String> getPropertyNames() {
+        return List.of();
+    }
+}
@@ -0,0 +1,120 @@
+package com.practice.diy.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+public class PropertySourceWatcher implements Closeable {
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final PropertySources propertySources;
+    private final Consumer<Set<String>> listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Thread thread;
+
+    public PropertySourceWatcher(PropertySources propertySources, Consumer<Set<String>> listener) throws IOException {
+        this.propertySources = propertySources;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            Set<Path> registered = new HashSet<>();
+            for (FilePropertySource source : getFileSources()) {
+                Path directory = source.getFile().getParent();
+                if (registered.add(directory)) {
+                    this.directories.put(directory.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            this.watchService.close();
+            throw e;
+        }
+        this.thread = new Thread(this::run, "diy-property-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public static boolean hasFileSources(PropertySources propertySources) {
+        for (PropertySource source : propertySources) {
+            if (source instanceof FilePropertySource) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> reload(Collection<Path> changedFiles) {
+        Set<String> changedKeys = new HashSet<>();
+        for (FilePropertySource source : getFileSources()) {
+            if (changedFiles.contains(source.getFile())) {
+                changedKeys.addAll(source.reload());
+            }
+        }
+        if (!changedKeys.isEmpty()) {
+            this.propertySources.invalidate();
+            this.listener.accept(Collections.unmodifiableSet(changedKeys));
+        }
+        return changedKeys;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            logger.warn("cannot close property watcher: {}", e.toString());
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<Path> changedFiles = new HashSet<>();
+                WatchKey key = this.watchService.take();
+                // coalesce the burst of events written by a single save, so a half-written file is not applied:
+                while (key != null) {
+                    collectChangedFiles(key, changedFiles);
+                    key = this.watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                try {
+                    reload(changedFiles);
+                } catch (RuntimeException e) {
+                    logger.warn("cannot refresh properties from {}: {}", changedFiles, e.toString());
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.debug("property watcher stopped.");
+        }
+    }
+
+    private void collectChangedFiles(WatchKey key, Set<Path> changedFiles) {
+        Path directory = this.directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                getFileSources().forEach(source -> changedFiles.add(source.getFile()));
+            } else {
+                changedFiles.add(directory.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+    }
+
+    private List<FilePropertySource> getFileSources() {
+        List<FilePropertySource> sources = new ArrayList<>();
+        for (PropertySource source : this.propertySources) {
+            if (source instanceof FilePropertySource fileSource) {
+                sources.add(fileSource);
+            }
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,181 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class PropertySources implements Iterable<PropertySource> {
+    public static final String ACTIVE_PROFILES = "diy.profiles.active";
+
+    private final List<PropertySource> sources = new CopyOnWriteArrayList<>();
+    private volatile long version;
+    private final Map<PropertySource, VersionedNames> relaxedNames = new ConcurrentHashMap<>();
+
+    public PropertySources(PropertySource... sources) {
+        this.sources.addAll(List.of(sources));
+    }
+
+    public static PropertySources standard(String[] args, Properties defaults) {
+        return standard(args, defaults, getContextClassLoader());
+    }
+
+    public static PropertySources standard(String[] args, Properties defaults, ClassLoader classLoader) {
+        PropertySources sources = new PropertySources(
+                new CommandLinePropertySource(args),
+                new PropertiesPropertySource("systemProperties", System.getProperties()),
+                new MapPropertySource("environment", System.getenv()));
+        String profiles = sources.getProperty(ACTIVE_PROFILES);
+        if (profiles == null) {
+            profiles = defaults.getProperty(ACTIVE_PROFILES, "");
+        }
+        // profiles listed later take precedence over earlier ones:
+        List<String> activeProfiles = Arrays.stream(profiles.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        for (int i = activeProfiles.size() - 1; i >= 0; i--) {
+            addResources(sources, "application-" + activeProfiles.get(i), classLoader);
+        }
+        addResources(sources, "application", classLoader);
+        sources.addLast(new PropertiesPropertySource("defaults", defaults));
+        return sources;
+    }
+
+    private static void addResources(PropertySources sources, String baseName, ClassLoader classLoader) {
+        // .properties takes precedence over .yml with the same base name:
+        sources.addLast(new ResourcePropertySource(baseName + ".properties", classLoader));
+        sources.addLast(new ResourcePropertySource(baseName + ".yml", classLoader));
+    }
+
+    @Nullable
+    public String getProperty(String key) {
+        for (PropertySource source : this.sources) {
+            String value = source.getProperty(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public String getRelaxedProperty(String key) {
+        long version = this.version;
+        String canonicalName = null;
+        // sources are asked in precedence order, within a source the exact key wins over a relaxed one:
+        for (PropertySource source : this.sources) {
+            String value = source.getProperty(key);
+            if (value != null) {
+                return value;
+            }
+            if (canonicalName == null) {
+                canonicalName = RelaxedNames.canonicalize(key);
+            }
+            String name = getRelaxedNames(source, version).get(canonicalName);
+            if (name != null && !name.equals(key)) {
+                value = source.getProperty(name);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    NavigableMap<String, String> findRelaxedNames(String canonicalPrefix) {
+        long version = this.version;
+        NavigableMap<String, String> names = new TreeMap<>();
+        for (PropertySource source : this.sources) {
+            getRelaxedNames(source, version).collect(canonicalPrefix, names);
+        }
+        return names;
+    }
+
+    private RelaxedNameIndex getRelaxedNames(PropertySource source, long version) {
+        // file sources index each loaded snapshot once, other sources may be mutated and are indexed per version:
+        if (source instanceof FilePropertySource file) {
+            return file.getRelaxedNames();
+        }
+        if (source instanceof ResourcePropertySource resource) {
+            return resource.getRelaxedNames();
+        }
+        VersionedNames cached = this.relaxedNames.get(source);
+        if (cached == null || cached.version() != version) {
+            cached = new VersionedNames(version, RelaxedNameIndex.of(source.getPropertyNames()));
+            this.relaxedNames.put(source, cached);
+        }
+        return cached.names();
+    }
+
+    @Nullable
+    public PropertySource get(String name) {
+        for (PropertySource source : this.sources) {
+            if (source.getName().equals(name)) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    public void addFirst(PropertySource source) {
+        this.sources.add(0, source);
+        invalidate();
+    }
+
+    public void addLast(PropertySource source) {
+        this.sources.add(source);
+        invalidate();
+    }
+
+    public void replace(String name, PropertySource source) {
+        int index = indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("PropertySource '" + name + "' does not exist");
+        }
+        this.relaxedNames.remove(this.sources.set(index, source));
+        invalidate();
+    }
+
+    @Nullable
+    public PropertySource remove(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        PropertySource removed = this.sources.remove(index);
+        this.relaxedNames.remove(removed);
+        invalidate();
+        return removed;
+    }
+
+    public void invalidate() {
+        synchronized (this) {
+            this.version++;
+        }
+    }
+
+    long getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public Iterator<PropertySource> iterator() {
+        return Collections.unmodifiableList(this.sources).iterator();
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < this.sources.size(); i++) {
+            if (this.sources.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record VersionedNames(long version, RelaxedNameIndex names) {
+    }
+
+    private static ClassLoader getContextClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : PropertySources.class.getClassLoader();
+    }
+}
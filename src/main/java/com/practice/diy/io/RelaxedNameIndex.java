@@ -0,0 +1,63 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+final class RelaxedNameIndex {
+    static final RelaxedNameIndex EMPTY = new RelaxedNameIndex(Map.of());
+
+    private final Map<String, String> names;
+    private volatile String[] sortedCanonicalNames;
+
+    private RelaxedNameIndex(Map<String, String> names) {
+        this.names = names;
+    }
+
+    static RelaxedNameIndex of(Collection<String> names) {
+        if (names.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> index = new HashMap<>(names.size() * 4 / 3 + 1);
+        for (String name : names) {
+            // among names with the same canonical form the first in natural order is kept, whatever the iteration order:
+            index.merge(RelaxedNames.canonicalize(name), name, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+        return new RelaxedNameIndex(index);
+    }
+
+    static RelaxedNameIndex ofSorted(String[] sortedNames) {
+        if (sortedNames.length == 0) {
+            return EMPTY;
+        }
+        Map<String, String> index = new HashMap<>(sortedNames.length * 4 / 3 + 1);
+        for (String name : sortedNames) {
+            index.putIfAbsent(RelaxedNames.canonicalize(name), name);
+        }
+        return new RelaxedNameIndex(index);
+    }
+
+    @Nullable
+    String get(String canonicalName) {
+        return this.names.get(canonicalName);
+    }
+
+    void collect(String canonicalPrefix, Map<String, String> target) {
+        String[] canonicalNames = getSortedCanonicalNames();
+        int i = Arrays.binarySearch(canonicalNames, canonicalPrefix);
+        for (i = i < 0 ? -i - 1 : i; i < canonicalNames.length && canonicalNames[i].startsWith(canonicalPrefix); i++) {
+            target.putIfAbsent(canonicalNames[i], this.names.get(canonicalNames[i]));
+        }
+    }
+
+    private String[] getSortedCanonicalNames() {
+        // only prefix binding needs range queries, so the sorted view is built on its first use:
+        String[] canonicalNames = this.sortedCanonicalNames;
+        if (canonicalNames == null) {
+            canonicalNames = this.names.keySet().toArray(new String[0]);
+            Arrays.sort(canonicalNames);
+            this.sortedCanonicalNames = canonicalNames;
+        }
+        return canonicalNames;
+    }
+}
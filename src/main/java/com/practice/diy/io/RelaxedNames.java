@@ -0,0 +1,18 @@
+package com.practice.diy.io;
+
+public final class RelaxedNames {
+    private RelaxedNames() {
+    }
+
+    public static String canonicalize(String name) {
+        // case, '.', '_' and '-' are ignored, so db.pool.max-size, dbPoolMaxSize and DB_POOL_MAX_SIZE are equal:
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch != '.' && ch != '_' && ch != '-') {
+                sb.append(Character.toLowerCase(ch));
+            }
+        }
+        return sb.toString();
+    }
+}
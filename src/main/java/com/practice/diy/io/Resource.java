@@ -1,4 +1,16 @@
 package com.practice.diy.io;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public record Resource(String path, String name) {
+    public InputStream openStream() throws IOException {
+        if (this.path.startsWith("file:")) {
+            return Files.newInputStream(Path.of(this.path.substring(5)));
+        }
+        return new URL(this.path + "/" + this.name).openStream();
+    }
 }
@@ -0,0 +1,58 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+public class ResourcePropertySource implements PropertySource {
+    private final String resourcePath;
+    private final ClassLoader classLoader;
+    private volatile SortedPropertyMap properties;
+
+    public ResourcePropertySource(String resourcePath, ClassLoader classLoader) {
+        this.resourcePath = resourcePath;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public String getName() {
+        return "classpath:" + this.resourcePath;
+    }
+
+    @Nullable
+    @Override
+    public String getProperty(String key) {
+        return getProperties().get(key);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return getProperties().keySet();
+    }
+
+    RelaxedNameIndex getRelaxedNames() {
+        return getProperties().getRelaxedNames();
+    }
+
+    private SortedPropertyMap getProperties() {
+        // the resource is read on the first lookup, a missing resource is an empty source:
+        SortedPropertyMap properties = this.properties;
+        if (properties == null) {
+            synchronized (this) {
+                properties = this.properties;
+                if (properties == null) {
+                    try (InputStream input = this.classLoader.getResourceAsStream(this.resourcePath)) {
+                        properties = input == null ? SortedPropertyMap.EMPTY : PropertyFileLoader.load(this.resourcePath, input);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    this.properties = properties;
+                }
+            }
+        }
+        return properties;
+    }
+}
@@ -1,43 +1,86 @@
 package com.practice.diy.io;
 
+import com.practice.diy.jfr.ClasspathScanEvent;
+import jakarta.annotation.Nullable;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class ResourceResolver {
     String basePackage;
+    boolean parallel;
+    JarIndexCache jarIndexCache;
+    Predicate<String> excludedRoots;
 
     public ResourceResolver(String basePackage) {
+        this(basePackage, false);
+    }
+
+    public ResourceResolver(String basePackage, boolean parallel) {
+        this(basePackage, parallel, null);
+    }
+
+    public ResourceResolver(String basePackage, boolean parallel, JarIndexCache jarIndexCache) {
+        this(basePackage, parallel, jarIndexCache, null);
+    }
+
+    public ResourceResolver(String basePackage, boolean parallel, JarIndexCache jarIndexCache, Predicate<String> excludedRoots) {
         this.basePackage = basePackage;
+        this.parallel = parallel;
+        this.jarIndexCache = jarIndexCache;
+        this.excludedRoots = excludedRoots;
     }
 
     public <R> List<R> scan (Function<Resource, R> mapper) throws IOException {
         String basePackagePath = this.basePackage.replace(".", "/");
+        JarIndexCache jarIndexCache = this.jarIndexCache != null ? this.jarIndexCache : new JarIndexCache();
         try {
             List<R> collector = new ArrayList<>();
-            scan0(basePackagePath, collector, mapper);
+            scan0(basePackagePath, jarIndexCache, collector, mapper);
             return collector;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (jarIndexCache != this.jarIndexCache) {
+                jarIndexCache.close();
+            }
+        }
+    }
+
+    public InputStream openStream(Resource resource) throws IOException {
+        JarIndex jarIndex = this.jarIndexCache == null ? null : this.jarIndexCache.findJarIndex(resource.path());
+        if (jarIndex != null) {
+            InputStream input = jarIndex.openStream(resource.name());
+            if (input != null) {
+                return input;
+            }
         }
+        return resource.openStream();
     }
 
-    private <R> void scan0(String basePackagePath, List<R> collector, Function<Resource, R> mapper) throws IOException, URISyntaxException {
+    private <R> void scan0(String basePackagePath, JarIndexCache jarIndexCache, List<R> collector, Function<Resource, R> mapper)
+            throws IOException, URISyntaxException {
+        List<ForkJoinTask<List<R>>> tasks = new ArrayList<>();
         Enumeration<URL> urls = getContextClassLoader().getResources(basePackagePath);
         while (urls.hasMoreElements()) {
             URL url = urls.nextElement();
@@ -46,35 +89,85 @@ public class ResourceResolver {
 
             String uriBaseStr = uriStr.substring(0, uriStr.length() - basePackagePath.length());
             uriBaseStr = removeTrailingSlash(uriBaseStr);
+            if (this.excludedRoots != null && this.excludedRoots.test(uriBaseStr)) {
+                continue;
+            }
 
-            if (uriBaseStr.startsWith("jar:")) {
-                scanFile(true, uriBaseStr, jarUriToPath(basePackagePath, uri), collector, mapper);
+            JarIndex jarIndex = uriBaseStr.startsWith("jar:") ? getJarIndex(jarIndexCache, uri) : null;
+            if (this.parallel) {
+                String base = uriBaseStr;
+                tasks.add(ForkJoinTask.adapt(() -> scanRoot(base, uri, jarIndex, basePackagePath, mapper)).fork());
             } else {
-                scanFile(false, uriBaseStr, Paths.get(uri), collector, mapper);
+                collector.addAll(scanRoot(uriBaseStr, uri, jarIndex, basePackagePath, mapper));
             }
         }
+
+        for (ForkJoinTask<List<R>> task : tasks) {
+            collector.addAll(task.join());
+        }
     }
 
-    private Path jarUriToPath(String basePackagePath, URI jarUri) throws IOException {
-        return FileSystems.newFileSystem(jarUri, Map.of()).getPath(basePackagePath);
+    private JarIndex getJarIndex(JarIndexCache jarIndexCache, URI jarUri) throws URISyntaxException {
+        // jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/com/example: the last segment is the package path,
+        // the ones in between are jars (or directories) nested in the outer jar file
+        String[] segments = jarUri.getRawSchemeSpecificPart().split("!/");
+        Path jarFile = Paths.get(new URI(segments[0]));
+        String key = "jar:" + URLDecoder.decode(segments[0], StandardCharsets.UTF_8) + "!";
+        JarIndex jarIndex = jarIndexCache.getJarIndex(key, jarFile);
+        for (int i = 1; i < segments.length - 1; i++) {
+            JarIndex outer = jarIndex;
+            String entryName = URLDecoder.decode(removeTrailingSlash(segments[i]), StandardCharsets.UTF_8);
+            key = key + "/" + entryName + "!";
+            jarIndex = jarIndexCache.getJarIndex(key, () -> outer.nested(entryName));
+        }
+        return jarIndex;
     }
 
-    private <R> void scanFile(boolean isJar, String uriBaseStr, Path root, List<R> collector, Function<Resource, R> mapper) throws IOException {
-        Files.walk(root).filter(Files::isRegularFile).forEach(file -> {
-            Resource res = null;
-            if (isJar) {
-                res = new Resource(uriBaseStr, removeLeadingSlash(file.toString()));
-            } else {
-                String path = file.toString();
-                String name = path.substring(uriBaseStr.substring(5).length());
-                res = new Resource("file:" + path, removeLeadingSlash(name));
-            }
+    private <R> List<R> scanRoot(String uriBaseStr, URI uri, @Nullable JarIndex jarIndex, String basePackagePath,
+                                 Function<Resource, R> mapper) throws IOException {
+        ClasspathScanEvent event = new ClasspathScanEvent();
+        event.begin();
+        List<R> resources;
+        if (jarIndex != null) {
+            resources = scanJar(uriBaseStr, jarIndex, basePackagePath, mapper);
+        } else if (this.parallel) {
+            resources = new DirectoryScanTask<>(uriBaseStr, Paths.get(uri), mapper).invoke();
+        } else {
+            resources = new ArrayList<>();
+            scanFile(uriBaseStr, Paths.get(uri), resources, mapper);
+        }
+        if (event.isEnabled()) {
+            event.root = uriBaseStr;
+            event.basePackage = this.basePackage;
+            event.resourceCount = resources.size();
+        }
+        event.commit(null, null, "scan");
+        return resources;
+    }
 
-            R r = mapper.apply(res);
-            if (r != null) {
-                collector.add(r);
-            }
-        });
+    private <R> List<R> scanJar(String uriBaseStr, JarIndex jarIndex, String basePackagePath, Function<Resource, R> mapper) {
+        List<String> names = jarIndex.list(basePackagePath + "/");
+        return (this.parallel ? names.parallelStream() : names.stream())
+                .map(name -> mapper.apply(new Resource(uriBaseStr, name)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private <R> void scanFile(String uriBaseStr, Path root, List<R> collector, Function<Resource, R> mapper) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            stream.filter(Files::isRegularFile).forEach(file -> {
+                R r = mapper.apply(toResource(uriBaseStr, file));
+                if (r != null) {
+                    collector.add(r);
+                }
+            });
+        }
+    }
+
+    private Resource toResource(String uriBaseStr, Path file) {
+        String path = file.toString();
+        String name = path.substring(uriBaseStr.substring(5).length());
+        return new Resource("file:" + path, removeLeadingSlash(name));
     }
 
     private ClassLoader getContextClassLoader() {
@@ -104,4 +197,48 @@ public class ResourceResolver {
         return s;
     }
 
+    private class DirectoryScanTask<R> extends RecursiveTask<List<R>> {
+        final String uriBaseStr;
+        final Path directory;
+        final Function<Resource, R> mapper;
+
+        DirectoryScanTask(String uriBaseStr, Path directory, Function<Resource, R> mapper) {
+            this.uriBaseStr = uriBaseStr;
+            this.directory = directory;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected List<R> compute() {
+            List<Path> entries;
+            try (Stream<Path> stream = Files.list(this.directory)) {
+                entries = stream.sorted().toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<DirectoryScanTask<R>> subTasks = new ArrayList<>();
+            for (Path entry : entries) {
+                if (Files.isDirectory(entry)) {
+                    DirectoryScanTask<R> subTask = new DirectoryScanTask<>(this.uriBaseStr, entry, this.mapper);
+                    subTask.fork();
+                    subTasks.add(subTask);
+                }
+            }
+
+            List<R> collector = new ArrayList<>();
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    R r = this.mapper.apply(toResource(this.uriBaseStr, entry));
+                    if (r != null) {
+                        collector.add(r);
+                    }
+                }
+            }
+            for (DirectoryScanTask<R> subTask : subTasks) {
+                collector.addAll(subTask.join());
+            }
+            return collector;
+        }
+    }
 }
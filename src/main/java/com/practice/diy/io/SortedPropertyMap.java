@@ -0,0 +1,129 @@
+package com.practice.diy.io;
+
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+final class SortedPropertyMap extends AbstractMap<String, String> {
+    static final SortedPropertyMap EMPTY = new SortedPropertyMap(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+    private final Set<String> keySet = new KeySet();
+    private final Set<Entry<String, String>> entrySet = new EntrySet();
+    private volatile RelaxedNameIndex relaxedNames;
+
+    private SortedPropertyMap(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static SortedPropertyMap of(List<String> keys, List<String> values) {
+        int size = keys.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // the sort is stable, so among duplicated keys the one read last ends up last:
+        Arrays.sort(order, Comparator.comparing(keys::get));
+        String[] sortedKeys = new String[size];
+        String[] sortedValues = new String[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            String key = keys.get(order[i]);
+            if (n > 0 && sortedKeys[n - 1].equals(key)) {
+                n--;
+            }
+            sortedKeys[n] = key;
+            sortedValues[n] = values.get(order[i]);
+            n++;
+        }
+        return n == 0 ? EMPTY : new SortedPropertyMap(Arrays.copyOf(sortedKeys, n), Arrays.copyOf(sortedValues, n));
+    }
+
+    @Nullable
+    @Override
+    public String get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : this.values[i];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.keySet;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return this.entrySet;
+    }
+
+    RelaxedNameIndex getRelaxedNames() {
+        // built once per loaded snapshot, the keys are already sorted:
+        RelaxedNameIndex relaxedNames = this.relaxedNames;
+        if (relaxedNames == null) {
+            relaxedNames = RelaxedNameIndex.ofSorted(this.keys);
+            this.relaxedNames = relaxedNames;
+        }
+        return relaxedNames;
+    }
+
+    private int indexOf(Object key) {
+        return key instanceof String s ? Arrays.binarySearch(this.keys, s) : -1;
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return Arrays.asList(keys).iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < keys.length;
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    if (this.next >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    int i = this.next++;
+                    return new SimpleImmutableEntry<>(keys[i], values[i]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
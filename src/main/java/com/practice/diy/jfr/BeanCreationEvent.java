@@ -0,0 +1,11 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.practice.diy.BeanCreation")
+@Label("Bean Creation")
+@Description("Construction of a bean, including dependencies created on demand")
+public class BeanCreationEvent extends ContainerEvent {
+}
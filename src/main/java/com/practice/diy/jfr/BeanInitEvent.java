@@ -0,0 +1,11 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.practice.diy.BeanInit")
+@Label("Bean Init")
+@Description("Init callback of a bean")
+public class BeanInitEvent extends ContainerEvent {
+}
@@ -0,0 +1,18 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.practice.diy.BeanInjection")
+@Label("Bean Injection")
+@Description("Field or setter injection into a bean")
+@StackTrace(false)
+public class BeanInjectionEvent extends ContainerEvent {
+    @Label("Member")
+    public String member;
+
+    @Label("Setter")
+    public boolean setter;
+}
@@ -0,0 +1,13 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.practice.diy.BeanLookup")
+@Label("Slow Bean Lookup")
+@Description("getBean lookup that missed the frozen fast path")
+@StackTrace(false)
+public class BeanLookupEvent extends ContainerEvent {
+}
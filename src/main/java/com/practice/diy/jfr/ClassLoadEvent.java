@@ -0,0 +1,13 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.practice.diy.ClassLoad")
+@Label("Candidate Class Load")
+@Description("Loading of a component candidate class")
+public class ClassLoadEvent extends ContainerEvent {
+    @Label("Class Name")
+    public String className;
+}
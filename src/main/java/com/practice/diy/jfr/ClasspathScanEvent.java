@@ -0,0 +1,19 @@
+package com.practice.diy.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.practice.diy.ClasspathScan")
+@Label("Classpath Scan")
+@Description("Scan of one classpath root for a base package")
+public class ClasspathScanEvent extends ContainerEvent {
+    @Label("Root")
+    public String root;
+
+    @Label("Base Package")
+    public String basePackage;
+
+    @Label("Resource Count")
+    public int resourceCount;
+}
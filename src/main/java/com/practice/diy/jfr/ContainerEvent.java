@@ -0,0 +1,28 @@
+package com.practice.diy.jfr;
+
+import jakarta.annotation.Nullable;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+@Category({"DiySpring", "Container"})
+public abstract class ContainerEvent extends Event {
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Bean Class")
+    Class<?> beanClass;
+
+    @Label("Phase")
+    String phase;
+
+    public void commit(@Nullable String beanName, @Nullable Class<?> beanClass, @Nullable String phase) {
+        end();
+        if (shouldCommit()) {
+            this.beanName = beanName;
+            this.beanClass = beanClass;
+            this.phase = phase;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.practice.diy.processor;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.ConfigurationProperties;
+import com.practice.diy.annotation.Order;
+import com.practice.diy.annotation.Primary;
+import com.practice.diy.io.ComponentCandidate;
+import com.practice.diy.io.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+    private final Map<String, ComponentCandidate> candidates = new TreeMap<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                processType(type);
+            }
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nested);
+        }
+        this.processedTypes.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        if (type.getKind() != ElementKind.CLASS && (type.getKind() != ElementKind.RECORD
+                || getAnnotation(type, ConfigurationProperties.class.getName()) == null)) {
+            return;
+        }
+        AnnotationMirror component = findAnnotation(type, Component.class.getName(), new HashSet<>());
+        if (component == null) {
+            return;
+        }
+
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String stereotype = findAnnotation(type, Configuration.class.getName(), new HashSet<>()) != null
+                ? ComponentCandidate.STEREOTYPE_CONFIGURATION : ComponentCandidate.STEREOTYPE_COMPONENT;
+        AnnotationMirror order = getAnnotation(type, Order.class.getName());
+        this.candidates.put(className, new ComponentCandidate(className, stereotype, getBeanName(type),
+                order == null ? Integer.MAX_VALUE : (Integer) getValue(order, "value"),
+                getAnnotation(type, Primary.class.getName()) != null));
+    }
+
+    private String getBeanName(TypeElement type) {
+        String name = "";
+        AnnotationMirror component = getAnnotation(type, Component.class.getName());
+        if (component != null) {
+            name = (String) getValue(component, "value");
+        } else {
+            for (AnnotationMirror anno : type.getAnnotationMirrors()) {
+                Element annoType = anno.getAnnotationType().asElement();
+                if (findAnnotation(annoType, Component.class.getName(), new HashSet<>()) != null
+                        && getValue(anno, "value") instanceof String value) {
+                    name = value;
+                }
+            }
+        }
+        if (name.isEmpty()) {
+            name = type.getSimpleName().toString();
+            name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+        return name;
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annoName, Set<String> visited) {
+        for (AnnotationMirror anno : element.getAnnotationMirrors()) {
+            TypeElement annoType = (TypeElement) anno.getAnnotationType().asElement();
+            String name = annoType.getQualifiedName().toString();
+            if (name.equals(annoName)) {
+                return anno;
+            }
+            if (!name.startsWith("java.lang.annotation.") && visited.add(name)) {
+                AnnotationMirror found = findAnnotation(annoType, annoName, visited);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annoName) {
+        for (AnnotationMirror anno : element.getAnnotationMirrors()) {
+            if (((TypeElement) anno.getAnnotationType().asElement()).getQualifiedName().contentEquals(annoName)) {
+                return anno;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror anno, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(anno).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        // an incremental compilation only sees the changed types, entries of the others are kept from the previous index:
+        Map<String, ComponentCandidate> index = new TreeMap<>();
+        boolean existing = readIndex(index);
+        index.keySet().removeIf(className -> this.processedTypes.contains(className) || !typeExists(className));
+        index.putAll(this.candidates);
+        if (index.isEmpty() && !existing) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                for (ComponentCandidate candidate : index.values()) {
+                    writer.write(ComponentIndex.formatLine(candidate));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + ComponentIndex.COMPONENTS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+
+    private boolean readIndex(Map<String, ComponentCandidate> index) {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    ComponentCandidate candidate = ComponentIndex.parseLine(line.trim());
+                    if (candidate != null) {
+                        index.put(candidate.className(), candidate);
+                    }
+                }
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index, or one that cannot be read and is rebuilt from this compilation:
+            return false;
+        }
+    }
+
+    private boolean typeExists(String className) {
+        return processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice.config;
+
+import com.practice.diy.annotation.Bean;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.ConfigurationProperties;
+
+@Configuration
+public class ClientConfiguration {
+    @Bean
+    @ConfigurationProperties("app.client")
+    ClientSettings clientSettings() {
+        ClientSettings settings = new ClientSettings();
+        settings.setName("default-client");
+        return settings;
+    }
+}
@@ -0,0 +1,22 @@
+package com.practice.config;
+
+public class ClientSettings {
+    private String name;
+    private int retries = 3;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+}
@@ -0,0 +1,4 @@
+package com.practice.config;
+
+public class ConfigApplication {
+}
@@ -0,0 +1,24 @@
+package com.practice.config;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.io.Converter;
+
+@Component
+public class DataSizeConverter implements Converter<DataSize> {
+    @Override
+    public Class<DataSize> getTargetType() {
+        return DataSize.class;
+    }
+
+    @Override
+    public DataSize convert(String value) {
+        String s = value.trim().toUpperCase();
+        if (s.endsWith("MB")) {
+            return new DataSize(Long.parseLong(s.substring(0, s.length() - 2).trim()) * 1024 * 1024);
+        }
+        if (s.endsWith("KB")) {
+            return new DataSize(Long.parseLong(s.substring(0, s.length() - 2).trim()) * 1024);
+        }
+        return new DataSize(Long.parseLong(s));
+    }
+}
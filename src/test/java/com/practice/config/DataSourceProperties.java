@@ -0,0 +1,23 @@
+package com.practice.config;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties("app.datasource")
+public record DataSourceProperties(String url, int poolSize, Duration timeout, Mode mode, Pool pool,
+                                   List<String> hosts, List<Replica> replicas, Map<String, Integer> weights) {
+    public enum Mode {
+        READ_WRITE, READ_ONLY
+    }
+
+    public record Pool(int min, int max) {
+    }
+
+    public record Replica(String host, int port) {
+    }
+}
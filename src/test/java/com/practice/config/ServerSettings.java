@@ -0,0 +1,36 @@
+package com.practice.config;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.ConfigurationProperties;
+
+@Component
+@ConfigurationProperties("app.server")
+public class ServerSettings {
+    private String host;
+    private int port = 8080;
+    private String[] allowedOrigins;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String[] getAllowedOrigins() {
+        return allowedOrigins;
+    }
+
+    public void setAllowedOrigins(String[] allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+}
@@ -0,0 +1,13 @@
+package com.practice.config;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Value;
+
+@Component
+public class UploadService {
+    public final DataSize maxSize;
+
+    public UploadService(@Value("${app.upload.max-size:1MB}") DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
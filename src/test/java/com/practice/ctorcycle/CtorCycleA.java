@@ -0,0 +1,10 @@
+package com.practice.ctorcycle;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+
+@Component
+public class CtorCycleA {
+    public CtorCycleA(@Autowired CtorCycleB cycleB) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.practice.ctorcycle;
+
+public class CtorCycleApplication {
+}
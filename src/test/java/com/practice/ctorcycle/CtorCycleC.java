@@ -0,0 +1,14 @@
+package com.practice.ctorcycle;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Order;
+
+@Order(1)
+@Component
+public class CtorCycleC {
+    public static volatile boolean created = false;
+
+    public CtorCycleC() {
+        created = true;
+    }
+}
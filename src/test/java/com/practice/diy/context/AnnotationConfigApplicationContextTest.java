@@ -1,5 +1,6 @@
 package com.practice.diy.context;
 
+import com.practice.diy.exception.BeanNotOfRequiredTypeException;
 import com.practice.diy.io.PropertyResolver;
 import com.practice.imported.LocalDateConfiguration;
 import com.practice.imported.ZonedDateConfiguration;
@@ -124,7 +125,38 @@ public class AnnotationConfigApplicationContextTest {
     }
 
 
-    PropertyResolver createPropertyResolver() {
+    @Test
+    public void testFindBeanDefinitionByNameAndType() throws IOException {
+        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(createPropertyResolver(), ScanApplication.class)) {
+            assertNull(ctx.findBeanDefinition("missingBean", Object.class));
+            assertEquals(Sub1Bean.class, ctx.findBeanDefinition("sub1Bean", Object.class).getBeanClass());
+            assertThrows(BeanNotOfRequiredTypeException.class, () -> ctx.findBeanDefinition("sub1Bean", Sub2Bean.class));
+        }
+    }
+
+    @Test
+    public void testIgnoreComponentIndex() throws IOException {
+        PropertyResolver propertyResolver = createPropertyResolver("diy.index.ignore", "true");
+        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(propertyResolver, ScanApplication.class)) {
+            assertEquals(TeacherBean.class, ctx.getBean(PersonBean.class).getClass());
+            assertNotNull(ctx.getBean(NestBean.InnerBean.class));
+            assertNotNull(ctx.getBean("emailService"));
+            assertNotNull(ctx.getBean("startZonedDateTime"));
+        }
+    }
+
+    @Test
+    public void testParallelScan() throws IOException {
+        PropertyResolver propertyResolver = createPropertyResolver("diy.index.ignore", "true", "diy.scan.parallel", "true");
+        try (AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(propertyResolver, ScanApplication.class)) {
+            assertEquals(TeacherBean.class, ctx.getBean(PersonBean.class).getClass());
+            ctx.getBean(Sub1Bean.class);
+            ctx.getBean(Sub3Bean.class);
+            assertEquals(List.of(ctx.getBean("emailService"), ctx.getBean("smsService")), ctx.getBeans(NotificationService.class));
+        }
+    }
+
+    PropertyResolver createPropertyResolver(String... extraProperties) {
         Properties properties = new Properties();
         properties.put("app.title", "Scan App");
         properties.put("app.version", "v1.0");
@@ -144,6 +176,9 @@ public class AnnotationConfigApplicationContextTest {
         properties.put("convert.zoneddatetime", "2023-03-29T20:45:01+08:00[Asia/Shanghai]");
         properties.put("convert.duration", "P2DT3H4M");
         properties.put("convert.zoneid", "Asia/Shanghai");
+        for (int i = 0; i < extraProperties.length; i += 2) {
+            properties.put(extraProperties[i], extraProperties[i + 1]);
+        }
         PropertyResolver propertyResolver = new PropertyResolver(properties);
         return propertyResolver;
     }
@@ -0,0 +1,140 @@
+package com.practice.diy.context;
+
+import com.practice.config.ConfigApplication;
+import com.practice.config.DataSize;
+import com.practice.config.UploadService;
+import com.practice.diy.io.PropertyResolver;
+import com.practice.scan.ScanApplication;
+import com.practice.scan.cycle.CycleA;
+import com.practice.scan.destroy.AnnotationDestroyBean;
+import com.practice.scan.destroy.SpecifyDestroyBean;
+import com.practice.scan.init.ComponentInitBean;
+import com.practice.scan.init.ConfigInitHelpBean;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.primary.PersonBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AotContextGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void generateSources() throws IOException {
+        List<Path> files = new AotContextGenerator(createPropertyResolver(), ScanApplication.class).generate(this.tempDir);
+        Path initializer = this.tempDir.resolve("com/practice/scan/ScanApplication__DiyContext.java");
+        assertTrue(files.contains(initializer));
+        assertTrue(files.contains(this.tempDir.resolve("com/practice/scan/init/ScanApplication__DiyBeans.java")));
+
+        String helper = Files.readString(this.tempDir.resolve("com/practice/scan/init/ScanApplication__DiyBeans.java"));
+        assertTrue(helper.contains("context.<com.practice.scan.init.ComponentInitBean>getBean(\"componentInitBean\").appTitle = "
+                + "context.getPropertyResolver().getProperty(\"${app.title}\", java.lang.String.class);"));
+        assertTrue(helper.contains(".createSpecifyInitBean(propertyResolver.getRequiredProperty(\"${app.title}\", java.lang.String.class)"));
+        for (Path file : files) {
+            assertFalse(Files.readString(file).contains("getDeclared"), file.toString());
+        }
+    }
+
+    @Test
+    public void generatedContextMatchesReflectiveContext() throws Exception {
+        assertEquals(Map.of(
+                "componentInitBean", "Scan App / v1.0",
+                "configInitHelpBean", "Scan App / v1.0",
+                "primaryPerson", "com.practice.scan.primary.TeacherBean",
+                "notificationServices", "2",
+                "cycle", "true",
+                "startLocalDate", "true",
+                "destroyed", "true"), runGenerated(ScanApplication.class, createPropertyResolver(), Probe.class));
+    }
+
+    @Test
+    public void generatedContextRegistersConverterBeans() throws Exception {
+        Properties properties = ConfigurationPropertiesTest.createProperties();
+        properties.setProperty("app.upload.max-size", "512KB");
+        assertEquals(Map.of("maxSize", String.valueOf(512 * 1024), "sharedResolverConverts", "false"),
+                runGenerated(ConfigApplication.class, new PropertyResolver(properties), ConverterProbe.class));
+    }
+
+    private Map<?, ?> runGenerated(Class<?> configClass, PropertyResolver resolver, Class<?> probeClass) throws Exception {
+        Path sources = this.tempDir.resolve("sources");
+        Path classes = Files.createDirectories(this.tempDir.resolve("classes"));
+        List<Path> files = new AotContextGenerator(resolver, configClass).generate(sources);
+
+        String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(List.of("-classpath", classPath, "-d", classes.toString(), "-proc:none", "-nowarn"));
+        files.forEach(file -> args.add(file.toString()));
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[0])));
+
+        // generated helpers must share the runtime package of the beans, so load everything in one class loader:
+        List<URL> urls = new ArrayList<>(List.of(classes.toUri().toURL()));
+        for (String entry : classPath.split(File.pathSeparator)) {
+            urls.add(Path.of(entry).toUri().toURL());
+        }
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader())) {
+            Supplier<?> probe = (Supplier<?>) loader.loadClass(probeClass.getName()).getDeclaredConstructor().newInstance();
+            return (Map<?, ?>) probe.get();
+        }
+    }
+
+    public static class Probe implements Supplier<Map<String, String>> {
+        @Override
+        public Map<String, String> get() {
+            Map<String, String> result = new HashMap<>();
+            AnnotationDestroyBean destroyBean;
+            SpecifyDestroyBean specifyDestroyBean;
+            try (var ctx = new GeneratedApplicationContext(createPropertyResolver(), ScanApplication.class)) {
+                result.put("componentInitBean", ctx.getBean(ComponentInitBean.class).appName);
+                result.put("configInitHelpBean", ctx.getBean(ConfigInitHelpBean.class).appName);
+                result.put("primaryPerson", ctx.getBean(PersonBean.class).getClass().getName());
+                result.put("notificationServices", String.valueOf(ctx.getBeans(NotificationService.class).size()));
+                result.put("cycle", String.valueOf(ctx.getBean(CycleA.class).getCycleB().getCycleA() == ctx.getBean(CycleA.class)));
+                result.put("startLocalDate", String.valueOf(ctx.containsBean("startLocalDate")));
+                destroyBean = ctx.getBean(AnnotationDestroyBean.class);
+                specifyDestroyBean = ctx.getBean(SpecifyDestroyBean.class);
+            }
+            result.put("destroyed", String.valueOf(destroyBean.appTitle == null && specifyDestroyBean.appTitle == null));
+            return result;
+        }
+    }
+
+    public static class ConverterProbe implements Supplier<Map<String, String>> {
+        @Override
+        public Map<String, String> get() {
+            Properties properties = ConfigurationPropertiesTest.createProperties();
+            properties.setProperty("app.upload.max-size", "512KB");
+            PropertyResolver resolver = new PropertyResolver(properties);
+            Map<String, String> result = new HashMap<>();
+            try (var ctx = new GeneratedApplicationContext(resolver, ConfigApplication.class)) {
+                result.put("maxSize", String.valueOf(ctx.getBean(UploadService.class).maxSize.bytes()));
+            }
+            try {
+                resolver.getProperty("app.upload.max-size", DataSize.class);
+                result.put("sharedResolverConverts", "true");
+            } catch (IllegalArgumentException e) {
+                result.put("sharedResolverConverts", "false");
+            }
+            return result;
+        }
+    }
+
+    static PropertyResolver createPropertyResolver() {
+        Properties properties = new Properties();
+        properties.put("app.title", "Scan App");
+        properties.put("app.version", "v1.0");
+        return new PropertyResolver(properties);
+    }
+}
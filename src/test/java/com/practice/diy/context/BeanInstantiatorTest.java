@@ -0,0 +1,91 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Value;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanInstantiatorTest {
+    @Test
+    public void instantiateWithConstructor() throws Exception {
+        BeanDefinition def = new BeanDefinition("sample", Sample.class, Sample.class.getDeclaredConstructor(String.class, int.class),
+                Integer.MAX_VALUE, false, null, "close", Sample.class.getDeclaredMethod("init"), null);
+        BeanInstantiator instantiator = def.getInstantiator();
+        assertSame(instantiator, def.getInstantiator());
+
+        BeanInstantiator.InjectionParameter[] parameters = instantiator.getParameters();
+        assertEquals(2, parameters.length);
+        assertEquals(String.class, parameters[0].type());
+        assertEquals("${app.title}", parameters[0].value().value());
+        assertEquals(int.class, parameters[1].type());
+        assertNull(parameters[1].value());
+        assertNotNull(parameters[1].autowired());
+
+        Sample sample = (Sample) instantiator.instantiate(null, new Object[] {"title", 3});
+        assertEquals("title-3", sample.name);
+        assertEquals("initialized", instantiator.invokeInit(sample));
+        assertNull(instantiator.invokeDestroy(sample));
+        assertTrue(sample.closed);
+    }
+
+    @Test
+    public void instantiateWithFactoryMethod() throws Exception {
+        Method instanceMethod = SampleFactory.class.getDeclaredMethod("create", long.class);
+        BeanDefinition def = new BeanDefinition("created", Sample.class, "sampleFactory", instanceMethod,
+                Integer.MAX_VALUE, false, null, null, null, null);
+        Sample sample = (Sample) def.getInstantiator().instantiate(new SampleFactory("factory"), new Object[] {7L});
+        assertEquals("factory-7", sample.name);
+        assertNull(def.getInstantiator().invokeInit(sample));
+
+        Method staticMethod = SampleFactory.class.getDeclaredMethod("createStatic");
+        def = new BeanDefinition("createdStatic", Sample.class, "sampleFactory", staticMethod,
+                Integer.MAX_VALUE, false, null, null, null, null);
+        assertEquals("static-0", ((Sample) def.getInstantiator().instantiate(new SampleFactory("factory"), new Object[0])).name);
+    }
+
+    @Test
+    public void exceptionIsNotWrapped() throws Exception {
+        BeanDefinition def = new BeanDefinition("sample", Sample.class, Sample.class.getDeclaredConstructor(String.class, int.class),
+                Integer.MAX_VALUE, false, null, null, null, null);
+        assertThrows(IllegalArgumentException.class, () -> def.getInstantiator().instantiate(null, new Object[] {null, 1}));
+    }
+
+    static class Sample {
+        final String name;
+        boolean closed;
+
+        Sample(@Value("${app.title}") String name, @Autowired int index) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is null");
+            }
+            this.name = name + "-" + index;
+        }
+
+        String init() {
+            return "initialized";
+        }
+
+        private void close() {
+            this.closed = true;
+        }
+    }
+
+    static class SampleFactory {
+        final String prefix;
+
+        SampleFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        Sample create(long index) {
+            return new Sample(this.prefix, (int) index);
+        }
+
+        static Sample createStatic() {
+            return new Sample("static", 0);
+        }
+    }
+}
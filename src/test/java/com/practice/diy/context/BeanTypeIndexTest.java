@@ -0,0 +1,111 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.NoUniqueBeanDefinitionException;
+import com.practice.scan.mutiple.EmailNotificationService;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.mutiple.SMSService;
+import com.practice.scan.primary.PersonBean;
+import com.practice.scan.primary.StudentBean;
+import com.practice.scan.primary.TeacherBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanTypeIndexTest {
+    @Test
+    public void testSuperTypes() {
+        BeanDefinition email = createDefinition("emailService", EmailNotificationService.class, Integer.MAX_VALUE, false);
+        BeanDefinition sms = createDefinition("smsService", SMSService.class, Integer.MAX_VALUE, false);
+        BeanTypeIndex index = new BeanTypeIndex(List.of(sms, email));
+
+        assertEquals(List.of(email, sms), index.findBeanDefinitions(NotificationService.class));
+        assertEquals(List.of(email, sms), index.findBeanDefinitions(Object.class));
+        assertEquals(List.of(sms), index.findBeanDefinitions(SMSService.class));
+        assertEquals(sms, index.findBeanDefinition(SMSService.class));
+        assertEquals(List.of(), index.findBeanDefinitions(String.class));
+        assertNull(index.findBeanDefinition(String.class));
+        assertThrows(NoUniqueBeanDefinitionException.class, () -> index.findBeanDefinition(NotificationService.class));
+    }
+
+    @Test
+    public void testOrderAndPrimary() {
+        BeanDefinition student = createDefinition("studentBean", StudentBean.class, 2, false);
+        BeanDefinition teacher = createDefinition("teacherBean", TeacherBean.class, 1, true);
+        BeanTypeIndex index = new BeanTypeIndex(List.of(student, teacher));
+
+        assertEquals(List.of(teacher, student), index.findBeanDefinitions(PersonBean.class));
+        assertEquals(teacher, index.findBeanDefinition(PersonBean.class));
+    }
+
+    @Test
+    public void testArrayTypes() {
+        assertTrue(BeanTypeIndex.getSuperTypes(String[].class).containsAll(
+                List.of(String[].class, CharSequence[].class, Object[].class, Cloneable.class, Serializable.class, Object.class)));
+        assertFalse(BeanTypeIndex.getSuperTypes(int[].class).contains(Object[].class));
+    }
+
+    @Test
+    public void testLinearScaling() {
+        AtomicInteger probes = new AtomicInteger();
+        long small = countIndexProbes(2_000, probes);
+        long large = countIndexProbes(16_000, probes);
+        // 8x beans: building the index reads each definition a fixed number of times, the former lookups scanned all of them:
+        assertEquals(small * 8, large);
+
+        List<BeanDefinition> definitions = createDefinitions(16_000, probes);
+        BeanTypeIndex index = new BeanTypeIndex(definitions);
+        probes.set(0);
+        for (int i = 0; i < definitions.size(); i++) {
+            // every bean autowires one dependency by type
+            assertNotNull(index.findBeanDefinition(NotificationService.class));
+        }
+        assertSame(index.findBeanDefinitions(Object.class), index.findBeanDefinitions(Object.class));
+        assertEquals(0, probes.get());
+    }
+
+    private long countIndexProbes(int count, AtomicInteger probes) {
+        List<BeanDefinition> definitions = createDefinitions(count, probes);
+        probes.set(0);
+        new BeanTypeIndex(definitions);
+        return probes.get();
+    }
+
+    private List<BeanDefinition> createDefinitions(int count, AtomicInteger probes) {
+        List<BeanDefinition> definitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Class<?> clazz = i % 2 == 0 ? EmailNotificationService.class : SMSService.class;
+            try {
+                // counts every read of a definition's type or @Primary flag:
+                definitions.add(new BeanDefinition("bean" + i, clazz, clazz.getConstructor(), i, i == 0, null, null, null, null) {
+                    @Override
+                    public Class<?> getBeanClass() {
+                        probes.incrementAndGet();
+                        return super.getBeanClass();
+                    }
+
+                    @Override
+                    public boolean isPrimary() {
+                        probes.incrementAndGet();
+                        return super.isPrimary();
+                    }
+                });
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return definitions;
+    }
+
+    private BeanDefinition createDefinition(String name, Class<?> clazz, int order, boolean primary) {
+        try {
+            return new BeanDefinition(name, clazz, clazz.getConstructor(), order, primary, null, null, null, null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
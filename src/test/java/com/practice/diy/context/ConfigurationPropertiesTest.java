@@ -0,0 +1,93 @@
+package com.practice.diy.context;
+
+import com.practice.config.*;
+import com.practice.diy.exception.BeanCreationException;
+import com.practice.diy.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigurationPropertiesTest {
+    @Test
+    public void bindConfigurationProperties() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(createProperties()), ConfigApplication.class)) {
+            DataSourceProperties dataSource = ctx.getBean(DataSourceProperties.class);
+            assertEquals("jdbc:h2:mem:test", dataSource.url());
+            assertEquals(16, dataSource.poolSize());
+            assertEquals(Duration.ofSeconds(30), dataSource.timeout());
+            assertEquals(DataSourceProperties.Mode.READ_ONLY, dataSource.mode());
+            assertEquals(new DataSourceProperties.Pool(2, 0), dataSource.pool());
+            assertEquals(List.of("db1", "db2", "db3"), dataSource.hosts());
+            assertEquals(List.of(new DataSourceProperties.Replica("replica1", 5432), new DataSourceProperties.Replica("replica2", 5433)),
+                    dataSource.replicas());
+            assertEquals(Map.of("db1", 3, "db2", 1), dataSource.weights());
+
+            ServerSettings server = ctx.getBean(ServerSettings.class);
+            assertEquals("localhost", server.getHost());
+            assertEquals(8080, server.getPort());
+            assertArrayEquals(new String[] { "https://a.example.com", "https://b.example.com" }, server.getAllowedOrigins());
+
+            ClientSettings client = ctx.getBean(ClientSettings.class);
+            assertEquals("default-client", client.getName());
+            assertEquals(5, client.getRetries());
+        }
+    }
+
+    @Test
+    public void converterBeans() throws IOException {
+        Properties properties = createProperties();
+        properties.setProperty("app.upload.max-size", "512KB");
+        properties.setProperty("diy.refresh.parallel", "true");
+        PropertyResolver resolver = createPropertyResolver(properties);
+        try (var ctx = new AnnotationConfigApplicationContext(resolver, ConfigApplication.class)) {
+            assertEquals(new DataSize(512 * 1024), ctx.getBean(UploadService.class).maxSize);
+        }
+        // the converter bean was registered on the context only:
+        assertThrows(IllegalArgumentException.class, () -> resolver.getProperty("app.upload.max-size", DataSize.class));
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(createProperties()), ConfigApplication.class)) {
+            assertEquals(new DataSize(1024 * 1024), ctx.getBean(UploadService.class).maxSize);
+        }
+    }
+
+    @Test
+    public void invalidValueNamesKey() {
+        Properties properties = createProperties();
+        properties.setProperty("app.datasource.replicas[1].port", "fifty");
+        BeanCreationException e = assertThrows(BeanCreationException.class,
+                () -> new AnnotationConfigApplicationContext(createPropertyResolver(properties), ConfigApplication.class));
+        assertTrue(e.getMessage().contains("'app.datasource.replicas[1].port'"), e.getMessage());
+    }
+
+    static Properties createProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("app.datasource.url", "jdbc:h2:mem:${app.db-name}");
+        properties.setProperty("app.db-name", "test");
+        properties.setProperty("app.datasource.pool-size", "16");
+        properties.setProperty("app.datasource.timeout", "PT30S");
+        properties.setProperty("app.datasource.mode", "READ_ONLY");
+        properties.setProperty("app.datasource.pool.min", "2");
+        properties.setProperty("app.datasource.hosts", "db1, db2,db3");
+        properties.setProperty("app.datasource.replicas[0].host", "replica1");
+        properties.setProperty("app.datasource.replicas[0].port", "5432");
+        properties.setProperty("app.datasource.replicas[1].host", "replica2");
+        properties.setProperty("app.datasource.replicas[1].port", "5433");
+        properties.setProperty("app.datasource.weights.db1", "3");
+        properties.setProperty("app.datasource.weights.db2", "1");
+        properties.setProperty("app.datasource.unknown", "ignored");
+        properties.setProperty("app.server.host", "localhost");
+        properties.setProperty("app.server.allowed-origins[0]", "https://a.example.com");
+        properties.setProperty("app.server.allowed-origins[1]", "https://b.example.com");
+        properties.setProperty("app.client.retries", "5");
+        return properties;
+    }
+
+    private PropertyResolver createPropertyResolver(Properties properties) {
+        return new PropertyResolver(properties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.practice.diy.context;
+
+import com.practice.diy.exception.NoUniqueBeanDefinitionException;
+import com.practice.scan.mutiple.EmailNotificationService;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.mutiple.SMSService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrozenBeanTableTest {
+    @Test
+    public void lookupByNameAndType() {
+        BeanDefinition email = createDefinition("emailService", new EmailNotificationService());
+        BeanDefinition sms = createDefinition("smsService", new SMSService());
+        FrozenBeanTable table = createTable(List.of(sms, email), def -> fail("unexpected resolve of " + def.getName()));
+
+        assertTrue(table.containsBean("smsService"));
+        assertFalse(table.containsBean("missing"));
+        assertSame(email, table.findBeanDefinition("emailService"));
+        assertSame(sms.getInstance(), table.getBean("smsService"));
+        assertSame(sms.getInstance(), table.getBean(SMSService.class));
+        assertNull(table.getBean("missing"));
+        assertNull(table.getBean(String.class));
+        assertEquals(List.of(email.getInstance(), sms.getInstance()), table.getBeans(NotificationService.class));
+        assertSame(table.getBeans(NotificationService.class), table.getBeans(NotificationService.class));
+        assertEquals(List.of(), table.getBeans(String.class));
+        assertThrows(NoUniqueBeanDefinitionException.class, () -> table.getBean(NotificationService.class));
+    }
+
+    @Test
+    public void resolveUninitializedBeans() {
+        BeanDefinition email = createDefinition("emailService", new EmailNotificationService());
+        BeanDefinition sms = new BeanDefinition("smsService", SMSService.class, Integer.MAX_VALUE, false);
+        SMSService lazy = new SMSService();
+        AtomicInteger resolved = new AtomicInteger();
+        FrozenBeanTable table = createTable(List.of(sms, email), def -> {
+            resolved.incrementAndGet();
+            return def == sms ? lazy : def.getRequiredInstance();
+        });
+
+        assertSame(lazy, table.getBean("smsService"));
+        assertSame(lazy, table.getBean(SMSService.class));
+        assertEquals(List.of(email.getInstance(), lazy), table.getBeans(NotificationService.class));
+        assertEquals(4, resolved.get());
+    }
+
+    @Test
+    public void concurrentLookup() throws Exception {
+        List<BeanDefinition> definitions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            definitions.add(createDefinition("bean" + i, i % 2 == 0 ? new EmailNotificationService() : new SMSService()));
+        }
+        BeanDefinition primary = createDefinition("primary", new PrimaryService());
+        definitions.add(primary);
+        FrozenBeanTable table = createTable(definitions, def -> fail("unexpected resolve of " + def.getName()));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        BeanDefinition def = definitions.get((i + offset) % definitions.size());
+                        assertSame(def.getInstance(), table.getBean(def.getName()));
+                        assertSame(primary.getInstance(), table.getBean(PrimaryService.class));
+                        assertEquals(250, table.getBeans(SMSService.class).size());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static FrozenBeanTable createTable(List<BeanDefinition> definitions, java.util.function.Function<BeanDefinition, Object> resolver) {
+        return new FrozenBeanTable(definitions, new BeanTypeIndex(definitions), resolver);
+    }
+
+    private static BeanDefinition createDefinition(String name, Object instance) {
+        BeanDefinition def = new BeanDefinition(name, instance.getClass(), Integer.MAX_VALUE, false);
+        def.setInstance(instance);
+        def.setInitialized();
+        return def;
+    }
+
+    static class PrimaryService {
+    }
+}
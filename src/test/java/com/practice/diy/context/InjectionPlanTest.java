@@ -0,0 +1,72 @@
+package com.practice.diy.context;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Value;
+import com.practice.diy.exception.BeanDefinitionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionPlanTest {
+    @Test
+    public void planIsCachedPerClass() {
+        assertSame(InjectionPlan.forClass(ChildBean.class), InjectionPlan.forClass(ChildBean.class));
+        assertNotSame(InjectionPlan.forClass(ChildBean.class), InjectionPlan.forClass(ParentBean.class));
+    }
+
+    @Test
+    public void collectInjectionPoints() {
+        InjectionPlan.InjectionPoint[] points = InjectionPlan.forClass(ChildBean.class).getPoints();
+        assertEquals(List.of("port", "setName", "title"), Arrays.stream(points).map(InjectionPlan.InjectionPoint::name).toList());
+        assertEquals(ChildBean.class, points[0].declaringClass());
+        assertEquals(int.class, points[0].type());
+        assertNotNull(points[1].autowired());
+        assertEquals(String.class, points[1].type());
+        assertEquals(ParentBean.class, points[2].declaringClass());
+        assertEquals("${app.title}", points[2].value().value());
+    }
+
+    @Test
+    public void injectWithWriters() throws Throwable {
+        ChildBean bean = new ChildBean();
+        InjectionPlan.InjectionPoint[] points = InjectionPlan.forClass(ChildBean.class).getPoints();
+        points[0].inject(bean, 8080);
+        points[1].inject(bean, "child");
+        points[2].inject(bean, "title");
+        assertEquals(8080, bean.port);
+        assertEquals("child", bean.name);
+        assertEquals("title", ((ParentBean) bean).title);
+    }
+
+    @Test
+    public void rejectStaticField() {
+        BeanDefinitionException e = assertThrows(BeanDefinitionException.class, () -> InjectionPlan.forClass(StaticFieldBean.class));
+        assertTrue(e.getMessage().startsWith("Cannot inject static field"));
+    }
+
+    static class ParentBean {
+        @Value("${app.title}")
+        private String title;
+    }
+
+    static class ChildBean extends ParentBean {
+        @Value("${app.port}")
+        private int port;
+
+        String name;
+
+        @Autowired
+        private String setName(String name) {
+            this.name = name;
+            return name;
+        }
+    }
+
+    static class StaticFieldBean {
+        @Value("${app.title}")
+        static String title;
+    }
+}
@@ -0,0 +1,89 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.PropertyResolver;
+import com.practice.lazy.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyBeanTest {
+    @BeforeEach
+    public void reset() {
+        LazyApplication.CREATED.clear();
+        ExpensiveServiceImpl.INSTANCES.set(0);
+    }
+
+    @Test
+    public void testLazyBeans() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("false"), LazyApplication.class)) {
+            assertEquals(Set.of("LazyClient", "EagerBean", "PromotedBean"), LazyApplication.CREATED);
+
+            LazyClient client = ctx.getBean(LazyClient.class);
+            assertEquals("Lazy proxy of bean 'expensiveServiceImpl'", client.service.toString());
+            assertEquals(0, ExpensiveServiceImpl.INSTANCES.get());
+
+            assertEquals("work:true", client.service.work());
+            assertEquals(1, ExpensiveServiceImpl.INSTANCES.get());
+            assertSame(ctx.getBean(ExpensiveServiceImpl.class), client.supplier.get());
+
+            LazyReport report = ctx.getBean("lazyReport");
+            assertEquals("Lazy App", report.title);
+            assertSame(client.supplier.get(), report.service);
+            assertEquals(1, ExpensiveServiceImpl.INSTANCES.get());
+        }
+    }
+
+    @Test
+    public void testLazyByDefault() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true"), LazyApplication.class)) {
+            assertEquals(Set.of("EagerBean", "PromotedBean"), LazyApplication.CREATED);
+
+            LazyReport report = ctx.getBean(LazyReport.class);
+            assertEquals("work:true", report.service.work());
+            assertEquals(Set.of("EagerBean", "PromotedBean", "LazyReport", "ExpensiveServiceImpl", "LazyDependency"), LazyApplication.CREATED);
+            assertNotNull(ctx.getBean(LazyClient.class));
+        }
+    }
+
+    @Test
+    public void testConcurrentFirstAccess() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true"), LazyApplication.class)) {
+            int threads = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    boolean report = i % 2 == 0;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return report ? ((LazyReport) ctx.getBean(LazyReport.class)).service : ctx.getBean(ExpensiveService.class);
+                    }));
+                }
+                start.countDown();
+                Object first = futures.get(0).get(10, TimeUnit.SECONDS);
+                for (Future<Object> future : futures) {
+                    assertSame(first, future.get(10, TimeUnit.SECONDS));
+                }
+                assertEquals(1, ExpensiveServiceImpl.INSTANCES.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private PropertyResolver createPropertyResolver(String lazyInit) {
+        Properties properties = new Properties();
+        properties.put("app.title", "Lazy App");
+        properties.put("diy.lazy-init", lazyInit);
+        return new PropertyResolver(properties);
+    }
+}
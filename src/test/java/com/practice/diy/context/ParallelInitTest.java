@@ -0,0 +1,52 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.PropertyResolver;
+import com.practice.init.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelInitTest {
+    @Test
+    public void testInitOrder() throws IOException {
+        for (String parallel : new String[] {"false", "true"}) {
+            try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(parallel), InitApplication.class)) {
+                WarmCache cache = ctx.getBean(WarmCache.class);
+                PrimedConnection connection = ctx.getBean("connA");
+                InitService service = ctx.getBean(InitService.class);
+                assertTrue(service.dependenciesReady);
+                assertTrue(service.initializedAt > cache.warmedAt);
+                assertTrue(service.initializedAt > connection.primedAt);
+                assertTrue(ctx.getBean(InitCycleA.class).initialized);
+                assertTrue(ctx.getBean(InitCycleB.class).initialized);
+                assertTrue(((PrimedConnection) ctx.getBean("connC")).primedAt != 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSlowInitsOverlap() throws IOException {
+        // the three connections must be priming at the same time to get past the latch:
+        PrimedConnection.rendezvous = new CountDownLatch(3);
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true"), InitApplication.class)) {
+            List<PrimedConnection> connections = ctx.getBeans(PrimedConnection.class);
+            assertEquals(3, connections.size());
+            assertTrue(connections.stream().allMatch(connection -> connection.overlapped));
+        } finally {
+            PrimedConnection.rendezvous = null;
+        }
+    }
+
+    private PropertyResolver createPropertyResolver(String parallel) {
+        Properties properties = new Properties();
+        properties.put("init.delay", "100");
+        properties.put("diy.refresh.parallel", parallel);
+        properties.put("diy.refresh.threads", "4");
+        return new PropertyResolver(properties);
+    }
+}
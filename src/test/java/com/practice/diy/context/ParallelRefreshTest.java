@@ -0,0 +1,85 @@
+package com.practice.diy.context;
+
+import com.practice.ctorcycle.CtorCycleApplication;
+import com.practice.ctorcycle.CtorCycleC;
+import com.practice.diy.exception.UnsatisfiedDependencyException;
+import com.practice.diy.io.PropertyResolver;
+import com.practice.scan.ScanApplication;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.primary.PersonBean;
+import com.practice.scan.primary.TeacherBean;
+import com.practice.scan.sub1.Sub1Bean;
+import com.practice.slow.SlowAggregator;
+import com.practice.slow.SlowApplication;
+import com.practice.slow.SlowBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelRefreshTest {
+    @Test
+    public void testParallelRefresh() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true"), ScanApplication.class)) {
+            assertEquals(TeacherBean.class, ctx.getBean(PersonBean.class).getClass());
+            assertNotNull(ctx.getBean(Sub1Bean.class));
+            assertEquals(2, ctx.getBeans(NotificationService.class).size());
+            assertNotNull(ctx.getBean("startZonedDateTime"));
+        }
+    }
+
+    @Test
+    public void testDependencyOrder() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true"), SlowApplication.class)) {
+            SlowAggregator aggregator = ctx.getBean(SlowAggregator.class);
+            assertEquals("slowA", aggregator.first.name);
+            assertEquals("slowF", aggregator.second.name);
+            assertTrue(aggregator.createdAt > aggregator.first.createdAt);
+            assertTrue(aggregator.createdAt > aggregator.second.createdAt);
+        }
+    }
+
+    @Test
+    public void testCycleDetectedBeforeCreation() {
+        CtorCycleC.created = false;
+        UnsatisfiedDependencyException e = assertThrows(UnsatisfiedDependencyException.class,
+                () -> new AnnotationConfigApplicationContext(createPropertyResolver("true"), CtorCycleApplication.class));
+        assertTrue(e.getMessage().startsWith("Circular dependency detected"));
+        assertFalse(CtorCycleC.created);
+
+        assertThrows(UnsatisfiedDependencyException.class,
+                () -> new AnnotationConfigApplicationContext(createPropertyResolver("false"), CtorCycleApplication.class));
+        assertTrue(CtorCycleC.created);
+    }
+
+    @Test
+    public void testSlowBeansOverlap() throws IOException {
+        // all six independent beans must be inside their constructors at the same time to get past the latch:
+        SlowBean.rendezvous = new CountDownLatch(6);
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("true", "0"), SlowApplication.class)) {
+            List<SlowBean> beans = ctx.getBeans(SlowBean.class);
+            assertEquals(6, beans.size());
+            assertTrue(beans.stream().allMatch(bean -> bean.overlapped));
+        } finally {
+            SlowBean.rendezvous = null;
+        }
+    }
+
+    private PropertyResolver createPropertyResolver(String parallel) {
+        return createPropertyResolver(parallel, "100");
+    }
+
+    private PropertyResolver createPropertyResolver(String parallel, String delay) {
+        Properties properties = new Properties();
+        properties.put("app.title", "Scan App");
+        properties.put("app.version", "v1.0");
+        properties.put("slow.delay", delay);
+        properties.put("diy.refresh.parallel", parallel);
+        properties.put("diy.refresh.threads", "6");
+        return new PropertyResolver(properties);
+    }
+}
@@ -0,0 +1,137 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.*;
+import com.practice.refresh.PoolSettings;
+import com.practice.refresh.RefreshApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyRefreshTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void reinjectChangedKeys() throws Exception {
+        Path file = this.tempDir.resolve("app.properties");
+        Files.writeString(file, "app.timeout=10\napp.pool-size=4\napp.host=localhost\n");
+        PropertySources sources = new PropertySources(new FilePropertySource(file), new PropertiesPropertySource("properties", createProperties()));
+
+        try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(sources), RefreshApplication.class)) {
+            PoolSettings settings = ctx.getBean(PoolSettings.class);
+            assertEquals(10, settings.timeout);
+            assertEquals(4, settings.poolSize);
+            assertEquals("http://localhost", settings.url);
+            settings.name = "changed by bean";
+
+            write(file, "app.timeout=20\napp.pool-size=4\napp.host=example.com\n");
+            await(() -> settings.timeout == 20 && !settings.changes.isEmpty());
+            assertEquals("http://example.com", settings.url);
+            assertEquals(1, settings.poolSizeInjections);
+            assertEquals("changed by bean", settings.name);
+            assertEquals(List.of(Set.of("app.timeout", "app.host")), settings.changes);
+
+            write(file, "app.timeout=20\napp.pool-size=8\napp.host=example.com\n");
+            await(() -> settings.poolSize == 8);
+            assertEquals(2, settings.poolSizeInjections);
+            assertEquals(20, settings.timeout);
+        }
+    }
+
+    @Test
+    public void invalidValueLeavesBeansUntouched() throws IOException {
+        Map<String, String> values = new ConcurrentHashMap<>(Map.of("app.timeout", "10", "app.pool-size", "4", "app.host", "localhost"));
+        PropertySources sources = new PropertySources(new MapPropertySource("values", values), new PropertiesPropertySource("properties", createProperties()));
+
+        try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(sources), RefreshApplication.class)) {
+            PoolSettings settings = ctx.getBean(PoolSettings.class);
+            values.put("app.timeout", "30");
+            values.put("app.pool-size", "many");
+            sources.invalidate();
+            assertThrows(NumberFormatException.class, () -> ctx.refreshProperties(Set.of("app.timeout", "app.pool-size")));
+            assertEquals(10, settings.timeout);
+            assertEquals(4, settings.poolSize);
+            assertTrue(settings.changes.isEmpty());
+
+            values.put("app.pool-size", "6");
+            sources.invalidate();
+            ctx.refreshProperties(Set.of("app.timeout", "app.pool-size"));
+            assertEquals(30, settings.timeout);
+            assertEquals(6, settings.poolSize);
+        }
+    }
+
+    @Test
+    public void deletedKeyLeavesBeansUntouched() throws IOException {
+        Map<String, String> values = new ConcurrentHashMap<>(Map.of("app.timeout", "10", "app.pool-size", "4", "app.host", "localhost"));
+        PropertySources sources = new PropertySources(new MapPropertySource("values", values), new PropertiesPropertySource("properties", createProperties()));
+
+        try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(sources), RefreshApplication.class)) {
+            PoolSettings settings = ctx.getBean(PoolSettings.class);
+            values.put("app.timeout", "30");
+            values.remove("app.pool-size");
+            sources.invalidate();
+            assertThrows(IllegalStateException.class, () -> ctx.refreshProperties(Set.of("app.timeout", "app.pool-size")));
+            assertEquals(10, settings.timeout);
+            assertEquals(4, settings.poolSize);
+            assertEquals(1, settings.poolSizeInjections);
+            assertTrue(settings.changes.isEmpty());
+        }
+    }
+
+    @Test
+    public void reinjectRelaxedKeys() throws IOException {
+        Map<String, String> environment = new ConcurrentHashMap<>();
+        Map<String, String> values = Map.of("app.timeout", "10", "app.pool-size", "4", "app.host", "localhost");
+        PropertySources sources = new PropertySources(new MapPropertySource("environment", environment),
+                new MapPropertySource("values", values), new PropertiesPropertySource("properties", createProperties()));
+
+        try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(sources), RefreshApplication.class)) {
+            PoolSettings settings = ctx.getBean(PoolSettings.class);
+            environment.put("APP_POOL_SIZE", "12");
+            sources.invalidate();
+            ctx.refreshProperties(Set.of("APP_POOL_SIZE"));
+            assertEquals(12, settings.poolSize);
+
+            environment.put("app.poolSize", "16");
+            environment.remove("APP_POOL_SIZE");
+            sources.invalidate();
+            ctx.refreshProperties(Set.of("app.poolSize", "APP_POOL_SIZE"));
+            assertEquals(16, settings.poolSize);
+            assertEquals(10, settings.timeout);
+        }
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Path temp = Files.writeString(this.tempDir.resolve("app.properties.tmp"), content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "properties were not refreshed");
+            Thread.sleep(20);
+        }
+    }
+
+    private Properties createProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("diy.properties.refresh", "true");
+        properties.setProperty("app.name", "Refresh App");
+        properties.setProperty("app.url", "http://${app.host}");
+        return properties;
+    }
+}
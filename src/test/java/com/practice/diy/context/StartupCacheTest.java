@@ -0,0 +1,107 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.PropertyResolver;
+import com.practice.imported.LocalDateConfiguration;
+import com.practice.scan.ScanApplication;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.primary.DogBean;
+import com.practice.scan.primary.PersonBean;
+import com.practice.scan.primary.TeacherBean;
+import com.practice.scan.sub1.Sub1Bean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void storeAndLoad() throws IOException {
+        Path file = this.tempDir.resolve("startup.cache");
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(file), ScanApplication.class)) {
+            assertNotNull(ctx.getBean(Sub1Bean.class));
+        }
+        assertTrue(Files.isRegularFile(file));
+
+        StartupCache startupCache = new StartupCache(file, getClass().getClassLoader());
+        long fingerprint = startupCache.fingerprint(ScanApplication.class, List.of("com.practice.scan"), true);
+        Map<String, BeanDefinition> definitions = startupCache.load(fingerprint);
+        assertNotNull(definitions);
+        assertEquals(List.of("sub2Bean"), definitions.get("sub1Bean").getDependsOn());
+        assertEquals(List.of("smsService"), definitions.get("notificationManager").getDependsOn());
+        assertEquals("primaryConfiguration", definitions.get("husky").getFactoryName());
+        assertTrue(definitions.get("husky").isPrimary());
+        assertNotNull(definitions.get("annotationDestroyBean").getDestroyMethod());
+        assertEquals("init", definitions.get("createSpecifyInitBean").getInitMethodName());
+
+        assertNull(startupCache.load(fingerprint + 1));
+    }
+
+    @Test
+    public void fingerprintCoversImportsAndIndex() throws Exception {
+        StartupCache startupCache = new StartupCache(this.tempDir.resolve("startup.cache"), getClass().getClassLoader());
+        long fingerprint = startupCache.fingerprint(ScanApplication.class, List.of("com.practice.scan"), true);
+        assertNotEquals(fingerprint, startupCache.fingerprint(ScanApplication.class, List.of("com.practice.scan"), false));
+
+        // the imported configuration lives outside com.practice.scan:
+        Path imported = Path.of(LocalDateConfiguration.class.getResource("LocalDateConfiguration.class").toURI());
+        FileTime modified = Files.getLastModifiedTime(imported);
+        try {
+            Files.setLastModifiedTime(imported, FileTime.fromMillis(modified.toMillis() + 60_000));
+            assertNotEquals(fingerprint, startupCache.fingerprint(ScanApplication.class, List.of("com.practice.scan"), true));
+        } finally {
+            Files.setLastModifiedTime(imported, modified);
+        }
+        assertEquals(fingerprint, startupCache.fingerprint(ScanApplication.class, List.of("com.practice.scan"), true));
+    }
+
+    @Test
+    public void warmStart() throws IOException {
+        Path file = this.tempDir.resolve("startup.cache");
+        PropertyResolver resolver = createPropertyResolver(file);
+        resolver.setProperty("diy.startup-report.enabled", "true");
+        try (var ctx = new AnnotationConfigApplicationContext(resolver, ScanApplication.class)) {
+            assertTrue(ctx.getStartupReport().getPhase(StartupReport.PHASE_SCAN).isPresent());
+        }
+        try (var ctx = new AnnotationConfigApplicationContext(resolver, ScanApplication.class)) {
+            // a warm start neither scans nor resolves dependency edges again:
+            assertTrue(ctx.getStartupReport().getPhase(StartupReport.PHASE_SCAN).isEmpty());
+            BeanDefinition sub1Bean = ctx.findBeanDefinition("sub1Bean");
+            assertTrue(sub1Bean.isDependsOnResolved());
+            assertSame(sub1Bean.getDependsOn(), ctx.resolveDependencies(sub1Bean));
+            assertEquals(List.of("sub2Bean"), sub1Bean.getDependsOn());
+
+            assertEquals(TeacherBean.class, ctx.getBean(PersonBean.class).getClass());
+            assertEquals("Husky", ctx.getBean(DogBean.class).type);
+            assertEquals(2, ctx.getBeans(NotificationService.class).size());
+            assertNotNull(ctx.getBean("startZonedDateTime"));
+        }
+    }
+
+    @Test
+    public void corruptedCache() throws IOException {
+        Path file = Files.writeString(this.tempDir.resolve("startup.cache"), "garbage");
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(file), ScanApplication.class)) {
+            assertNotNull(ctx.getBean(Sub1Bean.class));
+        }
+        assertTrue(Files.size(file) > "garbage".length());
+    }
+
+    private PropertyResolver createPropertyResolver(Path file) {
+        Properties properties = new Properties();
+        properties.put("app.title", "Scan App");
+        properties.put("app.version", "v1.0");
+        properties.put("diy.startup-cache.file", file.toString());
+        return new PropertyResolver(properties);
+    }
+}
@@ -0,0 +1,77 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.PropertyResolver;
+import com.practice.scan.ScanApplication;
+import com.practice.slow.SlowApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupReportTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPhasesAndBeans() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("diy.startup-report.enabled", "true"), SlowApplication.class)) {
+            StartupReport report = ctx.getStartupReport();
+            assertNotNull(report);
+            assertEquals(List.of(StartupReport.PHASE_SCAN, StartupReport.PHASE_DEFINITIONS, StartupReport.PHASE_CONFIGURATION_BEANS,
+                            StartupReport.PHASE_NORMAL_BEANS, StartupReport.PHASE_INJECTION, StartupReport.PHASE_INIT),
+                    report.getPhases().stream().map(StartupReport.PhaseTiming::name).toList());
+            long delay = TimeUnit.MILLISECONDS.toNanos(20);
+            assertTrue(report.getPhase(StartupReport.PHASE_NORMAL_BEANS).orElseThrow().durationNanos() >= 6 * delay);
+            assertTrue(report.getTotalNanos() >= 6 * delay);
+
+            StartupReport.BeanTiming slowA = report.getBean("slowA").orElseThrow();
+            assertEquals("com.practice.slow.SlowBean", slowA.type());
+            assertTrue(slowA.construction().inclusiveNanos() >= delay);
+            assertEquals(1, slowA.construction().reflectiveCalls());
+            assertNotNull(slowA.injection());
+            assertNotNull(slowA.init());
+            assertEquals(0, slowA.init().reflectiveCalls());
+
+            // slowF is created on demand while constructing the aggregator:
+            StartupReport.StepTiming aggregator = report.getBean("slowAggregator").orElseThrow().construction();
+            assertTrue(aggregator.inclusiveNanos() >= delay);
+            assertTrue(aggregator.exclusiveNanos() <= aggregator.inclusiveNanos() - delay);
+        }
+    }
+
+    @Test
+    public void testJsonDump() throws IOException {
+        Path file = this.tempDir.resolve("startup.json");
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("diy.startup-report.file", file.toString()), ScanApplication.class)) {
+            String json = Files.readString(file);
+            assertTrue(json.startsWith("{\"totalNanos\":"));
+            assertTrue(json.contains("{\"name\":\"scan\",\"startNanos\":"));
+            assertTrue(json.contains("\"construction\":{\"inclusiveNanos\":"));
+            assertTrue(json.contains("\"type\":\"com.practice.scan.sub1.Sub1Bean\""));
+            assertEquals(ctx.getStartupReport().getBeans().size(), json.split("\"type\":").length - 1);
+        }
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver("diy.startup-report.enabled", "false"), ScanApplication.class)) {
+            assertNull(ctx.getStartupReport());
+        }
+    }
+
+    private PropertyResolver createPropertyResolver(String key, String value) {
+        Properties properties = new Properties();
+        properties.put("app.title", "Scan App");
+        properties.put("app.version", "v1.0");
+        properties.put("slow.delay", "20");
+        properties.put(key, value);
+        return new PropertyResolver(properties);
+    }
+}
@@ -0,0 +1,43 @@
+package com.practice.diy.context;
+
+import com.practice.diy.io.PropertyResolver;
+import com.practice.diy.support.SyntheticClasspath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupScalingTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testDirectoryAndJarLayouts() throws Exception {
+        SyntheticClasspath classpath = SyntheticClasspath.builder("synthetic.layout")
+                .components(120).fanOut(3).maxFanIn(4).configurations(3, 4).valueFields(5).packageDepth(4).build();
+        Path classes = classpath.compile(this.tempDir.resolve("layout"));
+        Path jar = SyntheticClasspath.createJar(classes, this.tempDir.resolve("layout.jar"));
+
+        for (Path root : List.of(classes, jar)) {
+            try (URLClassLoader loader = SyntheticClasspath.newClassLoader(root);
+                 var ctx = refresh(classpath, loader)) {
+                assertEquals(classpath.getBeanCount(), ctx.getBeanDefinitions().size(), root.toString());
+                Object component = ctx.getBean(SyntheticClasspath.componentBeanName(119));
+                assertTrue(component.getClass().getName().endsWith(".level3.Component119"));
+                assertNotNull(component.getClass().getField("value0").get(component));
+                assertNotNull(ctx.getBean("product2_3"));
+            } finally {
+                Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+            }
+        }
+    }
+
+    private AnnotationConfigApplicationContext refresh(SyntheticClasspath classpath, URLClassLoader loader) throws Exception {
+        Thread.currentThread().setContextClassLoader(loader);
+        return new AnnotationConfigApplicationContext(new PropertyResolver(classpath.getProperties()), loader.loadClass(classpath.getApplicationClassName()));
+    }
+}
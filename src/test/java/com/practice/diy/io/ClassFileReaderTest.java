@@ -0,0 +1,61 @@
+package com.practice.diy.io;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.Primary;
+import com.practice.scan.mutiple.NotificationService;
+import com.practice.scan.nest.NestBean;
+import com.practice.scan.primary.PrimaryConfiguration;
+import com.practice.scan.primary.TeacherBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassFileReaderTest {
+    @Test
+    public void readClass() throws IOException {
+        ClassMetadata metadata = read(TeacherBean.class);
+        assertEquals(TeacherBean.class.getName(), metadata.className());
+        assertEquals("com.practice.scan.primary.PersonBean", metadata.superClassName());
+        assertEquals(List.of(Primary.class.getName(), Component.class.getName()), metadata.annotationNames());
+        assertFalse(metadata.isInterface() || metadata.isAbstract() || metadata.isAnnotation() || metadata.isEnum());
+
+        assertEquals(NestBean.InnerBean.class.getName(), read(NestBean.InnerBean.class).className());
+    }
+
+    @Test
+    public void readTypeKinds() throws IOException {
+        assertTrue(read(NotificationService.class).isInterface());
+        assertTrue(read(Component.class).isAnnotation());
+        assertTrue(read(RetentionPolicy.class).isEnum());
+        assertTrue(read(ComponentCandidate.class).isRecord());
+    }
+
+    @Test
+    public void metaAnnotations() throws IOException {
+        ClassFileReader reader = new ClassFileReader(getClass().getClassLoader());
+        ClassMetadata metadata = read(PrimaryConfiguration.class);
+        assertEquals(List.of(Configuration.class.getName()), metadata.annotationNames());
+        assertTrue(reader.hasAnnotation(metadata, Configuration.class.getName()));
+        assertTrue(reader.hasAnnotation(metadata, Component.class.getName()));
+        assertFalse(reader.hasAnnotation(metadata, Primary.class.getName()));
+        assertFalse(reader.hasAnnotation(read(NotificationService.class), Component.class.getName()));
+    }
+
+    @Test
+    public void malformed() {
+        assertThrows(IllegalArgumentException.class, () -> ClassFileReader.read(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+        assertThrows(IllegalArgumentException.class, () -> ClassFileReader.read(new byte[] {(byte) 0xCA, (byte) 0xFE}));
+    }
+
+    private ClassMetadata read(Class<?> clazz) throws IOException {
+        try (InputStream input = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            return ClassFileReader.read(input);
+        }
+    }
+}
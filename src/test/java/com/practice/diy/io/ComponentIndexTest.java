@@ -0,0 +1,48 @@
+package com.practice.diy.io;
+
+import com.practice.imported.LocalDateConfiguration;
+import com.practice.scan.mutiple.EmailNotificationService;
+import com.practice.scan.nest.NestBean;
+import com.practice.scan.primary.DogBean;
+import com.practice.scan.primary.TeacherBean;
+import com.practice.scan.sub1.sub2.sub3.Sub3Bean;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentIndexTest {
+    @Test
+    public void generatedIndex() {
+        ComponentIndex index = ComponentIndex.load(getClass().getClassLoader());
+        assertNotNull(index);
+
+        ComponentCandidate email = index.getCandidate(EmailNotificationService.class.getName());
+        assertEquals(new ComponentCandidate(EmailNotificationService.class.getName(),
+                ComponentCandidate.STEREOTYPE_COMPONENT, "emailService", Integer.MAX_VALUE, false), email);
+
+        assertTrue(index.getCandidate(TeacherBean.class.getName()).primary());
+        assertTrue(index.getCandidate(LocalDateConfiguration.class.getName()).isConfiguration());
+        assertEquals("innerBean", index.getCandidate(NestBean.InnerBean.class.getName()).beanName());
+        assertNull(index.getCandidate(DogBean.class.getName()));
+    }
+
+    @Test
+    public void candidatesByPackage() {
+        ComponentIndex index = ComponentIndex.load(getClass().getClassLoader());
+        List<String> classNames = index.getCandidates("com.practice.scan.sub1.sub2").stream()
+                .map(ComponentCandidate::className)
+                .toList();
+        assertEquals(List.of("com.practice.scan.sub1.sub2.Sub2Bean", Sub3Bean.class.getName()), classNames);
+    }
+
+    @Test
+    public void indexedRoots() {
+        ComponentIndex index = ComponentIndex.load(getClass().getClassLoader());
+        String testClasses = getClass().getProtectionDomain().getCodeSource().getLocation().toString();
+        assertTrue(index.isIndexedRoot(testClasses.substring(0, testClasses.length() - 1)));
+        String mainClasses = ComponentIndex.class.getProtectionDomain().getCodeSource().getLocation().toString();
+        assertFalse(index.isIndexedRoot(mainClasses.substring(0, mainClasses.length() - 1)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.practice.diy.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Month;
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConverterTest {
+    public record Version(int major, int minor) {
+    }
+
+    public static class VersionConverter implements Converter<Version> {
+        @Override
+        public Class<Version> getTargetType() {
+            return Version.class;
+        }
+
+        @Override
+        public Version convert(String value) {
+            String[] parts = value.split("\\.");
+            return new Version(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    public record Color(String hex) {
+        public static Color of(String hex) {
+            return new Color(hex.toLowerCase());
+        }
+    }
+
+    public static class Unconvertible {
+    }
+
+    @Test
+    public void builtInAndDiscoveredConverters() {
+        PropertyResolver resolver = createResolver(Map.of(
+                "month", "MARCH",
+                "year", "2024",
+                "amount", "12.50",
+                "color", "#FFAA00",
+                "uri", "https://example.com/a",
+                "path", "/tmp/data",
+                "ports", "80, 443",
+                "names", "a,b , c",
+                "id", "00000000-0000-0000-0000-000000000001"));
+        assertEquals(Month.MARCH, resolver.getProperty("month", Month.class));
+        assertEquals(Year.of(2024), resolver.getProperty("year", Year.class));
+        assertEquals(new BigDecimal("12.50"), resolver.getProperty("amount", BigDecimal.class));
+        assertEquals(new Color("#ffaa00"), resolver.getProperty("color", Color.class));
+        assertEquals(URI.create("https://example.com/a"), resolver.getProperty("uri", URI.class));
+        assertEquals(Path.of("/tmp/data"), resolver.getProperty("path", Path.class));
+        assertArrayEquals(new int[] { 80, 443 }, resolver.getProperty("ports", int[].class));
+        assertArrayEquals(new Month[] { Month.MARCH }, resolver.getProperty("month", Month[].class));
+        assertEquals(List.of("a", "b", "c"), resolver.getProperty("names", List.class));
+        assertNotNull(resolver.getProperty("id", String.class));
+
+        assertThrows(IllegalArgumentException.class, () -> resolver.getProperty("month", Unconvertible.class));
+        assertThrows(IllegalArgumentException.class, () -> resolver.getProperty("id", UUID.class));
+    }
+
+    @Test
+    public void registeredConverters() {
+        PropertyResolver resolver = createResolver(Map.of("version", "2.7", "color", "red"));
+        assertEquals(new Version(2, 7), resolver.getProperty("version", Version.class));
+        assertEquals(new Color("red"), resolver.getProperty("color", Color.class));
+
+        resolver.addConverter(new Converter<Color>() {
+            @Override
+            public Class<Color> getTargetType() {
+                return Color.class;
+            }
+
+            @Override
+            public Color convert(String value) {
+                return new Color(value.equals("red") ? "#ff0000" : value);
+            }
+        });
+        assertEquals(new Color("#ff0000"), resolver.getProperty("color", Color.class));
+    }
+
+    @Test
+    public void localConverters() {
+        PropertyResolver resolver = createResolver(Map.of("version", "2.7", "color", "red", "colors", "red,blue"));
+        PropertyResolver local = resolver.withLocalConverters();
+        local.addConverter(new Converter<Color>() {
+            @Override
+            public Class<Color> getTargetType() {
+                return Color.class;
+            }
+
+            @Override
+            public Color convert(String value) {
+                return new Color(value.equals("red") ? "#ff0000" : value);
+            }
+        });
+        assertEquals(new Color("#ff0000"), local.getProperty("color", Color.class));
+        assertArrayEquals(new Color[] { new Color("#ff0000"), new Color("blue") }, local.getProperty("colors", Color[].class));
+        assertEquals(new Version(2, 7), local.getProperty("version", Version.class));
+
+        assertEquals(new Color("red"), resolver.getProperty("color", Color.class));
+        assertArrayEquals(new Color[] { new Color("red"), new Color("blue") }, resolver.getProperty("colors", Color[].class));
+    }
+
+    private PropertyResolver createResolver(Map<String, String> values) {
+        return new PropertyResolver(new PropertySources(new MapPropertySource("test", values)));
+    }
+}
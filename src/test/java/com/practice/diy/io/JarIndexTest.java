@@ -0,0 +1,106 @@
+package com.practice.diy.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JarIndexTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void listByPrefix() throws IOException {
+        Path jar = createJar("com/practice/b/B.class", "com/practice/a/A.class", "com/practice/a/sub/C.class", "com/practiced/D.class");
+        try (JarIndex index = JarIndex.open(jar)) {
+            assertEquals(List.of("com/practice/a/A.class", "com/practice/a/sub/C.class"), index.list("com/practice/a/"));
+            assertEquals(List.of("com/practice/b/B.class"), index.list("com/practice/b/"));
+            assertEquals(List.of(), index.list("com/practice/x/"));
+            assertTrue(index.contains("com/practiced/D.class"));
+            assertFalse(index.contains("com/practice/a/"));
+        }
+    }
+
+    @Test
+    public void readEntries() throws IOException {
+        Path jar = createJar("deflated.txt", "stored.txt");
+        try (JarIndex index = JarIndex.open(jar)) {
+            assertEquals("content of deflated.txt", read(index, "deflated.txt"));
+            assertEquals("content of stored.txt", read(index, "stored.txt"));
+            assertNull(index.openStream("missing.txt"));
+        }
+    }
+
+    @Test
+    public void nestedJar() throws IOException {
+        Path inner = createJar("com/practice/inner/Inner.class", "stored.txt");
+        byte[] innerBytes = Files.readAllBytes(inner);
+        Path outer = this.tempDir.resolve("outer.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(outer))) {
+            putEntry(output, "BOOT-INF/classes/com/practice/app/App.class", "app".getBytes(StandardCharsets.UTF_8), false);
+            putEntry(output, "BOOT-INF/lib/inner.jar", innerBytes, true);
+            putEntry(output, "BOOT-INF/lib/deflated.jar", innerBytes, false);
+        }
+
+        try (JarIndex index = JarIndex.open(outer)) {
+            JarIndex nested = index.nested("BOOT-INF/lib/inner.jar");
+            assertEquals(List.of("com/practice/inner/Inner.class"), nested.list("com/practice/"));
+            assertEquals("content of stored.txt", read(nested, "stored.txt"));
+
+            JarIndex classes = index.nested("BOOT-INF/classes");
+            assertEquals(List.of("com/practice/app/App.class"), classes.list("com/practice/"));
+            assertEquals("app", read(classes, "com/practice/app/App.class"));
+
+            assertThrows(ZipException.class, () -> index.nested("BOOT-INF/lib/deflated.jar"));
+            assertThrows(ZipException.class, () -> index.nested("BOOT-INF/missing"));
+        }
+    }
+
+    @Test
+    public void notAZip() throws IOException {
+        Path file = Files.writeString(this.tempDir.resolve("plain.jar"), "not a zip file");
+        assertThrows(ZipException.class, () -> JarIndex.open(file));
+    }
+
+    private String read(JarIndex index, String name) throws IOException {
+        try (InputStream input = index.openStream(name)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    Path createJar(String... names) throws IOException {
+        Path jar = Files.createTempFile(this.tempDir, "test", ".jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String name : names) {
+                putEntry(output, name, ("content of " + name).getBytes(StandardCharsets.UTF_8), name.startsWith("stored"));
+            }
+        }
+        return jar;
+    }
+
+    static void putEntry(JarOutputStream output, String name, byte[] content, boolean stored) throws IOException {
+        JarEntry entry = new JarEntry(name);
+        if (stored) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        output.putNextEntry(entry);
+        output.write(content);
+        output.closeEntry();
+    }
+}
@@ -0,0 +1,91 @@
+package com.practice.diy.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyBinderTest {
+    public record Logging(Map<String, String> level, Set<Integer> ports, long[] limits) {
+    }
+
+    public record Schedule(String name, LocalDate start, List<Schedule> children) {
+    }
+
+    public record Pool(int maxSize, int minIdle, boolean testOnBorrow) {
+    }
+
+    public interface Unsupported {
+    }
+
+    public record Holder(Unsupported value) {
+    }
+
+    @Test
+    public void bindCollectionsAndMaps() {
+        PropertyResolver resolver = createResolver(Map.of(
+                "logging.level.com.example", "DEBUG",
+                "logging.level.root", "INFO",
+                "logging.ports", "80,443,80",
+                "logging.limits[2]", "30",
+                "logging.limits[0]", "10",
+                "logging.limits[10]", "100"));
+        Logging logging = resolver.bind("logging", Logging.class);
+        assertEquals(Map.of("com.example", "DEBUG", "root", "INFO"), logging.level());
+        assertEquals(Set.of(80, 443), logging.ports());
+        assertArrayEquals(new long[] { 10, 30, 100 }, logging.limits());
+    }
+
+    @Test
+    public void bindNestedAndValidate() {
+        Map<String, String> values = new HashMap<>(Map.of(
+                "schedule.name", "root",
+                "schedule.start", "2024-01-01",
+                "schedule.children[0].name", "child",
+                "schedule.children[0].children[0].name", "grandchild"));
+        PropertyResolver resolver = createResolver(values);
+        Schedule schedule = resolver.bind("schedule", Schedule.class);
+        assertEquals(LocalDate.of(2024, 1, 1), schedule.start());
+        assertEquals("grandchild", schedule.children().get(0).children().get(0).name());
+        assertNull(schedule.children().get(0).children().get(0).children());
+
+        values.put("schedule.children[0].start", "someday");
+        resolver.getPropertySources().invalidate();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> resolver.bind("schedule", Schedule.class));
+        assertEquals("Cannot bind property 'schedule.children[0].start' with value 'someday' to java.time.LocalDate", e.getMessage());
+
+        values.put("holder.value.x", "1");
+        resolver.getPropertySources().invalidate();
+        e = assertThrows(IllegalArgumentException.class, () -> resolver.bind("holder", Holder.class));
+        assertTrue(e.getMessage().startsWith("Cannot bind property 'holder.value' to unsupported type"), e.getMessage());
+    }
+
+    @Test
+    public void bindRelaxedNames() {
+        PropertyResolver resolver = createResolver(Map.of(
+                "db.pool.max-size", "20",
+                "db.pool.minIdle", "2",
+                "db.pool.TEST_ON_BORROW", "true",
+                "db.pool.min_idle", "ignored"));
+        assertEquals(new Pool(20, 2, true), resolver.bind("db.pool", Pool.class));
+    }
+
+    @Test
+    public void bindEnvironmentNames() {
+        PropertyResolver resolver = new PropertyResolver(new PropertySources(
+                new MapPropertySource("environment", Map.of("DB_POOL_MAX_SIZE", "50", "LOGGING_LEVEL_ROOT", "WARN")),
+                new MapPropertySource("defaults", Map.of("db.pool.max-size", "10", "db.pool.min-idle", "2",
+                        "db.pool-size", "ignored", "logging.level.root", "INFO", "logging.ports", "80"))));
+        assertEquals(new Pool(50, 2, false), resolver.bind("db.pool", Pool.class));
+        assertEquals(new Pool(50, 2, false), resolver.bind("DB_POOL", Pool.class));
+        Logging logging = resolver.bind("logging", Logging.class);
+        assertEquals(Map.of("ROOT", "WARN"), logging.level());
+        assertEquals(Set.of(80), logging.ports());
+    }
+
+    private PropertyResolver createResolver(Map<String, String> values) {
+        return new PropertyResolver(new PropertySources(new MapPropertySource("test", values)));
+    }
+}
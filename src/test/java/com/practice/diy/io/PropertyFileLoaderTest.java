@@ -0,0 +1,163 @@
+package com.practice.diy.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyFileLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void propertiesMatchJavaUtilProperties() throws IOException {
+        String content = """
+                # comment
+                ! another comment
+                app.name = Demo App
+                app.path:/usr/local
+                app.flag
+                app.list = a,\\
+                    b,\\
+                    c
+                app\\ key\\=x = spaced key
+                app.unicode=caf\\u00e9 \\t tab
+                app.trailing = value  \r
+                  indented.key	value
+                app.empty=
+                app.name=overridden
+                app.crlf=one\\\r
+                  two\r
+                app.last=eof\\""";
+        Properties expected = new Properties();
+        expected.load(new StringReader(content));
+        Map<String, String> expectedMap = new HashMap<>();
+        expected.stringPropertyNames().forEach(name -> expectedMap.put(name, expected.getProperty(name)));
+
+        SortedPropertyMap actual = parse("test.properties", content);
+        assertEquals(expectedMap, actual);
+        assertEquals("overridden", actual.get("app.name"));
+        assertEquals("a,b,c", actual.get("app.list"));
+        assertEquals(new TreeSet<>(expectedMap.keySet()).stream().toList(), List.copyOf(actual.keySet()));
+    }
+
+    @Test
+    public void propertiesFallBackToLatin1() {
+        byte[] bytes = "app.name=café".getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals("café", PropertyFileLoader.parse("test.properties", ByteBuffer.wrap(bytes)).get("app.name"));
+        bytes = "\uFEFFapp.name=café".getBytes(StandardCharsets.UTF_8);
+        assertEquals("café", PropertyFileLoader.parse("test.properties", ByteBuffer.wrap(bytes)).get("app.name"));
+        bytes = "app.name=caf\\é\\\nlatté".getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals("cafélatté", PropertyFileLoader.parse("test.properties", ByteBuffer.wrap(bytes)).get("app.name"));
+    }
+
+    @Test
+    public void yamlSubset() {
+        SortedPropertyMap map = parse("test.yml", """
+                ---
+                # comment
+                server:
+                  port: 8080   # inline comment
+                  host: "local\\thost"
+                  name: 'it''s'
+                  url: http://example.com/#anchor
+                  empty:
+                  nothing: ~
+                servers:
+                  - alpha
+                  - name: beta
+                    port: 81
+                  -
+                    name: gamma
+                tags: [a, "b, c", d]
+                limits: {cpu: 2, memory: 1Gi}
+                none: []
+                list:
+                - x
+                - y
+                banner: |
+                  line 1
+                    line 2
+
+                folded: >-
+                  one
+                  two
+                "quoted.key": value
+                greeting: "grüße \\u00e9 日本"
+                single: 'don''t é'
+                """);
+        Map<String, String> expected = new TreeMap<>();
+        expected.put("server.port", "8080");
+        expected.put("server.host", "local\thost");
+        expected.put("server.name", "it's");
+        expected.put("server.url", "http://example.com/#anchor");
+        expected.put("server.empty", "");
+        expected.put("server.nothing", "");
+        expected.put("servers[0]", "alpha");
+        expected.put("servers[1].name", "beta");
+        expected.put("servers[1].port", "81");
+        expected.put("servers[2].name", "gamma");
+        expected.put("tags[0]", "a");
+        expected.put("tags[1]", "b, c");
+        expected.put("tags[2]", "d");
+        expected.put("limits.cpu", "2");
+        expected.put("limits.memory", "1Gi");
+        expected.put("none", "");
+        expected.put("list[0]", "x");
+        expected.put("list[1]", "y");
+        expected.put("banner", "line 1\n  line 2\n");
+        expected.put("folded", "one two");
+        expected.put("quoted.key", "value");
+        expected.put("greeting", "grüße é 日本");
+        expected.put("single", "don't é");
+        assertEquals(expected, map);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(map.keySet()));
+    }
+
+    @Test
+    public void yamlErrors() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parse("bad.yml", "app:\n  name: x\n  ref: *alias\n"));
+        assertEquals("Cannot parse bad.yml at line 3: unsupported YAML syntax '*'", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parse("bad.yml", "app:\n\tname: x\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("bad.yml", "app:\n    name: x\n  port: 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("bad.yml", "a: 1\n---\nb: 2\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("bad.yml", "just text\n"));
+        e = assertThrows(IllegalArgumentException.class, () -> PropertyFileLoader.parse("latin1.yml",
+                ByteBuffer.wrap("name: café\n".getBytes(StandardCharsets.ISO_8859_1))));
+        assertEquals("YAML file latin1.yml is not valid UTF-8", e.getMessage());
+    }
+
+    @Test
+    public void mapLargeFile() throws IOException {
+        Path file = this.tempDir.resolve("large.properties");
+        StringBuilder sb = new StringBuilder();
+        int count = 40_000;
+        for (int i = count - 1; i >= 0; i--) {
+            sb.append("generated.key").append(i).append(".value = some fairly long generated value number ").append(i).append('\n');
+        }
+        sb.append("generated.\\éscäped = grüße \\é \\u00e9 日本\n");
+        Files.writeString(file, sb);
+        assertTrue(Files.size(file) > 1 << 20);
+
+        FilePropertySource source = new FilePropertySource(file);
+        assertEquals(count + 1, source.getPropertyNames().size());
+        assertEquals("some fairly long generated value number 12345", source.getProperty("generated.key12345.value"));
+        assertEquals("grüße é é 日本", source.getProperty("generated.éscäped"));
+        List<String> names = List.copyOf(source.getPropertyNames());
+        assertEquals(new TreeSet<>(names).stream().toList(), names);
+        assertThrows(UnsupportedOperationException.class, () -> source.getPropertyNames().remove("generated.key1.value"));
+    }
+
+    private SortedPropertyMap parse(String name, String content) {
+        return PropertyFileLoader.parse(name, ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
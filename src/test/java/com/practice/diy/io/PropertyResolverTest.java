@@ -85,4 +85,59 @@ public class PropertyResolverTest {
         assertEquals("/not-exist", propertyResolver.getProperty("${app.path:${app.home:${ENV_NOT_EXIST:/not-exist}}}"));
     }
 
+    @Test
+    public void embeddedAndNestedPlaceholders() {
+        Properties props = new Properties();
+        props.setProperty("db.host", "localhost");
+        props.setProperty("db.port", "5432");
+        props.setProperty("db.url", "jdbc:postgresql://${db.host}:${db.port:5433}/${db.name:app}");
+        props.setProperty("app.name", "${app.prefix:diy}-${db.name:main}");
+
+        PropertyResolver propertyResolver = new PropertyResolver(props);
+        assertEquals("jdbc:postgresql://localhost:5432/app", propertyResolver.getProperty("db.url"));
+        assertEquals("jdbc:postgresql://localhost:5432/app", propertyResolver.getProperty("${db.url}"));
+        assertEquals("diy-main", propertyResolver.getProperty("app.name"));
+        assertEquals("localhost:5432", propertyResolver.getProperty("${db.host}:${db.port}"));
+        assertEquals("c", propertyResolver.getProperty("${a:${b:c}}"));
+        assertEquals("x-c-y", propertyResolver.getProperty("x-${a:${b:c}}-y"));
+        assertNull(propertyResolver.getProperty("host=${db.missing}"));
+        assertEquals("${db.missing:${unterminated}", propertyResolver.getProperty("${db.missing:${unterminated}"));
+        assertEquals(5432, propertyResolver.getProperty("${db.port}", int.class));
+    }
+
+    @Test
+    public void circularPlaceholders() {
+        Properties props = new Properties();
+        props.setProperty("a", "${b}");
+        props.setProperty("b", "prefix-${c:${a}}");
+        props.setProperty("self", "${self}");
+
+        PropertyResolver propertyResolver = new PropertyResolver(props);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> propertyResolver.getProperty("a"));
+        assertEquals("Circular placeholder reference: a -> b -> a", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> propertyResolver.getProperty("${self}"));
+    }
+
+    @Test
+    public void typedValueCache() {
+        Properties props = new Properties();
+        props.setProperty("scheduler.started-at", "2023-03-29T21:45:01");
+        props.setProperty("app.host", "localhost");
+        props.setProperty("app.url", "http://${app.host}");
+
+        PropertyResolver propertyResolver = new PropertyResolver(props);
+        LocalDateTime startedAt = propertyResolver.getProperty("scheduler.started-at", LocalDateTime.class);
+        assertSame(startedAt, propertyResolver.getProperty("scheduler.started-at", LocalDateTime.class));
+        assertEquals("http://localhost", propertyResolver.getProperty("app.url"));
+        assertNull(propertyResolver.getProperty("app.port", Integer.class));
+
+        propertyResolver.setProperty("app.host", "example.com");
+        propertyResolver.setProperty("app.port", "8080");
+        assertEquals("http://example.com", propertyResolver.getProperty("app.url"));
+        assertEquals(8080, propertyResolver.getProperty("app.port", Integer.class));
+        propertyResolver.setProperty("scheduler.started-at", "2024-01-01T00:00:00");
+        assertEquals(LocalDateTime.parse("2024-01-01T00:00:00"), propertyResolver.getProperty("scheduler.started-at", LocalDateTime.class));
+        propertyResolver.setProperty("app.port", null);
+        assertNull(propertyResolver.getProperty("app.port", Integer.class));
+    }
 }
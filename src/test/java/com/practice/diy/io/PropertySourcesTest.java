@@ -0,0 +1,171 @@
+package com.practice.diy.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertySourcesTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void layeredPrecedence() throws IOException {
+        Files.writeString(this.tempDir.resolve("application.properties"), "app.name=base\napp.level=base\napp.mode=base\n");
+        Files.writeString(this.tempDir.resolve("application-dev.properties"), "app.level=dev\napp.mode=dev\n");
+        Files.writeString(this.tempDir.resolve("application-local.properties"), "app.mode=local\n");
+        Files.writeString(this.tempDir.resolve("application.yml"), "app:\n  mode: yaml\n  region: eu-west\n");
+        Properties defaults = new Properties();
+        defaults.setProperty("app.name", "default");
+        defaults.setProperty("app.timeout", "30");
+        defaults.setProperty("app.level", "default");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { this.tempDir.toUri().toURL() }, null)) {
+            PropertySources sources = PropertySources.standard(
+                    new String[] { "--diy.profiles.active=dev, local", "--app.name=cli", "--debug", "positional" }, defaults, classLoader);
+            assertEquals(List.of("commandLineArgs", "systemProperties", "environment",
+                            "classpath:application-local.properties", "classpath:application-local.yml",
+                            "classpath:application-dev.properties", "classpath:application-dev.yml",
+                            "classpath:application.properties", "classpath:application.yml", "defaults"),
+                    names(sources));
+
+            PropertyResolver resolver = new PropertyResolver(sources);
+            assertEquals("cli", resolver.getProperty("app.name"));
+            assertTrue(resolver.getProperty("debug", boolean.class));
+            assertEquals("local", resolver.getProperty("app.mode"));
+            assertEquals("dev", resolver.getProperty("app.level"));
+            assertEquals("eu-west", resolver.getProperty("app.region"));
+            assertEquals(30, resolver.getProperty("app.timeout", int.class));
+            assertEquals(System.getProperty("java.version"), resolver.getProperty("java.version"));
+            assertNull(resolver.getProperty("positional"));
+        }
+    }
+
+    @Test
+    public void lazyLookupWithPerKeyCache() {
+        List<String> lookups = new ArrayList<>();
+        PropertySource counting = new PropertySource() {
+            @Override
+            public String getName() {
+                return "counting";
+            }
+
+            @Override
+            public String getProperty(String key) {
+                lookups.add(key);
+                return key.equals("app.host") ? "localhost" : null;
+            }
+        };
+        PropertyResolver resolver = new PropertyResolver(new PropertySources(counting));
+        assertEquals(List.of(), lookups);
+
+        assertEquals("localhost", resolver.getProperty("app.host"));
+        assertEquals("http://localhost", resolver.getProperty("${app.url:http://${app.host}}"));
+        assertEquals("localhost", resolver.getProperty("app.host"));
+        assertNull(resolver.getProperty("app.port", Integer.class));
+        assertNull(resolver.getProperty("app.port", Long.class));
+        assertEquals(List.of("app.host", "app.url", "app.port"), lookups);
+    }
+
+    @Test
+    public void sharedSources() {
+        Properties props = new Properties();
+        props.setProperty("app.name", "shared");
+        PropertySources sources = new PropertySources(new PropertiesPropertySource("properties", props));
+        PropertyResolver first = new PropertyResolver(sources);
+        PropertyResolver second = new PropertyResolver(sources);
+        assertEquals("shared", first.getProperty("app.name"));
+        assertEquals("shared", second.getProperty("app.name"));
+
+        sources.addFirst(new MapPropertySource("test", Map.of("app.name", "overridden")));
+        assertEquals("overridden", first.getProperty("app.name"));
+        assertEquals("overridden", second.getProperty("app.name"));
+
+        first.setProperty("app.version", "1.0");
+        assertEquals("1.0", second.getProperty("app.version"));
+        assertEquals("overrides", sources.iterator().next().getName());
+
+        sources.remove("test");
+        assertEquals("shared", second.getProperty("app.name"));
+        assertThrows(IllegalArgumentException.class, () -> sources.replace("missing", sources.get("properties")));
+    }
+
+    @Test
+    public void reloadFileSource() throws IOException {
+        Path file = this.tempDir.resolve("app.properties");
+        FilePropertySource source = new FilePropertySource(file);
+        assertNull(source.getProperty("app.name"));
+
+        Files.writeString(file, "app.name=first\napp.timeout=10\napp.removed=x\n");
+        assertEquals(Set.of("app.name", "app.timeout", "app.removed"), source.reload());
+        assertEquals("first", source.getProperty("app.name"));
+
+        Files.writeString(file, "app.name=first\napp.timeout=20\napp.added=y\n");
+        assertEquals(Set.of("app.timeout", "app.removed", "app.added"), source.reload());
+        assertEquals("20", source.getProperty("app.timeout"));
+        assertNull(source.getProperty("app.removed"));
+        assertEquals(Set.of(), source.reload());
+
+        PropertyResolver resolver = new PropertyResolver(new PropertySources(source,
+                new MapPropertySource("defaults", Map.of("app.url", "http://${app.host:${app.name}}/${app.name}"))));
+        assertEquals(Set.of("app.url", "app.host", "app.name"), resolver.getReferencedKeys("app.url"));
+        assertEquals(Set.of("app.timeout"), resolver.getReferencedKeys("${app.timeout:0}"));
+
+        PropertySources sources = resolver.getPropertySources();
+        assertEquals("20", sources.getRelaxedProperty("APP_TIMEOUT"));
+        Files.writeString(file, "app.name=first\napp.pool-size=8\n");
+        source.reload();
+        sources.invalidate();
+        assertNull(sources.getRelaxedProperty("APP_TIMEOUT"));
+        assertEquals("8", sources.getRelaxedProperty("app.poolSize"));
+    }
+
+    @Test
+    public void relaxedLookup() {
+        PropertySource exactOnly = new PropertySource() {
+            @Override
+            public String getName() {
+                return "exactOnly";
+            }
+
+            @Override
+            public String getProperty(String key) {
+                return key.equals("cache.size") ? "exact" : null;
+            }
+        };
+        PropertySources sources = new PropertySources(
+                new MapPropertySource("environment", Map.of("DB_POOL_MAX_SIZE", "50", "CACHE_SIZE", "env")),
+                new MapPropertySource("defaults", Map.of("db.pool.max-size", "10", "db.pool.min-size", "2",
+                        "app.displayName", "Relaxed", "cache-ttl", "dash", "cache.ttl", "dot")),
+                exactOnly);
+        PropertyResolver resolver = new PropertyResolver(sources);
+        assertEquals(50, resolver.getProperty("db.pool.max-size", int.class));
+        assertEquals(2, resolver.getProperty("db.pool.minSize", int.class));
+        assertEquals("Relaxed", resolver.getProperty("APP_DISPLAY_NAME"));
+        assertEquals("Relaxed", resolver.getProperty("${app.display-name}"));
+        assertEquals("dot", resolver.getProperty("cache.ttl"));
+        assertEquals("dash", resolver.getProperty("CACHE_TTL"));
+        assertEquals("env", resolver.getProperty("cache.size"));
+
+        sources.addFirst(exactOnly);
+        assertEquals("exact", resolver.getProperty("cache.size"));
+        assertEquals("env", resolver.getProperty("cacheSize"));
+    }
+
+    private List<String> names(PropertySources sources) {
+        List<String> names = new ArrayList<>();
+        sources.forEach(source -> names.add(source.getName()));
+        return names;
+    }
+}
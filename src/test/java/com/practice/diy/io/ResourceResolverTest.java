@@ -7,12 +7,21 @@ import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.sub.ScanAnno;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.jar.JarOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ResourceResolverTest {
@@ -64,6 +73,69 @@ public class ResourceResolverTest {
         assertTrue(classes.contains(ScanAnno.class.getName()));
     }
 
+    @Test
+    public void scanParallel() throws IOException {
+        for (String pkg : List.of("com.practice.scan", PostConstruct.class.getPackageName())) {
+            List<String> sequential = new ResourceResolver(pkg).scan(Resource::name);
+            List<String> parallel = new ResourceResolver(pkg, true).scan(Resource::name);
+            assertEquals(parallel, new ResourceResolver(pkg, true).scan(Resource::name));
+            Collections.sort(sequential);
+            Collections.sort(parallel);
+            assertEquals(sequential, parallel);
+        }
+    }
+
+    @Test
+    public void scanJarWithSharedIndex() throws IOException {
+        try (JarIndexCache jarIndexCache = new JarIndexCache()) {
+            ResourceResolver annotationResolver = new ResourceResolver(PostConstruct.class.getPackageName(), false, jarIndexCache);
+            ResourceResolver securityResolver = new ResourceResolver(PermitAll.class.getPackageName(), false, jarIndexCache);
+            List<Resource> resources = annotationResolver.scan(resource -> resource);
+            assertTrue(securityResolver.scan(Resource::name).contains("jakarta/annotation/security/PermitAll.class"));
+
+            Resource postConstruct = resources.stream()
+                    .filter(resource -> resource.name().equals("jakarta/annotation/PostConstruct.class"))
+                    .findFirst()
+                    .orElseThrow();
+            try (InputStream input = annotationResolver.openStream(postConstruct)) {
+                assertEquals(PostConstruct.class.getName(), ClassFileReader.read(input).className());
+            }
+        }
+    }
+
+    @Test
+    public void scanNestedJar(@TempDir Path tempDir) throws IOException {
+        Path inner = tempDir.resolve("inner.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(inner))) {
+            JarIndexTest.putEntry(output, "com/nested/sub/Nested.class", "nested".getBytes(StandardCharsets.UTF_8), false);
+            JarIndexTest.putEntry(output, "com/other/Other.class", "other".getBytes(StandardCharsets.UTF_8), false);
+        }
+        Path outer = tempDir.resolve("app.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(outer))) {
+            JarIndexTest.putEntry(output, "BOOT-INF/lib/inner.jar", Files.readAllBytes(inner), true);
+        }
+
+        URL nestedUrl = new URL("jar:" + outer.toUri() + "!/BOOT-INF/lib/inner.jar!/com/nested/");
+        ClassLoader classLoader = new ClassLoader(null) {
+            @Override
+            public Enumeration<URL> getResources(String name) {
+                return Collections.enumeration(name.equals("com/nested") ? List.of(nestedUrl) : List.of());
+            }
+        };
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try (JarIndexCache jarIndexCache = new JarIndexCache()) {
+            ResourceResolver resourceResolver = new ResourceResolver("com.nested", false, jarIndexCache);
+            List<Resource> resources = resourceResolver.scan(resource -> resource);
+            assertEquals(List.of("com/nested/sub/Nested.class"), resources.stream().map(Resource::name).toList());
+            try (InputStream input = resourceResolver.openStream(resources.get(0))) {
+                assertEquals("nested", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
     @Test
     public void scanTxt() throws IOException {
         String pkg = "com.practice.scan";
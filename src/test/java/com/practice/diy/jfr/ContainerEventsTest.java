@@ -0,0 +1,105 @@
+package com.practice.diy.jfr;
+
+import com.practice.diy.context.AnnotationConfigApplicationContext;
+import com.practice.diy.io.PropertyResolver;
+import com.practice.lazy.LazyApplication;
+import com.practice.lazy.LazyReport;
+import com.practice.scan.ScanApplication;
+import com.practice.scan.sub1.Sub1Bean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerEventsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRefreshEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            try (var ctx = new AnnotationConfigApplicationContext(createPropertyResolver(), ScanApplication.class)) {
+                assertNotNull(ctx.getBean(Sub1Bean.class));
+            }
+        });
+
+        RecordedEvent scan = find(events, "com.practice.diy.ClasspathScan", null);
+        assertEquals("com.practice.scan", scan.getString("basePackage"));
+        assertTrue(scan.getInt("resourceCount") > 0);
+        assertEquals("scan", scan.getString("phase"));
+
+        RecordedEvent load = find(events, "com.practice.diy.ClassLoad", null);
+        assertEquals("definitions", load.getString("phase"));
+        assertNotNull(load.getString("className"));
+
+        RecordedEvent creation = find(events, "com.practice.diy.BeanCreation", "sub1Bean");
+        assertEquals(Sub1Bean.class.getName(), creation.getClass("beanClass").getName());
+        assertEquals("normal-beans", creation.getString("phase"));
+
+        assertEquals("injection", find(events, "com.practice.diy.BeanInjection", null).getString("phase"));
+        assertEquals("init", find(events, "com.practice.diy.BeanInit", "sub1Bean").getString("phase"));
+        assertEquals("close", find(events, "com.practice.diy.BeanDestroy", "sub1Bean").getString("phase"));
+    }
+
+    @Test
+    public void testSlowLookupEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            Properties properties = new Properties();
+            properties.put("app.title", "Lazy App");
+            try (var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(properties), LazyApplication.class)) {
+                assertSame(ctx.getBean(LazyReport.class), ctx.getBean(LazyReport.class));
+            }
+        });
+
+        // only the first lookup creates the lazy bean, later ones return the initialized instance without an event:
+        assertEquals(1, events.stream().filter(e -> e.getEventType().getName().equals("com.practice.diy.BeanLookup")
+                && "lazyReport".equals(e.getString("beanName"))).count());
+
+        RecordedEvent lookup = find(events, "com.practice.diy.BeanLookup", "lazyReport");
+        assertEquals("running", lookup.getString("phase"));
+        RecordedEvent creation = find(events, "com.practice.diy.BeanCreation", "lazyReport");
+        assertEquals("running", creation.getString("phase"));
+    }
+
+    private List<RecordedEvent> record(Action action) throws IOException {
+        Path file = this.tempDir.resolve("container.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("ClasspathScan", "ClassLoad", "BeanCreation", "BeanInjection", "BeanInit", "BeanDestroy", "BeanLookup")) {
+                recording.enable("com.practice.diy." + name);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private RecordedEvent find(List<RecordedEvent> events, String type, String beanName) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(type))
+                .filter(e -> beanName == null || beanName.equals(e.getString("beanName")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no " + type + " event for " + beanName));
+    }
+
+    interface Action {
+        void run() throws IOException;
+    }
+
+    private PropertyResolver createPropertyResolver() {
+        Properties properties = new Properties();
+        properties.put("app.title", "Scan App");
+        properties.put("app.version", "v1.0");
+        properties.put("diy.index.ignore", "true");
+        return new PropertyResolver(properties);
+    }
+}
@@ -0,0 +1,70 @@
+package com.practice.diy.processor;
+
+import com.practice.diy.io.ComponentCandidate;
+import com.practice.diy.io.ComponentIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentIndexProcessorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void incrementalCompilationMergesIndex() throws IOException {
+        Path classes = Files.createDirectories(this.tempDir.resolve("classes"));
+        Path alpha = writeSource("Alpha", "@Component public class Alpha {}");
+        Path beta = writeSource("Beta", "@Component(\"betaBean\") public class Beta {}");
+        Path gamma = writeSource("Gamma", "@Component public class Gamma {}");
+        compile(classes, alpha, beta, gamma);
+        assertEquals(List.of("demo.Alpha", "demo.Beta", "demo.Gamma"), readIndex(classes));
+
+        // only Alpha is recompiled, Beta and Gamma keep their entries:
+        compile(classes, writeSource("Alpha", "@Component @Primary public class Alpha {}"));
+        assertEquals(List.of("demo.Alpha", "demo.Beta", "demo.Gamma"), readIndex(classes));
+        assertTrue(Files.readString(classes.resolve(ComponentIndex.COMPONENTS_RESOURCE_LOCATION)).contains("demo.Alpha=component,2147483647,true,alpha"));
+
+        // Beta is no longer a component and Gamma was deleted:
+        Files.delete(classes.resolve("demo/Gamma.class"));
+        compile(classes, writeSource("Beta", "public class Beta {}"));
+        assertEquals(List.of("demo.Alpha"), readIndex(classes));
+    }
+
+    private Path writeSource(String name, String body) throws IOException {
+        Path file = this.tempDir.resolve("src/demo/" + name + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package demo;\n\nimport com.practice.diy.annotation.*;\n\n" + body + "\n");
+        return file;
+    }
+
+    private void compile(Path classes, Path... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter errors = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(new PrintWriter(errors), fileManager, null,
+                    List.of("-d", classes.toString(), "-classpath", classes + File.pathSeparator + System.getProperty("java.class.path")),
+                    null, fileManager.getJavaFileObjects(sources));
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+            assertTrue(task.call(), errors.toString());
+        }
+    }
+
+    private List<String> readIndex(Path classes) throws IOException {
+        return Files.readAllLines(classes.resolve(ComponentIndex.COMPONENTS_RESOURCE_LOCATION)).stream()
+                .map(ComponentIndex::parseLine)
+                .map(ComponentCandidate::className)
+                .toList();
+    }
+}
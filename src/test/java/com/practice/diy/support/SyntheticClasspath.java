@@ -0,0 +1,273 @@
+package com.practice.diy.support;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+public class SyntheticClasspath {
+    public static final String APPLICATION_CLASS_NAME = "SyntheticApplication";
+
+    private final String basePackage;
+    private final int components;
+    private final int fanOut;
+    private final int maxFanIn;
+    private final int configurations;
+    private final int beansPerConfiguration;
+    private final int valueFields;
+    private final int packageDepth;
+    private final long seed;
+
+    private SyntheticClasspath(Builder builder) {
+        this.basePackage = builder.basePackage;
+        this.components = builder.components;
+        this.fanOut = builder.fanOut;
+        this.maxFanIn = builder.maxFanIn;
+        this.configurations = builder.configurations;
+        this.beansPerConfiguration = builder.beansPerConfiguration;
+        this.valueFields = builder.valueFields;
+        this.packageDepth = builder.packageDepth;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder(String basePackage) {
+        return new Builder(basePackage);
+    }
+
+    public String getApplicationClassName() {
+        return this.basePackage + "." + APPLICATION_CLASS_NAME;
+    }
+
+    public int getBeanCount() {
+        return this.components + this.configurations * (1 + this.beansPerConfiguration);
+    }
+
+    public static String componentBeanName(int i) {
+        return "component" + i;
+    }
+
+    public Properties getProperties() {
+        Properties properties = new Properties();
+        for (int i = 0; i < this.valueFields; i++) {
+            properties.put(valueKey(i), "value-" + i);
+        }
+        return properties;
+    }
+
+    public Path writeSources(Path sourceDir) throws IOException {
+        Random random = new Random(this.seed);
+        write(sourceDir, this.basePackage, APPLICATION_CLASS_NAME, "public class " + APPLICATION_CLASS_NAME + " {\n}\n");
+
+        int[] fanIn = new int[this.components];
+        for (int i = 0; i < this.components; i++) {
+            write(sourceDir, componentPackage(i), componentClassName(i), componentSource(i, selectDependencies(i, fanIn, random)));
+        }
+        for (int k = 0; k < this.configurations; k++) {
+            String pkg = componentPackage(k * this.components / Math.max(1, this.configurations));
+            write(sourceDir, pkg, "SyntheticConfiguration" + k, configurationSource(k, random));
+            for (int m = 0; m < this.beansPerConfiguration; m++) {
+                write(sourceDir, pkg, productClassName(k, m), "public class " + productClassName(k, m)
+                        + " {\n    public final Object source;\n\n    public " + productClassName(k, m)
+                        + "(Object source) {\n        this.source = source;\n    }\n}\n");
+            }
+        }
+        return sourceDir;
+    }
+
+    public Path compile(Path directory) throws IOException {
+        Path sources = writeSources(directory.resolve("sources"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<String> options = List.of("-classpath",
+                System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+                "-d", classes.toString(), "-proc:none", "-nowarn", "-implicit:none");
+        List<String> files;
+        try (Stream<Path> stream = Files.walk(sources)) {
+            files = stream.map(Path::toString).filter(path -> path.endsWith(".java")).toList();
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter errors = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            if (!compiler.getTask(new PrintWriter(errors), fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromStrings(files)).call()) {
+                throw new IllegalStateException("cannot compile synthetic classpath:\n" + errors);
+            }
+        }
+        return classes;
+    }
+
+    public static Path createJar(Path classes, Path jar) throws IOException {
+        try (OutputStream output = Files.newOutputStream(jar);
+             JarOutputStream jarOutput = new JarOutputStream(output);
+             Stream<Path> stream = Files.walk(classes)) {
+            for (Path path : stream.sorted().toList()) {
+                String name = classes.relativize(path).toString().replace('\\', '/');
+                if (name.isEmpty()) {
+                    continue;
+                }
+                jarOutput.putNextEntry(new JarEntry(Files.isDirectory(path) ? name + "/" : name));
+                if (!Files.isDirectory(path)) {
+                    Files.copy(path, jarOutput);
+                }
+                jarOutput.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    public static URLClassLoader newClassLoader(Path root) throws IOException {
+        return new URLClassLoader(new URL[] {root.toUri().toURL()}, SyntheticClasspath.class.getClassLoader());
+    }
+
+    private List<Integer> selectDependencies(int i, int[] fanIn, Random random) {
+        // only earlier components are candidates, which keeps the graph acyclic:
+        List<Integer> dependencies = new ArrayList<>(this.fanOut);
+        for (int attempt = 0; attempt < this.fanOut * 4 && dependencies.size() < Math.min(this.fanOut, i); attempt++) {
+            int j = random.nextInt(i);
+            if (fanIn[j] < this.maxFanIn && !dependencies.contains(j)) {
+                fanIn[j]++;
+                dependencies.add(j);
+            }
+        }
+        return dependencies;
+    }
+
+    private String componentSource(int i, List<Integer> dependencies) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import com.practice.diy.annotation.*;\n\n@Component\npublic class ").append(componentClassName(i)).append(" {\n");
+        for (int n = 0; n < this.valueFields && n < 2; n++) {
+            int key = (i + n) % this.valueFields;
+            sb.append("    @Value(\"${").append(valueKey(key)).append("}\")\n    public String value").append(n).append(";\n");
+        }
+        // the first dependency is injected by constructor, the others by field:
+        for (int n = 0; n < dependencies.size(); n++) {
+            if (n > 0) {
+                sb.append("    @Autowired\n");
+            }
+            sb.append("    public ").append(componentType(dependencies.get(n))).append(" dependency").append(n).append(";\n");
+        }
+        sb.append("\n    public ").append(componentClassName(i)).append('(');
+        if (!dependencies.isEmpty()) {
+            sb.append("@Autowired ").append(componentType(dependencies.get(0))).append(" dependency0");
+        }
+        sb.append(") {\n");
+        if (!dependencies.isEmpty()) {
+            sb.append("        this.dependency0 = dependency0;\n");
+        }
+        return sb.append("    }\n}\n").toString();
+    }
+
+    private String configurationSource(int k, Random random) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import com.practice.diy.annotation.*;\n\n@Configuration\npublic class SyntheticConfiguration").append(k).append(" {\n");
+        for (int m = 0; m < this.beansPerConfiguration; m++) {
+            String product = productClassName(k, m);
+            sb.append("    @Bean\n    ").append(product).append(" product").append(k).append('_').append(m).append('(');
+            if (this.components > 0 && m % 2 == 0) {
+                sb.append("@Autowired ").append(componentType(random.nextInt(this.components))).append(" source");
+            } else if (this.valueFields > 0) {
+                sb.append("@Value(\"${").append(valueKey(m % this.valueFields)).append("}\") String source");
+            } else {
+                sb.append("@Value(\"${synthetic.missing:none}\") String source");
+            }
+            sb.append(") {\n        return new ").append(product).append("(source);\n    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private String componentPackage(int i) {
+        StringBuilder pkg = new StringBuilder(this.basePackage).append(".m").append(i / 1000).append(".g").append(i / 50);
+        for (int level = 0; level < this.packageDepth; level++) {
+            pkg.append(".level").append(level);
+        }
+        return pkg.toString();
+    }
+
+    private String componentType(int i) {
+        return componentPackage(i) + "." + componentClassName(i);
+    }
+
+    private static String componentClassName(int i) {
+        return "Component" + i;
+    }
+
+    private static String productClassName(int k, int m) {
+        return "Product" + k + "_" + m;
+    }
+
+    private String valueKey(int i) {
+        return "synthetic.value" + i;
+    }
+
+    private static void write(Path sourceDir, String pkg, String simpleName, String body) throws IOException {
+        Path file = sourceDir.resolve(pkg.replace('.', '/')).resolve(simpleName + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + pkg + ";\n\n" + body);
+    }
+
+    public static class Builder {
+        private final String basePackage;
+        private int components = 100;
+        private int fanOut = 2;
+        private int maxFanIn = 8;
+        private int configurations = 0;
+        private int beansPerConfiguration = 0;
+        private int valueFields = 0;
+        private int packageDepth = 0;
+        private long seed = 42;
+
+        private Builder(String basePackage) {
+            this.basePackage = basePackage;
+        }
+
+        public Builder components(int components) {
+            this.components = components;
+            return this;
+        }
+
+        public Builder fanOut(int fanOut) {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        public Builder maxFanIn(int maxFanIn) {
+            this.maxFanIn = maxFanIn;
+            return this;
+        }
+
+        public Builder configurations(int configurations, int beansPerConfiguration) {
+            this.configurations = configurations;
+            this.beansPerConfiguration = beansPerConfiguration;
+            return this;
+        }
+
+        public Builder valueFields(int valueFields) {
+            this.valueFields = valueFields;
+            return this;
+        }
+
+        public Builder packageDepth(int packageDepth) {
+            this.packageDepth = packageDepth;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SyntheticClasspath build() {
+            return new SyntheticClasspath(this);
+        }
+    }
+}
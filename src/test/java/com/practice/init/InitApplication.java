@@ -0,0 +1,4 @@
+package com.practice.init;
+
+public class InitApplication {
+}
@@ -0,0 +1,23 @@
+package com.practice.init;
+
+import com.practice.diy.annotation.Bean;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.Value;
+
+@Configuration
+public class InitConfiguration {
+    @Bean(initMethod = "prime")
+    PrimedConnection connA(@Value("${init.delay}") long delay) {
+        return new PrimedConnection(delay);
+    }
+
+    @Bean(initMethod = "prime")
+    PrimedConnection connB(@Value("${init.delay}") long delay) {
+        return new PrimedConnection(delay);
+    }
+
+    @Bean(initMethod = "prime")
+    PrimedConnection connC(@Value("${init.delay}") long delay) {
+        return new PrimedConnection(delay);
+    }
+}
@@ -0,0 +1,18 @@
+package com.practice.init;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class InitCycleB {
+    @Autowired
+    InitCycleA cycleA;
+
+    public volatile boolean initialized;
+
+    @PostConstruct
+    public void init() {
+        this.initialized = true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.practice.init;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class InitService {
+    @Autowired
+    WarmCache cache;
+
+    PrimedConnection connection;
+
+    public volatile long initializedAt;
+    public volatile boolean dependenciesReady;
+
+    @Autowired(qualifier = "connA")
+    void setConnection(PrimedConnection connection) {
+        this.connection = connection;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.dependenciesReady = this.cache.warmedAt != 0 && this.connection.primedAt != 0;
+        this.initializedAt = System.nanoTime();
+    }
+}
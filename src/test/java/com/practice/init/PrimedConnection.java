@@ -0,0 +1,27 @@
+package com.practice.init;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PrimedConnection {
+    // when set, every connection waits until all expected connections are being primed at the same time:
+    public static volatile CountDownLatch rendezvous;
+
+    public final long delay;
+    public volatile long primedAt;
+    public volatile boolean overlapped;
+
+    PrimedConnection(long delay) {
+        this.delay = delay;
+    }
+
+    public void prime() throws InterruptedException {
+        Thread.sleep(this.delay);
+        CountDownLatch latch = rendezvous;
+        if (latch != null) {
+            latch.countDown();
+            this.overlapped = latch.await(10, TimeUnit.SECONDS);
+        }
+        this.primedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,27 @@
+package com.practice.init;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Value;
+import jakarta.annotation.PostConstruct;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class WarmCache {
+    @Value("${init.delay}")
+    long delay;
+
+    public volatile long warmedAt;
+
+    @PostConstruct
+    public CompletableFuture<Void> warm() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(this.delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.warmedAt = System.nanoTime();
+        });
+    }
+}
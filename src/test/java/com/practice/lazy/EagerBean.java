@@ -0,0 +1,16 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Lazy;
+
+@Lazy(false)
+@Component
+public class EagerBean {
+    public final PromotedBean promotedBean;
+
+    public EagerBean(@Autowired PromotedBean promotedBean) {
+        this.promotedBean = promotedBean;
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+}
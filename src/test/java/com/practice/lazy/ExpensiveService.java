@@ -0,0 +1,5 @@
+package com.practice.lazy;
+
+public interface ExpensiveService {
+    String work();
+}
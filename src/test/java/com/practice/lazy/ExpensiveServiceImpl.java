@@ -0,0 +1,27 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@Component
+public class ExpensiveServiceImpl implements ExpensiveService {
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Autowired
+    LazyDependency dependency;
+
+    public ExpensiveServiceImpl() throws InterruptedException {
+        Thread.sleep(50);
+        INSTANCES.incrementAndGet();
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+
+    @Override
+    public String work() {
+        return "work:" + this.dependency.initialized;
+    }
+}
@@ -0,0 +1,8 @@
+package com.practice.lazy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LazyApplication {
+    public static final Set<String> CREATED = ConcurrentHashMap.newKeySet();
+}
@@ -0,0 +1,22 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Lazy;
+
+import java.util.function.Supplier;
+
+@Component
+public class LazyClient {
+    @Lazy
+    @Autowired
+    public ExpensiveService service;
+
+    @Lazy
+    @Autowired
+    public Supplier<ExpensiveServiceImpl> supplier;
+
+    public LazyClient() {
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+}
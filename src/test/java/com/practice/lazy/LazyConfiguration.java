@@ -0,0 +1,15 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Bean;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.Lazy;
+import com.practice.diy.annotation.Value;
+
+@Configuration
+public class LazyConfiguration {
+    @Lazy
+    @Bean
+    LazyReport lazyReport(@Value("${app.title}") String title) {
+        return new LazyReport(title);
+    }
+}
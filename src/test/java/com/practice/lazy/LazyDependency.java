@@ -0,0 +1,20 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Lazy;
+import jakarta.annotation.PostConstruct;
+
+@Lazy
+@Component
+public class LazyDependency {
+    public volatile boolean initialized;
+
+    public LazyDependency() {
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+
+    @PostConstruct
+    public void init() {
+        this.initialized = true;
+    }
+}
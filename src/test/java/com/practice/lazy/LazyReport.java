@@ -0,0 +1,15 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Autowired;
+
+public class LazyReport {
+    public final String title;
+
+    @Autowired
+    public ExpensiveService service;
+
+    LazyReport(String title) {
+        this.title = title;
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,12 @@
+package com.practice.lazy;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Lazy;
+
+@Lazy
+@Component
+public class PromotedBean {
+    public PromotedBean() {
+        LazyApplication.CREATED.add(getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,36 @@
+package com.practice.refresh;
+
+import com.practice.diy.annotation.Component;
+import com.practice.diy.annotation.Value;
+import com.practice.diy.context.PropertiesChangedListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class PoolSettings implements PropertiesChangedListener {
+    @Value("${app.timeout}")
+    public volatile int timeout;
+
+    @Value("${app.name}")
+    public volatile String name;
+
+    @Value("${app.url}")
+    public volatile String url;
+
+    public volatile int poolSize;
+    public volatile int poolSizeInjections;
+    public final List<Set<String>> changes = new CopyOnWriteArrayList<>();
+
+    @Value("app.pool-size")
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+        this.poolSizeInjections++;
+    }
+
+    @Override
+    public void onPropertiesChanged(Set<String> changedKeys) {
+        this.changes.add(changedKeys);
+    }
+}
@@ -0,0 +1,4 @@
+package com.practice.refresh;
+
+public class RefreshApplication {
+}
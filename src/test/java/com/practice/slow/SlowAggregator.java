@@ -0,0 +1,17 @@
+package com.practice.slow;
+
+import com.practice.diy.annotation.Autowired;
+import com.practice.diy.annotation.Component;
+
+@Component
+public class SlowAggregator {
+    public final SlowBean first;
+    public final SlowBean second;
+    public final long createdAt;
+
+    public SlowAggregator(@Autowired(qualifier = "slowA") SlowBean first, @Autowired(qualifier = "slowF") SlowBean second) {
+        this.first = first;
+        this.second = second;
+        this.createdAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,4 @@
+package com.practice.slow;
+
+public class SlowApplication {
+}
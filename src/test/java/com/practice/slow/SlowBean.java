@@ -0,0 +1,30 @@
+package com.practice.slow;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SlowBean {
+    // when set, every bean waits until all expected beans are being created at the same time:
+    public static volatile CountDownLatch rendezvous;
+
+    public final String name;
+    public final long createdAt;
+    public final boolean overlapped;
+
+    SlowBean(String name, long delay) {
+        boolean overlapped = false;
+        try {
+            Thread.sleep(delay);
+            CountDownLatch latch = rendezvous;
+            if (latch != null) {
+                latch.countDown();
+                overlapped = latch.await(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.name = name;
+        this.createdAt = System.nanoTime();
+        this.overlapped = overlapped;
+    }
+}
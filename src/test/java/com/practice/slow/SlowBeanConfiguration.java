@@ -0,0 +1,38 @@
+package com.practice.slow;
+
+import com.practice.diy.annotation.Bean;
+import com.practice.diy.annotation.Configuration;
+import com.practice.diy.annotation.Value;
+
+@Configuration
+public class SlowBeanConfiguration {
+    @Bean
+    SlowBean slowA(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowA", delay);
+    }
+
+    @Bean
+    SlowBean slowB(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowB", delay);
+    }
+
+    @Bean
+    SlowBean slowC(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowC", delay);
+    }
+
+    @Bean
+    SlowBean slowD(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowD", delay);
+    }
+
+    @Bean
+    SlowBean slowE(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowE", delay);
+    }
+
+    @Bean
+    SlowBean slowF(@Value("${slow.delay}") long delay) {
+        return new SlowBean("slowF", delay);
+    }
+}